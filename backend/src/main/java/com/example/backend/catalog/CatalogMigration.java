@@ -0,0 +1,91 @@
+package com.example.backend.catalog;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves finding strings stored before the catalog existed into it: interns the distinct values and links the
+ * rows to their catalog ids, then drops the old string column, which is where the space is reclaimed.
+ * <p>
+ * Nothing runs unless {@code catalog.migration.enabled} is set, and the irreversible drop additionally needs
+ * {@code catalog.migration.drop-legacy-columns}. Enable that only once no instance of a version writing the
+ * old columns is left running. Interning and linking run in one transaction per column and can be repeated.
+ * A column is dropped only when every row holding a legacy value has its catalog id; otherwise it is kept
+ * and the migration reports the unlinked rows. Runs at startup after Hibernate has created the catalog tables
+ * and id columns; a schema without the old columns is left untouched. MySQL only.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class CatalogMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogMigration.class);
+
+    private static final String COLUMN_EXISTS = "SELECT COUNT(*) FROM information_schema.columns"
+            + " WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean dropLegacyColumns;
+
+    public CatalogMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            @Value("${catalog.migration.enabled:false}") boolean enabled,
+                            @Value("${catalog.migration.drop-legacy-columns:false}") boolean dropLegacyColumns) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.dropLegacyColumns = dropLegacyColumns;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        migrate("trivy_finding", "cve", "cve_id", "catalog_cve", "cve");
+        migrate("trivy_finding", "package_name", "package_id", "catalog_package", "name");
+        migrate("owasp_finding", "dependency", "dependency_id", "catalog_package", "name");
+    }
+
+    private void migrate(String findingTable, String legacyColumn, String idColumn, String catalogTable, String catalogColumn) {
+        Integer present = jdbcTemplate.queryForObject(COLUMN_EXISTS, Integer.class, findingTable, legacyColumn);
+        if (present == null || present == 0) {
+            return;
+        }
+        // The catalog compares with a binary collation, the legacy column with the table default
+        String legacyValue = "CONVERT(f." + legacyColumn + " USING utf8mb4) COLLATE utf8mb4_bin";
+        transactionTemplate.executeWithoutResult(status -> {
+            int interned = jdbcTemplate.update("INSERT IGNORE INTO " + catalogTable + " (" + catalogColumn + ")"
+                    + " SELECT DISTINCT " + legacyValue + " FROM " + findingTable + " f"
+                    + " WHERE f." + legacyColumn + " IS NOT NULL");
+            int linked = jdbcTemplate.update("UPDATE " + findingTable + " f JOIN " + catalogTable + " c"
+                    + " ON c." + catalogColumn + " = " + legacyValue
+                    + " SET f." + idColumn + " = c.id WHERE f." + idColumn + " IS NULL");
+            logger.info("Moved {}.{} into {}: {} new catalog entries, {} findings linked",
+                    findingTable, legacyColumn, catalogTable, interned, linked);
+        });
+
+        if (!dropLegacyColumns) {
+            logger.info("Keeping {}.{}; set catalog.migration.drop-legacy-columns to reclaim its space",
+                    findingTable, legacyColumn);
+            return;
+        }
+        Long unlinked = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + findingTable
+                + " WHERE " + idColumn + " IS NULL AND " + legacyColumn + " IS NOT NULL", Long.class);
+        if (unlinked == null || unlinked > 0) {
+            logger.error("Not dropping {}.{}: {} rows still hold a value without a {}",
+                    findingTable, legacyColumn, unlinked, idColumn);
+            return;
+        }
+        // DDL commits implicitly in MySQL, hence outside the transaction above
+        jdbcTemplate.execute("ALTER TABLE " + findingTable + " DROP COLUMN " + legacyColumn);
+        logger.info("Dropped {}.{}", findingTable, legacyColumn);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.backend.catalog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Interns CVE identifiers and package names into the catalog_cve / catalog_package tables and hands out
+ * their ids, so findings store two integers instead of repeating the same strings for every pipeline.
+ * Ids are cached in memory; a chunk of findings whose strings are all cached never touches the catalog tables.
+ */
+@Component
+public class VulnerabilityCatalog {
+
+    public enum Kind {
+        CVE("catalog_cve", "cve"),
+        PACKAGE("catalog_package", "name");
+
+        private final String insertSql;
+        private final String selectSql;
+
+        Kind(String table, String column) {
+            this.insertSql = "INSERT IGNORE INTO " + table + " (" + column + ") VALUES (?)";
+            this.selectSql = "SELECT id, " + column + " AS value FROM " + table + " WHERE " + column + " IN (:values)";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate catalogTransaction;
+    private final Map<Kind, Map<String, Long>> cachedIds = new HashMap<>();
+
+    public VulnerabilityCatalog(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${catalog.cache-size:50000}") int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        // Entries are committed on their own: a cached id must stay valid even if the ingest that
+        // created it rolls back, and the ingest transaction's snapshot would not see them otherwise
+        this.catalogTransaction = new TransactionTemplate(transactionManager);
+        this.catalogTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (Kind kind : Kind.values()) {
+            cachedIds.put(kind, Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > cacheSize;
+                }
+            }));
+        }
+    }
+
+    /**
+     * Ids of the given values, interning the ones not yet in the catalog. Null values are skipped.
+     */
+    public Map<String, Long> resolve(Kind kind, Collection<String> values) {
+        Map<String, Long> cache = cachedIds.get(kind);
+        Map<String, Long> ids = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null || ids.containsKey(value)) {
+                continue;
+            }
+            Long id = cache.get(value);
+            if (id != null) {
+                ids.put(value, id);
+            } else {
+                missing.add(value);
+            }
+        }
+        if (missing.isEmpty()) {
+            return ids;
+        }
+
+        List<String> toIntern = new ArrayList<>(missing);
+        catalogTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(kind.insertSql, toIntern, toIntern.size(), (ps, value) -> ps.setString(1, value));
+            namedJdbcTemplate.query(kind.selectSql, new MapSqlParameterSource("values", toIntern), rs -> {
+                ids.put(rs.getString("value"), rs.getLong("id"));
+            });
+        });
+        for (String value : toIntern) {
+            Long id = ids.get(value);
+            if (id != null) {
+                cache.put(value, id);
+            }
+        }
+        return ids;
+    }
+}
@@ -19,7 +19,11 @@ public class ActuatorClient {
     @Value("${server.port:8880}")
     private String serverPort;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+
+    public ActuatorClient(OutboundHttpClientFactory httpClientFactory) {
+        this.restTemplate = httpClientFactory.create("actuator");
+    }
 
     /**
      * Query the local actuator health endpoint.
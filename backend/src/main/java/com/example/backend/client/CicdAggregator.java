@@ -0,0 +1,206 @@
+package com.example.backend.client;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps per-job Jenkins state in memory and updates it from the latest build gauges only.
+ * A finished build is counted once, when a new last-build start time shows up for its job, so the
+ * rolling success rate no longer needs the 7-day {@code avg_over_time} query on every refresh.
+ * That query is used once, to seed rates for jobs that have not finished enough builds since startup.
+ * A job missing from the gauges is kept until it has been absent from {@code MISSED_POLLS_BEFORE_EVICTION}
+ * polls in a row or its last build has left the rolling window, so a poll that comes back empty or without
+ * some jobs does not drop their history. Failed queries never reach the aggregator.
+ */
+public class CicdAggregator {
+
+    static final Duration ROLLING_WINDOW = Duration.ofDays(7);
+    private static final int MIN_OBSERVED_BUILDS = 5;
+    private static final int MAX_BUILDS_PER_JOB = 500;
+    static final int MISSED_POLLS_BEFORE_EVICTION = 3;
+
+    private final Map<String, JobHistory> jobs = new HashMap<>();
+    private boolean seeded;
+    private CicdState state = CicdState.empty();
+
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Seed per-job success rates (percent over {@link #ROLLING_WINDOW}) from Prometheus history.
+     * An empty history leaves the aggregator unseeded, so seeding is tried again on the next refresh.
+     */
+    public synchronized void seedSuccessRates(List<PromSample> successRates) {
+        if (successRates.isEmpty()) {
+            return;
+        }
+        for (PromSample sample : successRates) {
+            jobs.computeIfAbsent(sample.name(), name -> new JobHistory()).seededRate = sample.value();
+        }
+        seeded = true;
+    }
+
+    /**
+     * Apply the latest build gauges of a successful poll. Returns the previous state unchanged when no job
+     * moved, and always when {@code results} is empty.
+     */
+    public synchronized CicdState update(List<PromSample> results, List<PromSample> durations,
+                                         List<PromSample> timestamps, List<PromSample> building, long nowMs) {
+        if (results.isEmpty()) {
+            return state;
+        }
+        Map<String, Double> durationByJob = byJob(durations);
+        Map<String, Double> timestampByJob = byJob(timestamps);
+        Map<String, Double> buildingByJob = byJob(building);
+        long cutoffMs = nowMs - ROLLING_WINDOW.toMillis();
+
+        boolean changed = false;
+        Map<String, Double> resultByJob = byJob(results);
+        for (Map.Entry<String, Double> result : resultByJob.entrySet()) {
+            String name = result.getKey();
+            JobHistory job = jobs.computeIfAbsent(name, n -> new JobHistory());
+            job.missedPolls = 0;
+            changed |= job.apply(result.getValue(),
+                    buildingByJob.getOrDefault(name, 0.0) == 1.0,
+                    durationByJob.getOrDefault(name, 0.0),
+                    timestampByJob.getOrDefault(name, 0.0));
+        }
+        Iterator<Map.Entry<String, JobHistory>> entries = jobs.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, JobHistory> entry = entries.next();
+            JobHistory job = entry.getValue();
+            if (!resultByJob.containsKey(entry.getKey()) && job.missedPoll(cutoffMs)) {
+                entries.remove();
+                changed = true;
+            } else {
+                changed |= job.evictBefore(cutoffMs);
+            }
+        }
+
+        if (changed) {
+            state = buildState();
+        }
+        return state;
+    }
+
+    private CicdState buildState() {
+        List<PipelineState> pipelines = new ArrayList<>(jobs.size());
+        int successCount = 0;
+        int failedCount = 0;
+        int runningCount = 0;
+        for (Map.Entry<String, JobHistory> entry : jobs.entrySet()) {
+            JobHistory job = entry.getValue();
+            if (!job.seen) {
+                // Only seeded so far
+                continue;
+            }
+            String status = job.status();
+            switch (status) {
+                case "running" -> runningCount++;
+                case "success" -> successCount++;
+                default -> failedCount++;
+            }
+            pipelines.add(new PipelineState(entry.getKey(), status, job.durationMs, job.lastRunMs, job.successRate()));
+        }
+        pipelines.sort(Comparator.comparing(PipelineState::name));
+        return new CicdState(pipelines, successCount, failedCount, runningCount);
+    }
+
+    private static Map<String, Double> byJob(List<PromSample> samples) {
+        Map<String, Double> values = new HashMap<>(samples.size() * 2);
+        for (PromSample sample : samples) {
+            values.putIfAbsent(sample.name(), sample.value());
+        }
+        return values;
+    }
+
+    /**
+     * Mutable per-job record; only touched under the aggregator lock.
+     */
+    private static final class JobHistory {
+        private final Deque<long[]> finishedBuilds = new ArrayDeque<>();
+        private double resultOrdinal = Double.NaN;
+        private boolean building;
+        private double durationMs;
+        private double lastRunMs;
+        private double lastCountedRunMs;
+        private boolean seen;
+        private int missedPolls;
+        private long successesInWindow;
+        private Double seededRate;
+
+        boolean apply(double ordinal, boolean isBuilding, double duration, double startMs) {
+            boolean changed = ordinal != resultOrdinal || isBuilding != building
+                    || duration != durationMs || startMs != lastRunMs;
+            resultOrdinal = ordinal;
+            building = isBuilding;
+            durationMs = duration;
+            lastRunMs = startMs;
+
+            // The build present when the job is first seen is already part of the seeded history
+            boolean firstSighting = !seen;
+            seen = true;
+            if (!isBuilding && startMs > 0 && startMs != lastCountedRunMs) {
+                lastCountedRunMs = startMs;
+                if (!firstSighting || !hasSeed()) {
+                    record((long) startMs, ordinal == 0);
+                }
+            }
+            return changed;
+        }
+
+        private void record(long startMs, boolean success) {
+            if (finishedBuilds.size() == MAX_BUILDS_PER_JOB) {
+                evictOldest();
+            }
+            finishedBuilds.addLast(new long[]{startMs, success ? 1 : 0});
+            successesInWindow += success ? 1 : 0;
+        }
+
+        /**
+         * Count a successful poll without this job; true once it should be dropped.
+         */
+        boolean missedPoll(long cutoffMs) {
+            missedPolls++;
+            return missedPolls >= MISSED_POLLS_BEFORE_EVICTION || (lastRunMs > 0 && lastRunMs < cutoffMs);
+        }
+
+        boolean evictBefore(long cutoffMs) {
+            boolean evicted = false;
+            while (!finishedBuilds.isEmpty() && finishedBuilds.peekFirst()[0] < cutoffMs) {
+                evictOldest();
+                evicted = true;
+            }
+            return evicted;
+        }
+
+        private void evictOldest() {
+            successesInWindow -= finishedBuilds.removeFirst()[1];
+        }
+
+        private boolean hasSeed() {
+            return seededRate != null;
+        }
+
+        String status() {
+            if (building) return "running";
+            return resultOrdinal == 0 ? "success" : "failed";
+        }
+
+        Double successRate() {
+            int observed = finishedBuilds.size();
+            if (observed >= MIN_OBSERVED_BUILDS || (observed > 0 && !hasSeed())) {
+                return (double) successesInWindow / observed * 100;
+            }
+            return seededRate;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.backend.client;
+
+import java.util.List;
+
+/**
+ * Immutable CI/CD view produced by {@link CicdAggregator}. The delivery success rate is based on the
+ * last result of every job that is not currently building.
+ */
+public record CicdState(List<PipelineState> pipelines, int successCount, int failedCount, int runningCount) {
+
+    public CicdState {
+        pipelines = List.copyOf(pipelines);
+    }
+
+    public static CicdState empty() {
+        return new CicdState(List.of(), 0, 0, 0);
+    }
+
+    public boolean isEmpty() {
+        return pipelines.isEmpty();
+    }
+
+    /**
+     * Share of successful last builds in percent, or null when no job has finished a build.
+     */
+    public Double deploymentSuccessRate() {
+        int finished = successCount + failedCount;
+        return finished > 0 ? (double) successCount / finished * 100 : null;
+    }
+}
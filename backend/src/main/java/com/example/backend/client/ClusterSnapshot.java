@@ -0,0 +1,77 @@
+package com.example.backend.client;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable point-in-time view of the cluster telemetry, refreshed by {@link TelemetryCollector}.
+ * Every infrastructure/dashboard read is served from the current snapshot instead of querying Prometheus.
+ * Node-scoped maps are keyed by node IP. Sources that missed the collection deadline keep their
+ * previous value and are listed in {@code staleSources}.
+ */
+public record ClusterSnapshot(
+        long version,
+        Instant capturedAt,
+        Map<String, NodeMetrics> nodeMetrics,
+        Map<String, List<ContainerMetrics>> containers,
+        int activeContainerCount,
+        int stoppedContainerCount,
+        List<String> activeContainerNames,
+        int totalAlerts,
+        boolean frontendProbeUp,
+        boolean backendUp,
+        String backendHealthSummary,
+        Double frontendAvailability,
+        CicdState cicd,
+        Set<String> staleSources) {
+
+    // Versions restart at 1 with the process; the boot time keeps tags from a previous run from matching
+    private static final long BOOT_ID = System.currentTimeMillis();
+
+    public ClusterSnapshot {
+        nodeMetrics = Map.copyOf(nodeMetrics);
+        containers = Map.copyOf(containers);
+        activeContainerNames = List.copyOf(activeContainerNames);
+        staleSources = Set.copyOf(staleSources);
+    }
+
+    /**
+     * Placeholder used before the first collection completes.
+     */
+    public static ClusterSnapshot empty() {
+        return new ClusterSnapshot(0, Instant.EPOCH, Map.of(), Map.of(), 0, 0, List.of(), 0,
+                false, false, null, null, CicdState.empty(), Set.of());
+    }
+
+    /**
+     * Opaque tag of this snapshot version, unique across restarts.
+     */
+    public String tag() {
+        return BOOT_ID + "-" + version;
+    }
+
+    /**
+     * Version named by a tag of this process, or null for a malformed tag or one issued before a restart.
+     */
+    public static Long versionOf(String tag) {
+        String prefix = BOOT_ID + "-";
+        if (tag == null || !tag.trim().startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(tag.trim().substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public NodeMetrics nodeMetrics(String nodeIp) {
+        return nodeMetrics.getOrDefault(nodeIp, NodeMetrics.empty(nodeIp));
+    }
+
+    public List<ContainerMetrics> containers(String nodeIp) {
+        return containers.getOrDefault(nodeIp, List.of());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joins per-metric container series into one {@link ContainerMetrics} row per (node, container).
+ * Every input series is visited once and looked up by a hashed (node IP, name) key,
+ * so assembly is linear in the number of series.
+ */
+public final class ContainerMatrix {
+
+    private ContainerMatrix() {
+    }
+
+    /**
+     * Assemble the matrix and group it by node IP.
+     */
+    public static Map<String, List<ContainerMetrics>> assemble(List<PromSample> cpu,
+                                                               List<PromSample> memory,
+                                                               List<PromSample> network,
+                                                               List<PromSample> startTimes,
+                                                               List<PromSample> active) {
+        Map<Key, Row> rows = new HashMap<>(Math.max(16, active.size() * 2));
+        join(rows, active, (row, value) -> row.active = true);
+        join(rows, cpu, (row, value) -> row.cpu = value);
+        join(rows, memory, (row, value) -> row.memory = value);
+        join(rows, network, (row, value) -> row.network = value);
+        join(rows, startTimes, (row, value) -> row.startTime = value);
+
+        Map<String, List<ContainerMetrics>> byNode = new HashMap<>();
+        for (Map.Entry<Key, Row> entry : rows.entrySet()) {
+            Key key = entry.getKey();
+            Row row = entry.getValue();
+            byNode.computeIfAbsent(key.nodeIp(), ip -> new ArrayList<>())
+                    .add(new ContainerMetrics(key.nodeIp(), key.name(), row.cpu, row.memory, row.network, row.startTime, row.active));
+        }
+        byNode.replaceAll((ip, containers) -> List.copyOf(containers));
+        return byNode;
+    }
+
+    private static void join(Map<Key, Row> rows, List<PromSample> samples, RowUpdate update) {
+        for (PromSample sample : samples) {
+            String name = sample.label("name");
+            String nodeIp = sample.nodeIp();
+            if (name == null || name.isEmpty() || nodeIp == null) continue;
+            update.apply(rows.computeIfAbsent(new Key(nodeIp, name), k -> new Row()), sample.value());
+        }
+    }
+
+    private record Key(String nodeIp, String name) {
+    }
+
+    private static final class Row {
+        double cpu = Double.NaN;
+        double memory = Double.NaN;
+        double network = Double.NaN;
+        double startTime = Double.NaN;
+        boolean active;
+    }
+
+    @FunctionalInterface
+    private interface RowUpdate {
+        void apply(Row row, double value);
+    }
+}
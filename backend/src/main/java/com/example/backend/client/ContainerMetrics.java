@@ -0,0 +1,15 @@
+package com.example.backend.client;
+
+/**
+ * cAdvisor metrics for one container on one node, joined from the per-metric 'by (instance, name)' queries.
+ * Metrics missing from Prometheus are NaN.
+ */
+public record ContainerMetrics(
+        String nodeIp,
+        String name,
+        double cpuCores,
+        double memoryBytes,
+        double networkRxBytesPerSecond,
+        double startTimeSeconds,
+        boolean active) {
+}
@@ -2,63 +2,51 @@ package com.example.backend.client;
 
 import com.example.backend.dto.ContainerMetricDTO;
 import org.springframework.stereotype.Component;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
 public class DockerStatsCollector {
 
-    private final PrometheusClient prometheusClient;
+    private final TelemetryCollector telemetryCollector;
 
-    public DockerStatsCollector(PrometheusClient prometheusClient) {
-        this.prometheusClient = prometheusClient;
+    public DockerStatsCollector(TelemetryCollector telemetryCollector) {
+        this.telemetryCollector = telemetryCollector;
     }
 
     public List<ContainerMetricDTO> getAllContainerStats(String nodeIp, String nodeName) {
-        // Query Prometheus for container data
-        List<Map<String, Object>> cpuMetrics = prometheusClient.queryTopContainersCpu(nodeIp);
-        List<Map<String, Object>> memMetrics = prometheusClient.queryTopContainersMemory(nodeIp);
-        List<Map<String, Object>> startTimes = prometheusClient.queryContainerStartTimes(nodeIp);
-        List<String> activeNames = prometheusClient.queryActiveContainerList(nodeIp);
+        return getAllContainerStats(telemetryCollector.getSnapshot(), nodeIp, nodeName);
+    }
 
-        // 1. Get all unique container names from metrics and active list
-        List<String> allNames = new ArrayList<>(activeNames);
-        cpuMetrics.forEach(m -> {
-            String name = (String) m.get("name");
-            if (name != null && !allNames.contains(name)) allNames.add(name);
-        });
+    public List<ContainerMetricDTO> getAllContainerStats(ClusterSnapshot snapshot, String nodeIp, String nodeName) {
+        // Read the joined (node, container) rows from the telemetry snapshot
+        List<ContainerMetrics> containers = snapshot.containers(nodeIp);
 
-        // 2. Build DTOs
-        return allNames.stream()
-                .filter(name -> !name.equals("cadvisor") && !name.equals("Unknown"))
-                .map(name -> {
+        return containers.stream()
+                .filter(c -> !c.name().equals("cadvisor") && !c.name().equals("Unknown"))
+                .map(c -> {
                     ContainerMetricDTO dto = new ContainerMetricDTO();
-                    dto.setName(name);
+                    dto.setName(c.name());
                     dto.setNode(nodeName);
-                    dto.setService(mapToServiceGroup(name));
-                    dto.setStatus(activeNames.contains(name) ? "running" : "stopped");
+                    dto.setService(mapToServiceGroup(c.name()));
+                    dto.setStatus(c.active() ? "running" : "stopped");
                     
                     // CPU usage
-                    Double cpu = findValue(cpuMetrics, name);
-                    dto.setCpu(cpu != null ? String.format("%.2f%%", cpu * 100) : "0.00%");
+                    dto.setCpu(!Double.isNaN(c.cpuCores()) ? String.format("%.2f%%", c.cpuCores() * 100) : "0.00%");
                     
                     // Memory usage
-                    Double mem = findValue(memMetrics, name);
-                    dto.setMemory(mem != null ? String.format("%.0f MB", mem / 1024 / 1024) : "0 MB");
+                    dto.setMemory(!Double.isNaN(c.memoryBytes()) ? String.format("%.0f MB", c.memoryBytes() / 1024 / 1024) : "0 MB");
                     
                     // Uptime calculation
-                    Double startTime = findValue(startTimes, name);
-                    dto.setUptime(calculateUptime(startTime));
+                    dto.setUptime(calculateUptime(c.startTimeSeconds()));
                     return dto;
                 })
                 .collect(Collectors.toList());
     }
 
-    private String calculateUptime(Double startTimeSeconds) {
-        if (startTimeSeconds == null || startTimeSeconds <= 0) return "N/A";
-        long uptimeSeconds = (System.currentTimeMillis() / 1000) - startTimeSeconds.longValue();
+    private String calculateUptime(double startTimeSeconds) {
+        if (Double.isNaN(startTimeSeconds) || startTimeSeconds <= 0) return "N/A";
+        long uptimeSeconds = (System.currentTimeMillis() / 1000) - (long) startTimeSeconds;
         if (uptimeSeconds < 60) return uptimeSeconds + "s";
         long minutes = uptimeSeconds / 60;
         if (minutes < 60) return minutes + "m";
@@ -75,12 +63,4 @@ public class DockerStatsCollector {
         if (lower.contains("trivy") || lower.contains("dependency-check")) return "Security";
         return "Core Platform"; // Default
     }
-
-    private Double findValue(List<Map<String, Object>> metrics, String name) {
-        return metrics.stream()
-                .filter(m -> name.equals(m.get("name")))
-                .map(m -> (Double) m.get("value"))
-                .findFirst()
-                .orElse(null);
-    }
 }
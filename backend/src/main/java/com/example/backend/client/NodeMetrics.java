@@ -0,0 +1,16 @@
+package com.example.backend.client;
+
+/**
+ * Node-exporter gauges for a single node, keyed by the host part of the Prometheus 'instance' label.
+ * Any value may be null when the corresponding series is missing (e.g. node-exporter down).
+ */
+public record NodeMetrics(String ip, Double cpuUsage, Double memoryUsage, Double diskUsage) {
+
+    public static NodeMetrics empty(String ip) {
+        return new NodeMetrics(ip, null, null, null);
+    }
+
+    public boolean isComplete() {
+        return cpuUsage != null && memoryUsage != null && diskUsage != null;
+    }
+}
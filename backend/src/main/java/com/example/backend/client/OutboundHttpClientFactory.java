@@ -0,0 +1,207 @@
+package com.example.backend.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds pooled, timeout-bounded RestTemplates for outbound calls (Prometheus, Actuator, Groq).
+ * Each target gets its own keep-alive connection pool, tuned through
+ * {@code outbound.http.<target>.*} properties with {@code outbound.http.default.*} as fallback.
+ * Pool saturation is exported through Micrometer as {@code httpcomponents.httpclient.pool.*} tagged by target.
+ */
+@Component
+public class OutboundHttpClientFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundHttpClientFactory.class);
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final List<CloseableHttpClient> clients = new CopyOnWriteArrayList<>();
+    private final ScheduledThreadPoolExecutor deadlineScheduler = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "outbound-http-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboundHttpClientFactory(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        // A deadline cancelled because its exchange finished must not stay queued until it would have fired
+        deadlineScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Create a RestTemplate backed by a dedicated connection pool for the given target.
+     */
+    public RestTemplate create(String target) {
+        long connectTimeoutMs = property(target, "connect-timeout-ms", 2000L);
+        long readTimeoutMs = property(target, "read-timeout-ms", 5000L);
+        long totalTimeoutMs = property(target, "total-timeout-ms", 10000L);
+        long poolTimeoutMs = property(target, "connection-request-timeout-ms", 1000L);
+        int maxConnections = property(target, "max-connections", 20L).intValue();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+        clients.add(httpClient);
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, target).bindTo(meterRegistry);
+
+        logger.info("Outbound HTTP client '{}': connect={}ms, read={}ms, total={}ms, maxConnections={}",
+                target, connectTimeoutMs, readTimeoutMs, totalTimeoutMs, maxConnections);
+        DeadlineRequestFactory requestFactory = new DeadlineRequestFactory(httpClient, totalTimeoutMs);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(requestFactory::executeWithDeadline);
+        return restTemplate;
+    }
+
+    private Long property(String target, String key, Long defaultValue) {
+        Long fallback = environment.getProperty("outbound.http.default." + key, Long.class, defaultValue);
+        return environment.getProperty("outbound.http." + target + "." + key, Long.class, fallback);
+    }
+
+    @PreDestroy
+    public void close() {
+        deadlineScheduler.shutdownNow();
+        for (CloseableHttpClient client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close outbound HTTP client: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Aborts any exchange still in flight once the total deadline elapses,
+     * covering slow-drip responses that never trip the per-read socket timeout.
+     * The deadline is armed when the request is created and disarmed when its response is closed.
+     */
+    private class DeadlineRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+        private final long totalTimeoutMs;
+        // Handed from request creation to the interceptor around it, which runs on the same thread
+        private final ThreadLocal<ScheduledFuture<?>> armed = new ThreadLocal<>();
+
+        DeadlineRequestFactory(CloseableHttpClient httpClient, long totalTimeoutMs) {
+            super(httpClient);
+            this.totalTimeoutMs = totalTimeoutMs;
+        }
+
+        @Override
+        protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+            ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+            if (totalTimeoutMs > 0 && request instanceof Cancellable cancellable) {
+                armed.set(deadlineScheduler.schedule(cancellable::cancel, totalTimeoutMs, TimeUnit.MILLISECONDS));
+            }
+            return request;
+        }
+
+        /**
+         * Interceptor around the exchange: the request is created, and its deadline armed, inside
+         * {@code execution.execute} on this thread. The deadline stays armed while the body is read
+         * and is cancelled once the response is closed, or right away when the exchange fails.
+         */
+        ClientHttpResponse executeWithDeadline(HttpRequest request, byte[] body,
+                                               ClientHttpRequestExecution execution) throws IOException {
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                ScheduledFuture<?> deadline = armed.get();
+                return deadline != null ? new DeadlineResponse(response, deadline) : response;
+            } catch (IOException | RuntimeException e) {
+                ScheduledFuture<?> deadline = armed.get();
+                if (deadline != null) {
+                    deadline.cancel(false);
+                }
+                throw e;
+            } finally {
+                armed.remove();
+            }
+        }
+    }
+
+    private static final class DeadlineResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final ScheduledFuture<?> deadline;
+
+        DeadlineResponse(ClientHttpResponse delegate, ScheduledFuture<?> deadline) {
+            this.delegate = delegate;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            deadline.cancel(false);
+            delegate.close();
+        }
+    }
+}
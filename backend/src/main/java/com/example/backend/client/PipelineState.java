@@ -0,0 +1,12 @@
+package com.example.backend.client;
+
+/**
+ * Aggregated state of one Jenkins job: status of the last build, its duration and start time,
+ * and the rolling success rate (percent, null when unknown).
+ */
+public record PipelineState(String name, String status, double durationMs, double lastRunMs, Double successRate) {
+
+    public boolean isRunning() {
+        return "running".equals(status);
+    }
+}
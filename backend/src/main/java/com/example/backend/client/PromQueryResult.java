@@ -0,0 +1,18 @@
+package com.example.backend.client;
+
+import java.util.List;
+
+/**
+ * Typed result of a Prometheus {@code /api/v1/query} call.
+ * Vector and scalar results populate {@code samples}; matrix results populate {@code series}.
+ */
+public record PromQueryResult(String status, List<PromSample> samples, List<PromRangeSeries> series) {
+
+    public boolean isSuccess() {
+        return "success".equals(status);
+    }
+
+    public Double firstValue() {
+        return samples.isEmpty() ? null : samples.get(0).value();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.backend.client;
+
+/**
+ * One range-vector (matrix) series decoded from a Prometheus query response.
+ * Samples are held in parallel primitive arrays; labels use the same flat layout as {@link PromSample}.
+ */
+public record PromRangeSeries(String[] labels, long[] timestampsMs, double[] values) {
+
+    public String label(String labelName) {
+        for (int i = 0; i < labels.length; i += 2) {
+            if (labels[i].equals(labelName)) {
+                return labels[i + 1];
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return values.length;
+    }
+}
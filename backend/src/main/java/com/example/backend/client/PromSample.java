@@ -0,0 +1,50 @@
+package com.example.backend.client;
+
+/**
+ * One instant-vector (or scalar) sample decoded from a Prometheus query response.
+ * Labels are stored flat as interned {@code [name0, value0, name1, value1, ...]} pairs;
+ * the array is shared with the decoder output and must not be modified.
+ */
+public record PromSample(String[] labels, double value, long timestampMs) {
+
+    public String label(String labelName) {
+        for (int i = 0; i < labels.length; i += 2) {
+            if (labels[i].equals(labelName)) {
+                return labels[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Host part of the 'instance' label (the exporter port stripped), or null if absent.
+     */
+    public String nodeIp() {
+        String instance = label("instance");
+        if (instance == null) return null;
+        int colon = instance.lastIndexOf(':');
+        return colon > 0 ? instance.substring(0, colon) : instance;
+    }
+
+    /**
+     * Display name of the series, prioritizing specific pipeline identifiers,
+     * then container names, then the scrape job (unless it is the generic 'jenkins' job).
+     */
+    public String name() {
+        String name = label("job_name");
+        if (name == null) name = label("jenkins_job");
+        if (name == null) name = label("full_name");
+        if (name == null) name = label("displayName");
+        if (name == null) name = label("name");
+        if (name == null) name = label("container_name");
+
+        if (name == null) {
+            String jobLabel = label("job");
+            if (!"jenkins".equals(jobLabel)) {
+                name = jobLabel;
+            }
+        }
+
+        return name != null ? name : "Unknown Pipeline";
+    }
+}
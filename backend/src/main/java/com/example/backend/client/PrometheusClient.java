@@ -7,13 +7,18 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 import java.net.URI;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpMethod;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Client for querying Prometheus metrics via PromQL.
+ * A query that cannot be run, or that Prometheus answers with an error, throws {@link QueryFailedException}
+ * rather than returning an empty result, so callers can keep their last good value.
  */
 @Component
 public class PrometheusClient {
@@ -23,170 +28,164 @@ public class PrometheusClient {
     @Value("${prometheus.url}")
     private String prometheusUrl;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final PrometheusResponseDecoder decoder = new PrometheusResponseDecoder();
+
+    public PrometheusClient(OutboundHttpClientFactory httpClientFactory) {
+        this.restTemplate = httpClientFactory.create("prometheus");
+    }
+
+    private static final String NODE_CPU_QUERY =
+            "100 - (avg by (instance) (rate(node_cpu_seconds_total{mode=\"idle\"}[5m])) * 100)";
+
+    private static final String NODE_MEMORY_QUERY =
+            "(1 - (node_memory_MemAvailable_bytes / node_memory_MemTotal_bytes)) * 100";
+
+    private static final String NODE_DISK_QUERY =
+            "max by (instance) ((1 - (node_filesystem_avail_bytes{mountpoint=\"/\"} / node_filesystem_size_bytes{mountpoint=\"/\"})) * 100)";
+
+    /**
+     * Query CPU, memory and disk usage for every node in the cluster.
+     * Issues exactly one PromQL query per metric regardless of the number of nodes.
+     * Nodes without any series are absent from the returned map.
+     */
+    public Map<String, NodeMetrics> queryNodeMetrics() {
+        Map<String, Double> cpu = queryNodeCpuUsageByNode();
+        Map<String, Double> memory = queryNodeMemoryUsageByNode();
+        Map<String, Double> disk = queryNodeDiskUsageByNode();
+
+        Set<String> ips = new HashSet<>(cpu.keySet());
+        ips.addAll(memory.keySet());
+        ips.addAll(disk.keySet());
+
+        Map<String, NodeMetrics> metrics = new HashMap<>(ips.size() * 2);
+        for (String ip : ips) {
+            metrics.put(ip, new NodeMetrics(ip, cpu.get(ip), memory.get(ip), disk.get(ip)));
+        }
+        return metrics;
+    }
+
+    /**
+     * Query CPU usage percentage for all nodes, keyed by node IP.
+     */
+    public Map<String, Double> queryNodeCpuUsageByNode() {
+        return groupByNode(executeComplexQuery(NODE_CPU_QUERY));
+    }
+
+    /**
+     * Query Memory usage percentage for all nodes, keyed by node IP.
+     */
+    public Map<String, Double> queryNodeMemoryUsageByNode() {
+        return groupByNode(executeComplexQuery(NODE_MEMORY_QUERY));
+    }
+
+    /**
+     * Query Disk usage percentage of the root filesystem for all nodes, keyed by node IP.
+     */
+    public Map<String, Double> queryNodeDiskUsageByNode() {
+        return groupByNode(executeComplexQuery(NODE_DISK_QUERY));
+    }
 
     /**
      * Query CPU usage percentage for a specific node.
      */
     public Double queryNodeCpuUsage(String nodeIp) {
-        String query = String.format("100 - (avg(rate(node_cpu_seconds_total{instance=~\"%s:.*\",mode=\"idle\"}[5m])) * 100)", nodeIp);
-        return executeQuery(query);
+        return queryNodeCpuUsageByNode().get(nodeIp);
     }
 
     /**
      * Query Memory usage percentage for a specific node.
      */
     public Double queryNodeMemoryUsage(String nodeIp) {
-        String query = String.format("(1 - (node_memory_MemAvailable_bytes{instance=~\"%s:.*\"} / node_memory_MemTotal_bytes{instance=~\"%s:.*\"})) * 100", nodeIp, nodeIp);
-        return executeQuery(query);
+        return queryNodeMemoryUsageByNode().get(nodeIp);
     }
 
     /**
      * Query Disk usage percentage for a specific node.
      */
     public Double queryNodeDiskUsage(String nodeIp) {
-        String query = String.format("(1 - (node_filesystem_avail_bytes{instance=~\"%s:.*\",mountpoint=\"/\"} / node_filesystem_size_bytes{instance=~\"%s:.*\",mountpoint=\"/\"})) * 100", nodeIp, nodeIp);
-        return executeQuery(query);
+        return queryNodeDiskUsageByNode().get(nodeIp);
     }
 
     /**
-     * Query top CPU-consuming containers via cAdvisor.
+     * Key 'by (instance)' results by node IP, stripping the exporter port from the instance label.
      */
-    public List<Map<String, Object>> queryTopContainersCpu(String nodeIp) {
-    String query = String.format(
-    "topk(5, sum by (name) (" +
-    "rate(container_cpu_usage_seconds_total{" +
-    "instance=~\"%s:.*\", name!=\"\"" +
-    "}[1m])" +
-    "))",
-    nodeIp
-);
-    return executeComplexQuery(query);
-}
-
+    private Map<String, Double> groupByNode(List<PromSample> results) {
+        Map<String, Double> byNode = new HashMap<>(results.size() * 2);
+        for (PromSample result : results) {
+            String ip = result.nodeIp();
+            if (ip == null) continue;
+            byNode.putIfAbsent(ip, result.value());
+        }
+        return byNode;
+    }
 
+    private static final String CONTAINER_FILTER = "name!=\"\", name!=\"cadvisor\"";
 
     /**
-     * Query top Memory-consuming containers via cAdvisor.
+     * Query CPU, memory, network RX, start time and liveness for every container on every node.
+     * Issues five 'by (instance, name)' queries regardless of the number of nodes or containers
+     * and returns the hash-joined rows grouped by node IP.
      */
-    public List<Map<String, Object>> queryTopContainersMemory(String nodeIp) {
-    String query = String.format(
-        "topk(5, sum by (name) (" +
-        "container_memory_usage_bytes{" +
-        "instance=~\"%s:.*\", name!=\"\", name!=\"cadvisor\"" +
-        "}))",
-        nodeIp
-    );
-    return executeComplexQuery(query);
-}
+    public Map<String, List<ContainerMetrics>> queryContainerMatrix() {
+        List<PromSample> cpu = executeComplexQuery(
+                "sum by (instance, name) (rate(container_cpu_usage_seconds_total{" + CONTAINER_FILTER + "}[1m]))");
+        List<PromSample> memory = executeComplexQuery(
+                "sum by (instance, name) (container_memory_usage_bytes{" + CONTAINER_FILTER + "})");
+        List<PromSample> network = executeComplexQuery(
+                "sum by (instance, name) (rate(container_network_receive_bytes_total{" + CONTAINER_FILTER + "}[1m]))");
+        List<PromSample> startTimes = executeComplexQuery(
+                "max by (instance, name) (container_start_time_seconds{" + CONTAINER_FILTER + "})");
+        List<PromSample> active = executeComplexQuery(
+                "max by (instance, name) (container_last_seen{" + CONTAINER_FILTER + "} > time() - 60)");
+        return ContainerMatrix.assemble(cpu, memory, network, startTimes, active);
+    }
 
     /**
-     * Query top Network-consuming containers via cAdvisor.
+     * Execute a PromQL query and extract the first result value, or null when nothing matched.
      */
-    public List<Map<String, Object>> queryTopContainersNetwork(String nodeIp) {
-        String query = String.format(
-            "topk(5, sum by (name) (" +
-            "rate(container_network_receive_bytes_total{" +
-            "instance=~\"%s:.*\", name!=\"\", name!=\"cadvisor\"" +
-            "}[1m])))",
-            nodeIp
-        );
-        return executeComplexQuery(query);
+    private Double executeQuery(String query) {
+        return fetch(query).firstValue();
     }
 
-
     /**
-     * Execute a PromQL query and extract the first result value.
+     * Execute a PromQL query and return multiple results (e.g., for container lists).
      */
-    @SuppressWarnings("unchecked")
-    private Double executeQuery(String query) {
-        try {
-            URI uri = UriComponentsBuilder.fromHttpUrl(prometheusUrl)
-                    .path("/api/v1/query")
-                    .queryParam("query", query)
-                    .build()
-                    .toUri();
-
-            ResponseEntity<Map> response = restTemplate.getForEntity(uri, Map.class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> body = response.getBody();
-                if ("success".equals(body.get("status"))) {
-                    Map<String, Object> data = (Map<String, Object>) body.get("data");
-                    List<Map<String, Object>> result = (List<Map<String, Object>>) data.get("result");
-                    if (result != null && !result.isEmpty()) {
-                        List<Object> value = (List<Object>) result.get(0).get("value");
-                        if (value != null && value.size() > 1) {
-                            return Double.parseDouble(value.get(1).toString());
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            logger.warn("Prometheus query failed: {} - {}", query, e.getMessage());
-        }
-        return null;
+    private List<PromSample> executeComplexQuery(String query) {
+        return fetch(query).samples();
     }
 
     /**
-     * Execute a PromQL query and return multiple results (e.g., for container lists).
+     * Run an instant query and stream-decode the response body into typed samples.
+     *
+     * @throws QueryFailedException if Prometheus could not be queried or did not report success
      */
-    @SuppressWarnings("unchecked")
-private List<Map<String, Object>> executeComplexQuery(String query) {
-    try {
+    private PromQueryResult fetch(String query) {
         URI uri = UriComponentsBuilder.fromHttpUrl(prometheusUrl)
                 .path("/api/v1/query")
                 .queryParam("query", query)
                 .build()
                 .toUri();
 
-        ResponseEntity<Map> response = restTemplate.getForEntity(uri, Map.class);
-
-        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-            Map<String, Object> body = response.getBody();
-            if ("success".equals(body.get("status"))) {
-                Map<String, Object> data = (Map<String, Object>) body.get("data");
-                List<Map<String, Object>> result = (List<Map<String, Object>>) data.get("result");
-
-                // Convert each entry to a Map with metric labels and value
-                List<Map<String, Object>> cleanedResult = new java.util.ArrayList<>();
-                for (Map<String, Object> entry : result) {
-                    Map<String, Object> metric = (Map<String, Object>) entry.get("metric");
-                    List<Object> value = (List<Object>) entry.get("value");
-                    if (metric != null && value != null && value.size() > 1) {
-                        Map<String, Object> map = new java.util.HashMap<>(metric); // Keep all labels
-                        
-                        // Ensure 'name' exists for backward compatibility, prioritizing specific pipeline identifiers
-                        String name = (String) metric.get("job_name");
-                        if (name == null) name = (String) metric.get("jenkins_job");
-                        if (name == null) name = (String) metric.get("full_name");
-                        if (name == null) name = (String) metric.get("displayName");
-                        if (name == null) name = (String) metric.get("name");
-                        if (name == null) name = (String) metric.get("container_name");
-                        
-                        // Use 'job' only if it's not the generic 'jenkins' scrape job name
-                        if (name == null) {
-                            String jobLabel = (String) metric.get("job");
-                            if (!"jenkins".equals(jobLabel)) {
-                                name = jobLabel;
-                            }
-                        }
-                        
-                        if (name == null) name = "Unknown Pipeline";
-                        
-                        map.put("name", name);
-                        map.put("value", Double.parseDouble(value.get(1).toString()));
-                        cleanedResult.add(map);
-                    }
-                }
-                return cleanedResult;
-            }
+        PromQueryResult result;
+        try {
+            result = restTemplate.execute(uri, HttpMethod.GET, null, response -> decoder.decode(response.getBody()));
+        } catch (Exception e) {
+            logger.warn("Prometheus query failed: {} - {}", query, e.getMessage());
+            throw new QueryFailedException(query, e);
+        }
+        if (result == null || !result.isSuccess()) {
+            logger.warn("Prometheus query failed: {} - status {}", query, result != null ? result.status() : null);
+            throw new QueryFailedException(query, null);
+        }
+        return result;
+    }
+
+    public static class QueryFailedException extends RuntimeException {
+        QueryFailedException(String query, Throwable cause) {
+            super("Prometheus query failed: " + query, cause);
         }
-    } catch (Exception e) {
-        logger.warn("Prometheus complex query failed: {} - {}", query, e.getMessage());
     }
-    return List.of();
-}
 
     /**
      * Query Probe Success for a specific job (Blackbox Exporter).
@@ -264,33 +263,13 @@ private List<Map<String, Object>> executeComplexQuery(String query) {
      */
     public List<String> queryActiveContainerList() {
         String query = "sum by (name) (container_last_seen{name!=\"\", name!=\"cadvisor\"} > time() - 60)";
-        List<Map<String, Object>> results = executeComplexQuery(query);
+        List<PromSample> results = executeComplexQuery(query);
         return results.stream()
-                .map(m -> (String) m.get("name"))
+                .map(PromSample::name)
                 .filter(name -> name != null && !name.isEmpty())
                 .collect(Collectors.toList());
     }
 
-    /**
-     * Query active container names for a specific node.
-     */
-    public List<String> queryActiveContainerList(String nodeIp) {
-        String query = String.format("sum by (name) (container_last_seen{instance=~\"%s:.*\", name!=\"\", name!=\"cadvisor\"} > time() - 60)", nodeIp);
-        List<Map<String, Object>> results = executeComplexQuery(query);
-        return results.stream()
-                .map(m -> (String) m.get("name"))
-                .filter(name -> name != null && !name.isEmpty())
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Query start times for all containers to calculate uptime.
-     */
-    public List<Map<String, Object>> queryContainerStartTimes(String nodeIp) {
-        String query = String.format("container_start_time_seconds{instance=~\"%s:.*\", name!=\"\", name!=\"cadvisor\"}", nodeIp);
-        return executeComplexQuery(query);
-    }
-
    /**
  * Query count of total Jenkins pipelines.
  */
@@ -330,7 +309,7 @@ public int queryPipelineRunningCount() {
 /**
  * Query durations of Jenkins pipelines.
  */
-public List<Map<String, Object>> queryPipelineDurations() {
+public List<PromSample> queryPipelineDurations() {
     String query = "{__name__=~\"default_jenkins_builds_last_build_duration_milliseconds\"}";
     return executeComplexQuery(query);
 }
@@ -338,7 +317,7 @@ public List<Map<String, Object>> queryPipelineDurations() {
 /**
  * Query last build start timestamps of Jenkins pipelines.
  */
-public List<Map<String, Object>> queryPipelineTimestamps() {
+public List<PromSample> queryPipelineTimestamps() {
     String query = "{__name__=~\"default_jenkins_builds_last_build_start_time_milliseconds\"}";
     return executeComplexQuery(query);
 }
@@ -346,7 +325,7 @@ public List<Map<String, Object>> queryPipelineTimestamps() {
 /**
  * Query list of pipelines with their last result ordinal.
  */
-public List<Map<String, Object>> queryPipelineList() {
+public List<PromSample> queryPipelineList() {
     String query = "{__name__=~\"default_jenkins_builds_last_build_result_ordinal\"}";
     return executeComplexQuery(query);
 }
@@ -354,7 +333,7 @@ public List<Map<String, Object>> queryPipelineList() {
 /**
  * Query current building status for all pipelines.
  */
-public List<Map<String, Object>> queryPipelineBuilding() {
+public List<PromSample> queryPipelineBuilding() {
     String query = "{__name__=~\"default_jenkins_builds_last_build_building\"}";
     return executeComplexQuery(query);
 }
@@ -363,7 +342,7 @@ public List<Map<String, Object>> queryPipelineBuilding() {
  * Query success rate per pipeline over the last 7 days.
  * Uses avg_over_time on the result gauge (1 = success, 0 = fail).
  */
-public List<Map<String, Object>> queryPipelineSuccessRates() {
+public List<PromSample> queryPipelineSuccessRates() {
     // Note: We use the result metric which is 1 for success. 
     // avg_over_time gives the percentage of successes.
     String query = "avg_over_time({__name__=~\"default_jenkins_builds_last_build_result\"}[7d]) * 100";
@@ -0,0 +1,210 @@
+package com.example.backend.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming decoder for Prometheus {@code /api/v1/query} responses.
+ * Reads vector, matrix and scalar results token by token straight into {@link PromSample} /
+ * {@link PromRangeSeries} records, without building an intermediate Map/JsonNode tree.
+ * Label values are interned through a bounded pool, since the same job/instance/container
+ * names repeat in every response; label names are already canonicalized by Jackson.
+ */
+public class PrometheusResponseDecoder {
+
+    private static final String[] NO_LABELS = new String[0];
+    private static final int MAX_INTERNED_STRINGS = 65_536;
+
+    private final JsonFactory jsonFactory;
+    private final ConcurrentHashMap<String, String> internPool = new ConcurrentHashMap<>();
+
+    public PrometheusResponseDecoder() {
+        this(new JsonFactory());
+    }
+
+    public PrometheusResponseDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public PromQueryResult decode(InputStream in) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            return decode(parser);
+        }
+    }
+
+    public PromQueryResult decode(byte[] json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return decode(parser);
+        }
+    }
+
+    private PromQueryResult decode(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected Prometheus response object");
+        }
+        String status = null;
+        List<PromSample> samples = new ArrayList<>();
+        List<PromRangeSeries> series = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("status".equals(field)) {
+                status = parser.getText();
+            } else if ("data".equals(field)) {
+                readData(parser, samples, series);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new PromQueryResult(status, samples, series);
+    }
+
+    private void readData(JsonParser parser, List<PromSample> samples, List<PromRangeSeries> series) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        LabelBuffer labels = new LabelBuffer();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("result".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                readResult(parser, labels, samples, series);
+            } else {
+                // resultType is implied by the shape of each result element
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readResult(JsonParser parser, LabelBuffer labels,
+                            List<PromSample> samples, List<PromRangeSeries> series) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.END_ARRAY) {
+            // Scalar / string result: [ <unix_time>, "<value>" ]
+            long timestampMs = toMillis(parser.getDoubleValue());
+            parser.nextToken();
+            samples.add(new PromSample(NO_LABELS, parseValue(parser.getText()), timestampMs));
+            parser.nextToken();
+            return;
+        }
+        while (token == JsonToken.START_OBJECT) {
+            readSeries(parser, labels, samples, series);
+            token = parser.nextToken();
+        }
+    }
+
+    private void readSeries(JsonParser parser, LabelBuffer labels,
+                            List<PromSample> samples, List<PromRangeSeries> series) throws IOException {
+        labels.clear();
+        boolean instant = false;
+        double value = Double.NaN;
+        long timestampMs = 0;
+        long[] timestamps = null;
+        double[] values = null;
+        int count = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "metric" -> {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String labelName = parser.currentName();
+                        parser.nextToken();
+                        labels.add(labelName, intern(parser.getText()));
+                    }
+                }
+                case "value" -> {
+                    parser.nextToken();
+                    timestampMs = toMillis(parser.getDoubleValue());
+                    parser.nextToken();
+                    value = parseValue(parser.getText());
+                    parser.nextToken();
+                    instant = true;
+                }
+                case "values" -> {
+                    timestamps = new long[16];
+                    values = new double[16];
+                    while (parser.nextToken() == JsonToken.START_ARRAY) {
+                        if (count == values.length) {
+                            timestamps = Arrays.copyOf(timestamps, count * 2);
+                            values = Arrays.copyOf(values, count * 2);
+                        }
+                        parser.nextToken();
+                        timestamps[count] = toMillis(parser.getDoubleValue());
+                        parser.nextToken();
+                        values[count] = parseValue(parser.getText());
+                        parser.nextToken();
+                        count++;
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (instant) {
+            samples.add(new PromSample(labels.toArray(), value, timestampMs));
+        } else if (values != null) {
+            series.add(new PromRangeSeries(labels.toArray(), Arrays.copyOf(timestamps, count), Arrays.copyOf(values, count)));
+        }
+    }
+
+    private String intern(String value) {
+        String existing = internPool.putIfAbsent(value, value);
+        if (existing != null) {
+            return existing;
+        }
+        if (internPool.size() > MAX_INTERNED_STRINGS) {
+            // High-cardinality labels (e.g. container ids) must not grow the pool without bound
+            internPool.clear();
+        }
+        return value;
+    }
+
+    private static long toMillis(double unixSeconds) {
+        return Math.round(unixSeconds * 1000);
+    }
+
+    private static double parseValue(String text) {
+        return switch (text) {
+            case "+Inf" -> Double.POSITIVE_INFINITY;
+            case "-Inf" -> Double.NEGATIVE_INFINITY;
+            case "NaN" -> Double.NaN;
+            default -> Double.parseDouble(text);
+        };
+    }
+
+    /**
+     * Reusable label scratch space, so each series allocates exactly one right-sized array.
+     */
+    private static final class LabelBuffer {
+        private String[] pairs = new String[16];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(String name, String value) {
+            if (size + 2 > pairs.length) {
+                pairs = Arrays.copyOf(pairs, pairs.length * 2);
+            }
+            pairs[size++] = name;
+            pairs[size++] = value;
+        }
+
+        String[] toArray() {
+            return size == 0 ? NO_LABELS : Arrays.copyOf(pairs, size);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.backend.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Background collector that refreshes a single {@link ClusterSnapshot} at the Prometheus scrape interval.
+ * Request handlers read the current snapshot, so their cost no longer depends on how many users are polling.
+ * All sources are queried concurrently on a bounded pool under one overall deadline; a source that fails or
+ * misses the deadline keeps its previous value and is marked stale instead of holding back the snapshot.
+ */
+@Component
+public class TelemetryCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryCollector.class);
+
+    private final PrometheusClient prometheusClient;
+    private final ActuatorClient actuatorClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CicdAggregator cicdAggregator = new CicdAggregator();
+    private final ExecutorService fanOutExecutor;
+    private final Timer refreshTimer;
+
+    private final AtomicReference<ClusterSnapshot> current = new AtomicReference<>(ClusterSnapshot.empty());
+    private final AtomicLong versions = new AtomicLong();
+
+    @Value("${telemetry.refresh-deadline-ms:5000}")
+    private long refreshDeadlineMs;
+
+    public TelemetryCollector(PrometheusClient prometheusClient, ActuatorClient actuatorClient,
+                              ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                              @Value("${telemetry.fan-out-threads:8}") int fanOutThreads) {
+        this.prometheusClient = prometheusClient;
+        this.actuatorClient = actuatorClient;
+        this.eventPublisher = eventPublisher;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.fanOutExecutor = Executors.newFixedThreadPool(fanOutThreads, r -> {
+            Thread thread = new Thread(r, "telemetry-fanout-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refreshTimer = Timer.builder("telemetry.snapshot.refresh")
+                .description("End-to-end latency of one telemetry snapshot collection")
+                .register(meterRegistry);
+        meterRegistry.gauge("telemetry.snapshot.stale.sources", current, ref -> ref.get().staleSources().size());
+    }
+
+    /**
+     * Get the latest snapshot. Collects synchronously if no snapshot has been captured yet.
+     */
+    public ClusterSnapshot getSnapshot() {
+        ClusterSnapshot snapshot = current.get();
+        if (snapshot.version() == 0) {
+            synchronized (this) {
+                snapshot = current.get();
+                if (snapshot.version() == 0) {
+                    snapshot = refresh();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${telemetry.refresh-interval-ms:15000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            logger.warn("Telemetry snapshot refresh failed, keeping version {}: {}", current.get().version(), e.getMessage());
+        }
+    }
+
+    /**
+     * Query every telemetry source once and publish the result as the new current snapshot.
+     */
+    public synchronized ClusterSnapshot refresh() {
+        ClusterSnapshot snapshot = refreshTimer.record(this::collect);
+        eventPublisher.publishEvent(new TelemetrySnapshotEvent(snapshot));
+        return snapshot;
+    }
+
+    private ClusterSnapshot collect() {
+        ClusterSnapshot previous = current.get();
+
+        CompletableFuture<Map<String, NodeMetrics>> nodeMetrics = fetch(prometheusClient::queryNodeMetrics);
+        CompletableFuture<Map<String, List<ContainerMetrics>>> containers = fetch(prometheusClient::queryContainerMatrix);
+        CompletableFuture<Integer> activeCount = fetch(prometheusClient::queryActiveContainerCount);
+        CompletableFuture<Integer> stoppedCount = fetch(prometheusClient::queryStoppedContainerCount);
+        CompletableFuture<List<String>> activeNames = fetch(prometheusClient::queryActiveContainerList);
+        CompletableFuture<Integer> totalAlerts = fetch(prometheusClient::queryTotalAlerts);
+        CompletableFuture<Boolean> frontendProbe = fetch(() -> prometheusClient.queryProbeSuccess("angular-frontend"));
+        CompletableFuture<Boolean> backendUp = fetch(() -> prometheusClient.queryServiceUp("springboot-app"));
+        CompletableFuture<String> backendHealth = fetch(actuatorClient::getHealthSummary);
+        CompletableFuture<Double> availability = fetch(() -> prometheusClient.queryAverageOverTime("probe_success", "job=\"angular-frontend\"", "24h"));
+        CompletableFuture<List<PromSample>> jobResults = fetch(prometheusClient::queryPipelineList);
+        CompletableFuture<List<PromSample>> jobDurations = fetch(prometheusClient::queryPipelineDurations);
+        CompletableFuture<List<PromSample>> jobTimestamps = fetch(prometheusClient::queryPipelineTimestamps);
+        CompletableFuture<List<PromSample>> jobBuilding = fetch(prometheusClient::queryPipelineBuilding);
+        // The 7-day success-rate query is only needed until it has seeded the CI/CD aggregator
+        CompletableFuture<List<PromSample>> jobSuccessRates = cicdAggregator.isSeeded()
+                ? CompletableFuture.completedFuture(List.of())
+                : fetch(prometheusClient::queryPipelineSuccessRates);
+
+        awaitDeadline(nodeMetrics, containers, activeCount, stoppedCount, activeNames, totalAlerts, frontendProbe,
+                backendUp, backendHealth, availability, jobResults, jobDurations, jobTimestamps, jobBuilding, jobSuccessRates);
+
+        Set<String> stale = new HashSet<>();
+        CicdState cicd = resolveCicd(previous.cicd(), jobResults, jobDurations, jobTimestamps, jobBuilding, jobSuccessRates, stale);
+
+        ClusterSnapshot snapshot = new ClusterSnapshot(
+                versions.incrementAndGet(),
+                Instant.now(),
+                resolve("nodeMetrics", nodeMetrics, previous.nodeMetrics(), stale),
+                resolve("containers", containers, previous.containers(), stale),
+                resolve("activeContainerCount", activeCount, previous.activeContainerCount(), stale),
+                resolve("stoppedContainerCount", stoppedCount, previous.stoppedContainerCount(), stale),
+                resolve("activeContainerNames", activeNames, previous.activeContainerNames(), stale),
+                resolve("totalAlerts", totalAlerts, previous.totalAlerts(), stale),
+                resolve("frontendProbe", frontendProbe, previous.frontendProbeUp(), stale),
+                resolve("backendUp", backendUp, previous.backendUp(), stale),
+                resolve("backendHealth", backendHealth, previous.backendHealthSummary(), stale),
+                resolve("frontendAvailability", availability, previous.frontendAvailability(), stale),
+                cicd,
+                stale);
+
+        current.set(snapshot);
+        if (!stale.isEmpty()) {
+            logger.warn("Telemetry snapshot v{} published with stale sources: {}", snapshot.version(), stale);
+        } else {
+            logger.debug("Published telemetry snapshot v{} at {}", snapshot.version(), snapshot.capturedAt());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Feed the latest build gauges into the CI/CD aggregator, or keep the previous state if any of them is missing.
+     */
+    private CicdState resolveCicd(CicdState previous, CompletableFuture<List<PromSample>> results,
+                                  CompletableFuture<List<PromSample>> durations, CompletableFuture<List<PromSample>> timestamps,
+                                  CompletableFuture<List<PromSample>> building, CompletableFuture<List<PromSample>> successRates,
+                                  Set<String> stale) {
+        if (!cicdAggregator.isSeeded()) {
+            List<PromSample> seed = resolve("jenkins.successRates", successRates, null, stale);
+            if (seed != null) {
+                cicdAggregator.seedSuccessRates(seed);
+            }
+        }
+        List<PromSample> latestResults = resolve("jenkins.results", results, null, stale);
+        List<PromSample> latestDurations = resolve("jenkins.durations", durations, null, stale);
+        List<PromSample> latestTimestamps = resolve("jenkins.timestamps", timestamps, null, stale);
+        List<PromSample> latestBuilding = resolve("jenkins.building", building, null, stale);
+        if (latestResults == null || latestDurations == null || latestTimestamps == null || latestBuilding == null) {
+            return previous;
+        }
+        return cicdAggregator.update(latestResults, latestDurations, latestTimestamps, latestBuilding, System.currentTimeMillis());
+    }
+
+    private <T> CompletableFuture<T> fetch(Supplier<T> source) {
+        return CompletableFuture.supplyAsync(source, fanOutExecutor);
+    }
+
+    private void awaitDeadline(CompletableFuture<?>... futures) {
+        try {
+            CompletableFuture.allOf(futures).get(refreshDeadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Telemetry collection exceeded its {}ms deadline, publishing partial snapshot", refreshDeadlineMs);
+        } catch (ExecutionException e) {
+            logger.warn("Telemetry source failed: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Take the value of a source that succeeded in time, otherwise fall back to the previous snapshot's value.
+     */
+    private <T> T resolve(String source, CompletableFuture<T> future, T previous, Set<String> stale) {
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return future.join();
+        }
+        future.cancel(false);
+        stale.add(source);
+        return previous;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.backend.client;
+
+/**
+ * Published by {@link TelemetryCollector} every time a new {@link ClusterSnapshot} becomes current.
+ */
+public record TelemetrySnapshotEvent(ClusterSnapshot snapshot) {
+}
@@ -7,8 +7,12 @@ import com.example.backend.entity.ChatMessage;
 import com.example.backend.service.GroqService;
 import com.example.backend.service.InfraService;
 import com.example.backend.service.ChatHistoryService;
+import com.example.backend.service.ChatStreamService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -20,11 +24,14 @@ public class ChatController {
     private final InfraService infraService;
     private final GroqService groqService;
     private final ChatHistoryService chatHistoryService;
+    private final ChatStreamService chatStreamService;
 
-    public ChatController(InfraService infraService, GroqService groqService, ChatHistoryService chatHistoryService) {
+    public ChatController(InfraService infraService, GroqService groqService, ChatHistoryService chatHistoryService,
+                          ChatStreamService chatStreamService) {
         this.infraService = infraService;
         this.groqService = groqService;
         this.chatHistoryService = chatHistoryService;
+        this.chatStreamService = chatStreamService;
     }
 
     @GetMapping("/conversations")
@@ -40,22 +47,56 @@ public class ChatController {
 
     @PostMapping
     public ChatResponse processChat(@RequestBody ChatRequest request) {
-        String username = getCurrentUsername();
-        Long conversationId = request.getConversationId();
-        
+        Long conversationId = conversationFor(request);
+        String systemPrompt = buildSystemPrompt(request.getContext());
+
+        // 1. Save User Message
+        chatHistoryService.addMessage(conversationId, "user", request.getMessage());
+
+        // 2. Load History for Context
+        List<Map<String, String>> history = chatHistoryService.getConversationHistory(conversationId);
+
+        // 3. Get AI Response
+        String reply = groqService.getChatCompletion(history, systemPrompt);
+
+        // 4. Save Assistant Response
+        chatHistoryService.addMessage(conversationId, "assistant", reply);
+
+        return new ChatResponse(reply, conversationId);
+    }
+
+    /**
+     * Same as {@link #processChat} but the reply is streamed token by token as Server-Sent Events
+     * ({@code conversation}, {@code token}..., then {@code done} or {@code error}).
+     */
+    @PostMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChat(@RequestBody ChatRequest request, HttpServletResponse response) {
+        Long conversationId = conversationFor(request);
+        String systemPrompt = buildSystemPrompt(request.getContext());
+
+        chatHistoryService.addMessage(conversationId, "user", request.getMessage());
+        List<Map<String, String>> history = chatHistoryService.getConversationHistory(conversationId);
+
+        // Keep reverse proxies from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        return chatStreamService.stream(conversationId, history, systemPrompt);
+    }
+
+    private Long conversationFor(ChatRequest request) {
         // If no conversation ID, start a new one
-        if (conversationId == null) {
-            String title = "New Chat - " + java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
-            Conversation conversation = chatHistoryService.startConversation(username, title);
-            conversationId = conversation.getId();
+        if (request.getConversationId() != null) {
+            return request.getConversationId();
         }
+        String title = "New Chat - " + java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+        return chatHistoryService.startConversation(getCurrentUsername(), title).getId();
+    }
 
+    private String buildSystemPrompt(String context) {
         // 1. Fetch multi-node infrastructure summary
         String infraSummary = infraService.getInfrastructureSummary();
 
         // 2. Prepare System Prompt based on Context
         String systemPrompt;
-        String context = request.getContext();
 
         if (context != null && context.contains("/cicd")) {
             systemPrompt = "You are an Executive CI/CI Delivery Agent.\n\n" +
@@ -162,20 +203,7 @@ public class ChatController {
                     "CURRENT INFRA SUMMARY:\n" +
                     infraSummary;
         }
-
-        // 3. Save User Message
-        chatHistoryService.addMessage(conversationId, "user", request.getMessage());
-
-        // 4. Load History for Context
-        List<Map<String, String>> history = chatHistoryService.getConversationHistory(conversationId);
-
-        // 5. Get AI Response
-        String reply = groqService.getChatCompletion(history, systemPrompt);
-
-        // 6. Save Assistant Response
-        chatHistoryService.addMessage(conversationId, "assistant", reply);
-
-        return new ChatResponse(reply, conversationId);
+        return systemPrompt;
     }
 
     private String getCurrentUsername() {
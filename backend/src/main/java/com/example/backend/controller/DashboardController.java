@@ -1,8 +1,10 @@
 package com.example.backend.controller;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
 import com.example.backend.service.InfraService;
@@ -18,35 +20,12 @@ public class DashboardController {
     }
 
     @GetMapping
-    public Map<String, Object> getDashboardSummary() {
-        return Map.of(
-                "platformHealth", Map.of(
-                        "productionApp", infraService.getProductionHealth(),
-                        "backendApi", infraService.getBackendHealth(),
-                        "monitoringStack", "operational",
-                        "infrastructure", infraService.getInfrastructureHealth()
-                ),
-                "weeklyKpis", Map.of(
-                        "deploymentSuccessRate", infraService.getDynamicDeliverySuccess(),
-                        "incidents", infraService.getIncidentCount(),
-                        "mttr", "12 mins",
-                        "availability", infraService.getDynamicAvailability()
-                ),
-                "deliveryStatus", Map.of(
-                        "frontendService", infraService.getFrontendServiceStatus(),
-                        "backendService", infraService.getBackendServiceStatus()
-                ),
-                "capacity", Map.of(
-                        "activeServices", infraService.getActiveContainerCount(),
-                        "stoppedServices", infraService.getStoppedContainerCount(),
-                        "activeContainerNames", infraService.getActiveContainerNames(),
-                        "status", infraService.getCapacityStatus()
-                )
-        );
+    public ResponseEntity<Map<String, Object>> getDashboardSummary(WebRequest request) {
+        return SnapshotResponses.conditional(request, infraService.getSnapshot(), infraService::getDashboardSummary);
     }
 
     @GetMapping("/cicd")
-    public Map<String, Object> getCICDStatus() {
-        return infraService.getCICDSummary();
+    public ResponseEntity<Map<String, Object>> getCICDStatus(WebRequest request) {
+        return SnapshotResponses.conditional(request, infraService.getSnapshot(), infraService::getCICDSummary);
     }
 }
@@ -2,9 +2,11 @@ package com.example.backend.controller;
 
 import com.example.backend.dto.*;
 import com.example.backend.service.InfrastructureService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,27 +21,32 @@ public class InfrastructureController {
     }
 
     @GetMapping("/summary")
-    public InfrastructureSummaryDTO getSummary() {
-        return infrastructureService.getSummary();
+    public ResponseEntity<InfrastructureSummaryDTO> getSummary(WebRequest request) {
+        return SnapshotResponses.conditional(request, infrastructureService.getSnapshot(),
+                infrastructureService::getSummary);
     }
 
     @GetMapping("/services")
-    public List<ServiceGroupDTO> getServices() {
-        return infrastructureService.getServices();
+    public ResponseEntity<List<ServiceGroupDTO>> getServices(WebRequest request) {
+        return SnapshotResponses.conditional(request, infrastructureService.getSnapshot(),
+                infrastructureService::getServices);
     }
 
     @GetMapping("/containers")
-    public List<ContainerMetricDTO> getContainers() {
-        return infrastructureService.getContainers();
+    public ResponseEntity<List<ContainerMetricDTO>> getContainers(WebRequest request) {
+        return SnapshotResponses.conditional(request, infrastructureService.getSnapshot(),
+                infrastructureService::getContainers);
     }
 
     @GetMapping("/nodes")
-    public List<NodeMetricDTO> getNodes() {
-        return infrastructureService.getNodes();
+    public ResponseEntity<List<NodeMetricDTO>> getNodes(WebRequest request) {
+        return SnapshotResponses.conditional(request, infrastructureService.getSnapshot(),
+                infrastructureService::getNodes);
     }
 
     @GetMapping("/risks")
-    public List<String> getRisks() {
-        return infrastructureService.getRisks();
+    public ResponseEntity<List<String>> getRisks(WebRequest request) {
+        return SnapshotResponses.conditional(request, infrastructureService.getSnapshot(),
+                infrastructureService::getRisks);
     }
 }
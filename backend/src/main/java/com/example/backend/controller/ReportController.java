@@ -1,12 +1,25 @@
 package com.example.backend.controller;
 
+import com.example.backend.dto.FindingDiffDTO;
+import com.example.backend.dto.HistoryPage;
 import com.example.backend.dto.ReportRequest;
 import com.example.backend.entity.Pipeline;
+import com.example.backend.ingest.IngestionJob;
+import com.example.backend.service.FindingDiffService;
+import com.example.backend.service.ReportIngestionQueue;
 import com.example.backend.service.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,14 +29,27 @@ public class ReportController {
 
     private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
 
+    // Findings of a stored pipeline never change after ingest, but they are vulnerability data: browser cache only,
+    // and bounded so a changed response shape is picked up without relying on the version in the ETag alone
+    private static final CacheControl FINDINGS_CACHE = CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate();
+
+    // Part of every per-pipeline ETag; bump whenever the JSON of the sonar, trivy, owasp or diff responses changes
+    private static final int PAYLOAD_VERSION = 2;
+
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
+
     @Autowired
     private ReportService reportService;
 
     @Autowired
-    private com.fasterxml.jackson.databind.ObjectMapper objectMapper;
+    private ReportIngestionQueue reportIngestionQueue;
+
+    @Autowired
+    private FindingDiffService findingDiffService;
 
     @PostMapping
-    public ResponseEntity<Pipeline> createReport(
+    public ResponseEntity<Map<String, Object>> createReport(
             @RequestParam(value = "status", required = false) String status,
             @RequestParam(value = "duration", required = false) Long duration,
             @RequestParam(value = "commitHash", required = false) String commitHash,
@@ -45,18 +71,28 @@ public class ReportController {
         request.setComponent(app);
         request.setAppVersion(appVersion);
 
-        if (sonarFile != null) {
-            request.setSonarData(objectMapper.readTree(sonarFile.getBytes()));
-        }
-        if (trivyFile != null) {
-            request.setTrivyData(objectMapper.readTree(trivyFile.getBytes()));
-        }
-        if (owaspFile != null) {
-            request.setOwaspData(objectMapper.readTree(owaspFile.getBytes()));
+        IngestionJob job;
+        try {
+            job = reportIngestionQueue.submit(request, sonarFile, trivyFile, owaspFile);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Ingestion queue full, rejecting report for app: {}", app);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", "Report ingestion queue is full, retry later"));
         }
 
-        Pipeline pipeline = reportService.saveReport(request);
-        return ResponseEntity.ok(pipeline);
+        String statusUrl = "/api/reports/jobs/" + job.getId();
+        return ResponseEntity.accepted()
+                .location(URI.create(statusUrl))
+                .body(Map.of("jobId", job.getId(), "status", job.getStatus(), "statusUrl", statusUrl));
+    }
+
+    // 404 also for jobs lost by a restart: jobs are kept in memory only
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<IngestionJob> getIngestionJob(@PathVariable String jobId) {
+        return reportIngestionQueue.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/latest")
@@ -67,28 +103,87 @@ public class ReportController {
     }
 
     @GetMapping("/{id}/sonar")
-    public ResponseEntity<com.example.backend.entity.SonarReport> getSonarReport(@PathVariable Long id) {
+    public ResponseEntity<com.example.backend.entity.SonarReport> getSonarReport(@PathVariable Long id, WebRequest request) {
+        // Revalidation only checks that the pipeline exists; the entity is loaded for a 200 alone
+        if (!reportService.reportExists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = pipelineEtag(id, "sonar");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return reportService.getReportById(id)
-                .map(p -> ResponseEntity.ok(p.getSonarReport()))
+                .map(pipeline -> ResponseEntity.ok().eTag(etag).cacheControl(FINDINGS_CACHE).body(pipeline.getSonarReport()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}/trivy")
-    public ResponseEntity<List<com.example.backend.entity.TrivyFinding>> getTrivyFindings(@PathVariable Long id) {
+    public ResponseEntity<List<com.example.backend.entity.TrivyFinding>> getTrivyFindings(@PathVariable Long id, WebRequest request) {
+        if (!reportService.reportExists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = pipelineEtag(id, "trivy");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return reportService.getReportById(id)
-                .map(p -> ResponseEntity.ok(p.getTrivyFindings()))
+                .map(pipeline -> ResponseEntity.ok().eTag(etag).cacheControl(FINDINGS_CACHE)
+                        .body(reportService.getTrivyFindings(pipeline)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}/owasp")
-    public ResponseEntity<List<com.example.backend.entity.OwaspFinding>> getOwaspFindings(@PathVariable Long id) {
+    public ResponseEntity<List<com.example.backend.entity.OwaspFinding>> getOwaspFindings(@PathVariable Long id, WebRequest request) {
+        if (!reportService.reportExists(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = pipelineEtag(id, "owasp");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         return reportService.getReportById(id)
-                .map(p -> ResponseEntity.ok(p.getOwaspFindings()))
+                .map(pipeline -> ResponseEntity.ok().eTag(etag).cacheControl(FINDINGS_CACHE)
+                        .body(reportService.getOwaspFindings(pipeline)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/diff")
+    public ResponseEntity<FindingDiffDTO> getFindingDiff(@PathVariable Long id, WebRequest request) {
+        if (!findingDiffService.hasDiff(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = pipelineEtag(id, "diff");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return findingDiffService.getDiff(id)
+                .map(diff -> ResponseEntity.ok().eTag(etag).cacheControl(FINDINGS_CACHE).body(diff))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/history")
-    public ResponseEntity<List<Pipeline>> getReportHistory(@RequestParam(required = false) String component) {
-        return ResponseEntity.ok(reportService.getReportHistory(component));
+    public ResponseEntity<HistoryPage> getReportHistory(@RequestParam(required = false) String component,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "" + DEFAULT_HISTORY_PAGE_SIZE) int limit,
+                                                        WebRequest request) {
+        String etag = "\"history-" + reportService.getHistoryVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        HistoryPage page;
+        try {
+            page = reportService.getReportHistory(component, cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(page);
+    }
+
+    private static String pipelineEtag(Long id, String part) {
+        return "\"pipeline-" + id + "-" + part + "-v" + PAYLOAD_VERSION + "\"";
     }
 }
@@ -0,0 +1,34 @@
+package com.example.backend.controller;
+
+import com.example.backend.client.ClusterSnapshot;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Function;
+
+/**
+ * Conditional GET for the dashboard and infrastructure views, which are built from the telemetry snapshot.
+ * The caller reads the snapshot once; the strong ETag is its version tag and the body is built from that same
+ * snapshot, so a refresh in between cannot label a body with another version. A matching If-None-Match gets
+ * a 304 without building the body. Responses are per user and revalidated on every use.
+ */
+final class SnapshotResponses {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private SnapshotResponses() {
+    }
+
+    static <T> ResponseEntity<T> conditional(WebRequest request, ClusterSnapshot snapshot,
+                                             Function<ClusterSnapshot, T> view) {
+        String etag = "\"telemetry-" + snapshot.tag() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(view.apply(snapshot));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.controller;
+
+import com.example.backend.service.TelemetryStreamService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/stream")
+public class StreamController {
+
+    private final TelemetryStreamService telemetryStreamService;
+
+    public StreamController(TelemetryStreamService telemetryStreamService) {
+        this.telemetryStreamService = telemetryStreamService;
+    }
+
+    /**
+     * Dashboard and infrastructure deltas as Server-Sent Events ("snapshot" first, then "delta" events).
+     */
+    @GetMapping(path = "/infrastructure", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamInfrastructure(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                           HttpServletResponse response) {
+        // Keep reverse proxies from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        return telemetryStreamService.subscribe(lastEventId);
+    }
+}
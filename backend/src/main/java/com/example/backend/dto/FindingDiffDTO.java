@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * Response of {@code GET /api/reports/{id}/diff}. A scanner is null when the report did not include it.
+ */
+public record FindingDiffDTO(Long pipelineId, Long previousPipelineId, Scanner trivy, Scanner owasp) {
+
+    public record Scanner(int introducedCount, int fixedCount, int unchangedCount,
+                          List<Entry> introduced, List<Entry> fixed) {
+    }
+
+    /**
+     * {@code packageName} is the package for Trivy and the dependency file for OWASP.
+     */
+    public record Entry(String cve, String packageName, Integer severity) {
+    }
+}
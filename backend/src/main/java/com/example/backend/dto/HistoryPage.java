@@ -0,0 +1,9 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * A page of the report history, newest first. {@code nextCursor} is null on the last page.
+ */
+public record HistoryPage(List<PipelineSummaryDTO> items, String nextCursor) {
+}
@@ -0,0 +1,20 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the report history: pipeline columns plus finding counts, without the findings themselves.
+ */
+public record PipelineSummaryDTO(
+        Long id,
+        LocalDateTime timestamp,
+        String status,
+        Long duration,
+        String commitHash,
+        String component,
+        String appVersion,
+        SeverityCounts trivy,
+        SeverityCounts owasp,
+        int vulnerabilityCount
+) {
+}
@@ -1,14 +1,19 @@
 package com.example.backend.dto;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.core.io.InputStreamSource;
 
 public class ReportRequest {
     private String status;
     private Long duration;
     private String commitHash;
-    private JsonNode sonarData;
-    private JsonNode trivyData;
-    private JsonNode owaspData;
+    // Raw report uploads, read as streams during ingestion
+    private InputStreamSource sonarData;
+    private InputStreamSource trivyData;
+    private InputStreamSource owaspData;
+    // SHA-256 (hex) of each upload, computed while spooling; null when not known
+    private String sonarSha256;
+    private String trivySha256;
+    private String owaspSha256;
     private String component;
     private String appVersion;
 
@@ -18,12 +23,18 @@ public class ReportRequest {
     public void setDuration(Long duration) { this.duration = duration; }
     public String getCommitHash() { return commitHash; }
     public void setCommitHash(String commitHash) { this.commitHash = commitHash; }
-    public JsonNode getSonarData() { return sonarData; }
-    public void setSonarData(JsonNode sonarData) { this.sonarData = sonarData; }
-    public JsonNode getTrivyData() { return trivyData; }
-    public void setTrivyData(JsonNode trivyData) { this.trivyData = trivyData; }
-    public JsonNode getOwaspData() { return owaspData; }
-    public void setOwaspData(JsonNode owaspData) { this.owaspData = owaspData; }
+    public InputStreamSource getSonarData() { return sonarData; }
+    public void setSonarData(InputStreamSource sonarData) { this.sonarData = sonarData; }
+    public InputStreamSource getTrivyData() { return trivyData; }
+    public void setTrivyData(InputStreamSource trivyData) { this.trivyData = trivyData; }
+    public InputStreamSource getOwaspData() { return owaspData; }
+    public void setOwaspData(InputStreamSource owaspData) { this.owaspData = owaspData; }
+    public String getSonarSha256() { return sonarSha256; }
+    public void setSonarSha256(String sonarSha256) { this.sonarSha256 = sonarSha256; }
+    public String getTrivySha256() { return trivySha256; }
+    public void setTrivySha256(String trivySha256) { this.trivySha256 = trivySha256; }
+    public String getOwaspSha256() { return owaspSha256; }
+    public void setOwaspSha256(String owaspSha256) { this.owaspSha256 = owaspSha256; }
     public String getComponent() { return component; }
     public void setComponent(String component) { this.component = component; }
     public String getAppVersion() { return appVersion; }
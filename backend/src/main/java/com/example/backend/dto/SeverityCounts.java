@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+/**
+ * Number of findings per normalized severity (5 = critical ... 1 = info) for one scanner.
+ */
+public record SeverityCounts(int critical, int high, int medium, int low, int info, int total) {
+
+    public static SeverityCounts of(int critical, int high, int medium, int low, int info) {
+        return new SeverityCounts(critical, high, medium, low, info, critical + high + medium + low + info);
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.backend.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_ai_analysis_content_hash", columnList = "contentHash"))
 public class AiAnalysis {
 
     @Id
@@ -24,6 +26,12 @@ public class AiAnalysis {
     @JoinColumn(name = "pipeline_id")
     private Pipeline pipeline;
 
+    // Set instead of a pipeline for analyses of ad-hoc data, see AiAnalysisCache
+    @Column(length = 64)
+    private String contentHash;
+
+    private LocalDateTime createdAt;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getPage() { return page; }
@@ -34,4 +42,8 @@ public class AiAnalysis {
     public void setRecommendations(List<String> recommendations) { this.recommendations = recommendations; }
     public Pipeline getPipeline() { return pipeline; }
     public void setPipeline(Pipeline pipeline) { this.pipeline = pipeline; }
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
@@ -0,0 +1,23 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Interned vulnerability identifier (CVE, GHSA, ...), shared by every finding that reports it.
+ */
+@Entity
+public class CatalogCve {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Binary collation: identifiers differing only in case are distinct entries
+    @Column(nullable = false, unique = true, columnDefinition = "varchar(255) character set utf8mb4 collate utf8mb4_bin")
+    private String cve;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getCve() { return cve; }
+    public void setCve(String cve) { this.cve = cve; }
+}
@@ -0,0 +1,22 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Interned package or dependency name: Trivy package names and OWASP dependency file names.
+ */
+@Entity
+public class CatalogPackage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, columnDefinition = "varchar(255) character set utf8mb4 collate utf8mb4_bin")
+    private String name;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * What a pipeline changed against the previous pipeline of the same component, computed at ingest.
+ * Counts of a scanner are null when the report did not include that scanner; the introduced and fixed
+ * findings themselves are {@link FindingDiffEntry} rows.
+ */
+@Entity
+public class FindingDiff {
+
+    @Id
+    private Long pipelineId;
+
+    // Null for the first pipeline of a component: there is nothing to compare against
+    private Long previousPipelineId;
+
+    private Integer trivyIntroduced;
+    private Integer trivyFixed;
+    private Integer trivyUnchanged;
+    private Integer owaspIntroduced;
+    private Integer owaspFixed;
+    private Integer owaspUnchanged;
+
+    public Long getPipelineId() { return pipelineId; }
+    public void setPipelineId(Long pipelineId) { this.pipelineId = pipelineId; }
+    public Long getPreviousPipelineId() { return previousPipelineId; }
+    public void setPreviousPipelineId(Long previousPipelineId) { this.previousPipelineId = previousPipelineId; }
+    public Integer getTrivyIntroduced() { return trivyIntroduced; }
+    public void setTrivyIntroduced(Integer trivyIntroduced) { this.trivyIntroduced = trivyIntroduced; }
+    public Integer getTrivyFixed() { return trivyFixed; }
+    public void setTrivyFixed(Integer trivyFixed) { this.trivyFixed = trivyFixed; }
+    public Integer getTrivyUnchanged() { return trivyUnchanged; }
+    public void setTrivyUnchanged(Integer trivyUnchanged) { this.trivyUnchanged = trivyUnchanged; }
+    public Integer getOwaspIntroduced() { return owaspIntroduced; }
+    public void setOwaspIntroduced(Integer owaspIntroduced) { this.owaspIntroduced = owaspIntroduced; }
+    public Integer getOwaspFixed() { return owaspFixed; }
+    public void setOwaspFixed(Integer owaspFixed) { this.owaspFixed = owaspFixed; }
+    public Integer getOwaspUnchanged() { return owaspUnchanged; }
+    public void setOwaspUnchanged(Integer owaspUnchanged) { this.owaspUnchanged = owaspUnchanged; }
+}
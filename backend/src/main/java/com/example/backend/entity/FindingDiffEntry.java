@@ -0,0 +1,44 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One finding introduced or fixed by a pipeline, keyed by catalog ids. Written in bulk at ingest.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_finding_diff_entry_pipeline", columnList = "pipeline_id"))
+public class FindingDiffEntry {
+
+    public enum Change { INTRODUCED, FIXED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "pipeline_id")
+    private Long pipelineId;
+
+    private String scanner; // trivy | owasp
+
+    @Enumerated(EnumType.STRING)
+    private Change changeType;
+
+    private Long cveId;
+    private Long packageId; // Trivy package or OWASP dependency
+    private Integer severity;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getPipelineId() { return pipelineId; }
+    public void setPipelineId(Long pipelineId) { this.pipelineId = pipelineId; }
+    public String getScanner() { return scanner; }
+    public void setScanner(String scanner) { this.scanner = scanner; }
+    public Change getChangeType() { return changeType; }
+    public void setChangeType(Change changeType) { this.changeType = changeType; }
+    public Long getCveId() { return cveId; }
+    public void setCveId(Long cveId) { this.cveId = cveId; }
+    public Long getPackageId() { return packageId; }
+    public void setPackageId(Long packageId) { this.packageId = packageId; }
+    public Integer getSeverity() { return severity; }
+    public void setSeverity(Integer severity) { this.severity = severity; }
+}
@@ -9,19 +9,33 @@ public class OwaspFinding {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private String dependency;
     private Double cvss;
     private Integer severity; // Normalized 1-5
 
+    // Interned dependency file name and vulnerability id; the API still exposes them as plain strings
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "dependency_id")
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private CatalogPackage dependencyEntry;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cve_id")
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private CatalogCve cveEntry;
+
     @ManyToOne
     @JoinColumn(name = "pipeline_id")
-    @com.fasterxml.jackson.annotation.JsonBackReference
+    @com.fasterxml.jackson.annotation.JsonIgnore
     private Pipeline pipeline;
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
-    public String getDependency() { return dependency; }
-    public void setDependency(String dependency) { this.dependency = dependency; }
+    public String getDependency() { return dependencyEntry != null ? dependencyEntry.getName() : null; }
+    public CatalogPackage getDependencyEntry() { return dependencyEntry; }
+    public void setDependencyEntry(CatalogPackage dependencyEntry) { this.dependencyEntry = dependencyEntry; }
+    public String getCve() { return cveEntry != null ? cveEntry.getCve() : null; }
+    public CatalogCve getCveEntry() { return cveEntry; }
+    public void setCveEntry(CatalogCve cveEntry) { this.cveEntry = cveEntry; }
     public Double getCvss() { return cvss; }
     public void setCvss(Double cvss) { this.cvss = cvss; }
     public Integer getSeverity() { return severity; }
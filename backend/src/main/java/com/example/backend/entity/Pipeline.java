@@ -5,6 +5,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_pipeline_component_timestamp", columnList = "component, timestamp"),
+        @Index(name = "idx_pipeline_timestamp", columnList = "timestamp")
+})
 public class Pipeline {
 
     @Id
@@ -18,16 +22,47 @@ public class Pipeline {
     private String component;
     private String appVersion;
 
+    // Aggregated at ingest; see SeverityCounters
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "critical", column = @Column(name = "trivy_critical")),
+            @AttributeOverride(name = "high", column = @Column(name = "trivy_high")),
+            @AttributeOverride(name = "medium", column = @Column(name = "trivy_medium")),
+            @AttributeOverride(name = "low", column = @Column(name = "trivy_low")),
+            @AttributeOverride(name = "info", column = @Column(name = "trivy_info"))
+    })
+    private SeverityCounters trivyCounts;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "critical", column = @Column(name = "owasp_critical")),
+            @AttributeOverride(name = "high", column = @Column(name = "owasp_high")),
+            @AttributeOverride(name = "medium", column = @Column(name = "owasp_medium")),
+            @AttributeOverride(name = "low", column = @Column(name = "owasp_low")),
+            @AttributeOverride(name = "info", column = @Column(name = "owasp_info"))
+    })
+    private SeverityCounters owaspCounts;
+
+    private Double maxCvss;
+
+    // Set when an identical upload was ingested before: its findings rows are shared instead of copied
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Long trivySourcePipelineId;
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Long owaspSourcePipelineId;
+
     @OneToOne(mappedBy = "pipeline", cascade = CascadeType.ALL)
     @com.fasterxml.jackson.annotation.JsonManagedReference
     private SonarReport sonarReport;
 
+    // Served by /api/reports/{id}/trivy and /owasp; summaries use the counters above
     @OneToMany(mappedBy = "pipeline", cascade = CascadeType.ALL)
-    @com.fasterxml.jackson.annotation.JsonManagedReference
+    @com.fasterxml.jackson.annotation.JsonIgnore
     private List<TrivyFinding> trivyFindings;
 
     @OneToMany(mappedBy = "pipeline", cascade = CascadeType.ALL)
-    @com.fasterxml.jackson.annotation.JsonManagedReference
+    @com.fasterxml.jackson.annotation.JsonIgnore
     private List<OwaspFinding> owaspFindings;
 
     public Long getId() { return id; }
@@ -44,6 +79,23 @@ public class Pipeline {
     public void setComponent(String component) { this.component = component; }
     public String getAppVersion() { return appVersion; }
     public void setAppVersion(String appVersion) { this.appVersion = appVersion; }
+    public SeverityCounters getTrivyCounts() { return trivyCounts; }
+    public void setTrivyCounts(SeverityCounters trivyCounts) { this.trivyCounts = trivyCounts; }
+    public SeverityCounters getOwaspCounts() { return owaspCounts; }
+    public void setOwaspCounts(SeverityCounters owaspCounts) { this.owaspCounts = owaspCounts; }
+    public Double getMaxCvss() { return maxCvss; }
+    public void setMaxCvss(Double maxCvss) { this.maxCvss = maxCvss; }
+    public Long getTrivySourcePipelineId() { return trivySourcePipelineId; }
+    public void setTrivySourcePipelineId(Long trivySourcePipelineId) { this.trivySourcePipelineId = trivySourcePipelineId; }
+    public Long getOwaspSourcePipelineId() { return owaspSourcePipelineId; }
+    public void setOwaspSourcePipelineId(Long owaspSourcePipelineId) { this.owaspSourcePipelineId = owaspSourcePipelineId; }
+
+    /** Pipeline id the Trivy finding rows of this pipeline are stored under. */
+    public Long trivyFindingsOwnerId() { return trivySourcePipelineId != null ? trivySourcePipelineId : id; }
+
+    /** Pipeline id the OWASP finding rows of this pipeline are stored under. */
+    public Long owaspFindingsOwnerId() { return owaspSourcePipelineId != null ? owaspSourcePipelineId : id; }
+
     public SonarReport getSonarReport() { return sonarReport; }
     public void setSonarReport(SonarReport sonarReport) { this.sonarReport = sonarReport; }
     public List<TrivyFinding> getTrivyFindings() { return trivyFindings; }
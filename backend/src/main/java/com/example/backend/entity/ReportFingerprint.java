@@ -0,0 +1,36 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * SHA-256 of an ingested scanner upload and the pipeline whose rows hold its parse result.
+ * A later upload with the same bytes reuses those rows instead of being parsed and stored again.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_report_fingerprint", columnNames = {"kind", "sha256"}))
+public class ReportFingerprint {
+
+    public enum Kind { SONAR, TRIVY, OWASP }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private Kind kind;
+
+    @Column(length = 64)
+    private String sha256;
+
+    private Long pipelineId;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Kind getKind() { return kind; }
+    public void setKind(Kind kind) { this.kind = kind; }
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+    public Long getPipelineId() { return pipelineId; }
+    public void setPipelineId(Long pipelineId) { this.pipelineId = pipelineId; }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.Embeddable;
+
+/**
+ * Findings of one scanner counted by normalized severity, stored on the pipeline row at ingest time
+ * so that summaries never have to count the finding tables. Severity 1 and anything unrecognized count as info.
+ * The columns are NULL on rows stored before the counters existed; a NULL counter counts as 0 here.
+ */
+@Embeddable
+public class SeverityCounters {
+
+    private Integer critical;
+    private Integer high;
+    private Integer medium;
+    private Integer low;
+    private Integer info;
+
+    public static SeverityCounters zero() {
+        SeverityCounters counters = new SeverityCounters();
+        counters.critical = 0;
+        counters.high = 0;
+        counters.medium = 0;
+        counters.low = 0;
+        counters.info = 0;
+        return counters;
+    }
+
+    public SeverityCounters copy() {
+        SeverityCounters copy = new SeverityCounters();
+        copy.critical = critical;
+        copy.high = high;
+        copy.medium = medium;
+        copy.low = low;
+        copy.info = info;
+        return copy;
+    }
+
+    public void record(Integer severity) {
+        int level = severity != null ? severity : 1;
+        switch (level) {
+            case 5 -> critical = valueOf(critical) + 1;
+            case 4 -> high = valueOf(high) + 1;
+            case 3 -> medium = valueOf(medium) + 1;
+            case 2 -> low = valueOf(low) + 1;
+            default -> info = valueOf(info) + 1;
+        }
+    }
+
+    public int getTotal() {
+        return valueOf(critical) + valueOf(high) + valueOf(medium) + valueOf(low) + valueOf(info);
+    }
+
+    private static int valueOf(Integer counter) {
+        return counter != null ? counter : 0;
+    }
+
+    public Integer getCritical() { return critical; }
+    public void setCritical(Integer critical) { this.critical = critical; }
+    public Integer getHigh() { return high; }
+    public void setHigh(Integer high) { this.high = high; }
+    public Integer getMedium() { return medium; }
+    public void setMedium(Integer medium) { this.medium = medium; }
+    public Integer getLow() { return low; }
+    public void setLow(Integer low) { this.low = low; }
+    public Integer getInfo() { return info; }
+    public void setInfo(Integer info) { this.info = info; }
+}
@@ -10,22 +10,33 @@ public class TrivyFinding {
     private Long id;
 
     private Integer severity; // Normalized 1-5
-    private String cve;
-    private String packageName;
+
+    // Interned strings; the API still exposes them as plain cve / packageName
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cve_id")
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private CatalogCve cveEntry;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "package_id")
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private CatalogPackage packageEntry;
 
     @ManyToOne
     @JoinColumn(name = "pipeline_id")
-    @com.fasterxml.jackson.annotation.JsonBackReference
+    @com.fasterxml.jackson.annotation.JsonIgnore
     private Pipeline pipeline;
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public Integer getSeverity() { return severity; }
     public void setSeverity(Integer severity) { this.severity = severity; }
-    public String getCve() { return cve; }
-    public void setCve(String cve) { this.cve = cve; }
-    public String getPackageName() { return packageName; }
-    public void setPackageName(String packageName) { this.packageName = packageName; }
+    public String getCve() { return cveEntry != null ? cveEntry.getCve() : null; }
+    public String getPackageName() { return packageEntry != null ? packageEntry.getName() : null; }
+    public CatalogCve getCveEntry() { return cveEntry; }
+    public void setCveEntry(CatalogCve cveEntry) { this.cveEntry = cveEntry; }
+    public CatalogPackage getPackageEntry() { return packageEntry; }
+    public void setPackageEntry(CatalogPackage packageEntry) { this.packageEntry = packageEntry; }
     public Pipeline getPipeline() { return pipeline; }
     public void setPipeline(Pipeline pipeline) { this.pipeline = pipeline; }
 }
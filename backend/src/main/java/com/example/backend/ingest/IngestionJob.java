@@ -0,0 +1,57 @@
+package com.example.backend.ingest;
+
+import java.time.Instant;
+
+/**
+ * Progress of one queued report upload, as served by {@code GET /api/reports/jobs/{id}}.
+ * Updated by the ingestion worker; readers only ever see whole state transitions.
+ */
+public class IngestionJob {
+
+    public enum Status { QUEUED, PROCESSING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String component;
+    private final Instant submittedAt;
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Long pipelineId;
+    private volatile String error;
+
+    public IngestionJob(String id, String component) {
+        this.id = id;
+        this.component = component;
+        this.submittedAt = Instant.now();
+    }
+
+    public void started() {
+        startedAt = Instant.now();
+        status = Status.PROCESSING;
+    }
+
+    public void completed(Long pipelineId) {
+        this.pipelineId = pipelineId;
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    public void failed(String error) {
+        this.error = error;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public String getId() { return id; }
+    public String getComponent() { return component; }
+    public Status getStatus() { return status; }
+    public Instant getSubmittedAt() { return submittedAt; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public Long getPipelineId() { return pipelineId; }
+    public String getError() { return error; }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.ingest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Small helpers shared by the streaming report parsers.
+ */
+final class JsonTokens {
+
+    private JsonTokens() {
+    }
+
+    /**
+     * Advance to the next array element; false at the end of the array (or input).
+     */
+    static boolean nextElement(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        return token != null && token != JsonToken.END_ARRAY;
+    }
+
+    /**
+     * Text of the current value, or "" for objects/arrays (which are skipped), like {@code JsonNode.asText()}.
+     */
+    static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return "";
+        }
+        return parser.getText();
+    }
+}
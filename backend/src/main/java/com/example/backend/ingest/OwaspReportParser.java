@@ -0,0 +1,118 @@
+package com.example.backend.ingest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for OWASP dependency-check JSON reports. Only the vulnerabilities of the dependency
+ * being read are buffered (its {@code fileName} may follow them), so memory stays flat for any report size.
+ */
+@Component
+public class OwaspReportParser {
+
+    private final JsonFactory jsonFactory;
+
+    public OwaspReportParser() {
+        this(new JsonFactory());
+    }
+
+    public OwaspReportParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * @return number of vulnerabilities emitted
+     */
+    public int parse(InputStream in, Consumer<OwaspVulnerability> sink) throws IOException {
+        int count = 0;
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return 0;
+            }
+            List<Score> pending = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && "dependencies".equals(field)) {
+                    while (JsonTokens.nextElement(parser)) {
+                        if (parser.currentToken() == JsonToken.START_OBJECT) {
+                            count += readDependency(parser, pending, sink);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return count;
+    }
+
+    private int readDependency(JsonParser parser, List<Score> pending, Consumer<OwaspVulnerability> sink) throws IOException {
+        pending.clear();
+        String fileName = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("fileName".equals(field)) {
+                fileName = JsonTokens.text(parser);
+            } else if ("vulnerabilities".equals(field) && token == JsonToken.START_ARRAY) {
+                while (JsonTokens.nextElement(parser)) {
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        pending.add(readVulnerability(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        for (Score score : pending) {
+            sink.accept(new OwaspVulnerability(fileName, score.name(), score.cvss(), score.severity()));
+        }
+        return pending.size();
+    }
+
+    private Score readVulnerability(JsonParser parser) throws IOException {
+        String name = null;
+        double baseScore = 0.0;
+        String baseSeverity = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("name".equals(field)) {
+                name = JsonTokens.text(parser);
+            } else if ("cvssv3".equals(field) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String cvssField = parser.currentName();
+                    parser.nextToken();
+                    switch (cvssField) {
+                        case "baseScore" -> baseScore = parser.currentToken().isScalarValue() ? parser.getValueAsDouble(0.0) : skip(parser);
+                        case "baseSeverity" -> baseSeverity = JsonTokens.text(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new Score(name, baseScore, baseSeverity);
+    }
+
+    private record Score(String name, double cvss, String severity) {
+    }
+
+    private static double skip(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return 0.0;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.backend.ingest;
+
+/**
+ * One vulnerability of an OWASP dependency-check dependency, as reported (severity not yet normalized).
+ */
+public record OwaspVulnerability(String dependency, String cve, double cvss, String severity) {
+}
@@ -0,0 +1,244 @@
+package com.example.backend.ingest;
+
+import com.example.backend.entity.SonarReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the Trivy and OWASP parsers of one ingest concurrently on a bounded pool, while the caller parses
+ * the Sonar report and then writes the findings. Parsed findings reach the caller in chunks through a small
+ * bounded queue, so the parsers overlap with each other and with the database writes without buffering
+ * whole reports. Parse time per report kind is recorded as {@code report.ingest.parse}.
+ */
+@Component
+public class ParallelReportParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelReportParser.class);
+
+    public static final int CHUNK_SIZE = 500;
+    private static final int QUEUED_CHUNKS = 8;
+
+    private final SonarReportParser sonarParser;
+    private final TrivyReportParser trivyParser;
+    private final OwaspReportParser owaspParser;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+
+    public ParallelReportParser(SonarReportParser sonarParser, TrivyReportParser trivyParser,
+                                OwaspReportParser owaspParser, MeterRegistry meterRegistry,
+                                @Value("${ingest.parse-threads:4}") int threads) {
+        this.sonarParser = sonarParser;
+        this.trivyParser = trivyParser;
+        this.owaspParser = owaspParser;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "report-parse-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Parse a Sonar report on the calling thread.
+     */
+    public SonarReport parseSonar(InputStreamSource source) throws IOException {
+        Timer.Sample sample = Timer.start();
+        try (InputStream in = source.getInputStream()) {
+            return sonarParser.parse(in);
+        } finally {
+            long nanos = sample.stop(parseTimer("sonar"));
+            logger.info("Parsed Sonar report in {} ms", TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    /**
+     * Start parsing the given reports in the background; either may be null. The returned session must be
+     * drained on the calling thread and closed, which stops the parsers if the caller gave up early.
+     */
+    public Session startFindings(InputStreamSource trivy, InputStreamSource owasp) {
+        Session session = new Session();
+        if (trivy != null) {
+            session.start(Kind.TRIVY, () -> produce(session, Kind.TRIVY, trivy,
+                    (in, sink) -> trivyParser.parse(in, sink::accept)));
+        }
+        if (owasp != null) {
+            session.start(Kind.OWASP, () -> produce(session, Kind.OWASP, owasp,
+                    (in, sink) -> owaspParser.parse(in, sink::accept)));
+        }
+        return session;
+    }
+
+    private enum Kind { TRIVY, OWASP }
+
+    @FunctionalInterface
+    private interface FindingParser<T> {
+        int parse(InputStream in, Consumer<T> sink) throws IOException;
+    }
+
+    /**
+     * A chunk of findings, or the end of one parser's output when {@code items} is null.
+     */
+    private record Chunk(Kind kind, List<?> items, int count, Throwable error) {
+    }
+
+    private <T> void produce(Session session, Kind kind, InputStreamSource source, FindingParser<T> parser) {
+        Timer.Sample sample = Timer.start();
+        Chunker<T> chunker = new Chunker<>(session, kind);
+        try (InputStream in = source.getInputStream()) {
+            int count = parser.parse(in, chunker);
+            chunker.flush();
+            long nanos = sample.stop(parseTimer(kind.name().toLowerCase()));
+            logger.info("Parsed {} {} findings in {} ms", count, kind, TimeUnit.NANOSECONDS.toMillis(nanos));
+            session.publish(new Chunk(kind, null, count, null));
+        } catch (CancellationException e) {
+            // The caller closed the session; nobody is reading anymore
+        } catch (Throwable e) {
+            try {
+                session.publish(new Chunk(kind, null, 0, e));
+            } catch (CancellationException ignored) {
+                // Closed meanwhile
+            }
+        }
+    }
+
+    private Timer parseTimer(String kind) {
+        return Timer.builder("report.ingest.parse")
+                .description("Time to parse one uploaded scanner report")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    private static final class Chunker<T> implements Consumer<T> {
+        private final Session session;
+        private final Kind kind;
+        private List<T> pending = new ArrayList<>(CHUNK_SIZE);
+
+        Chunker(Session session, Kind kind) {
+            this.session = session;
+            this.kind = kind;
+        }
+
+        @Override
+        public void accept(T finding) {
+            pending.add(finding);
+            if (pending.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            session.publish(new Chunk(kind, pending, 0, null));
+            pending = new ArrayList<>(CHUNK_SIZE);
+        }
+    }
+
+    /**
+     * Findings of one ingest in flight.
+     */
+    public final class Session implements AutoCloseable {
+
+        private final BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<>(QUEUED_CHUNKS);
+        private final List<Future<?>> tasks = new ArrayList<>(2);
+        private volatile boolean closed;
+        private int running;
+        private int trivyCount;
+        private int owaspCount;
+
+        private void start(Kind kind, Runnable task) {
+            running++;
+            tasks.add(executor.submit(task));
+        }
+
+        private void publish(Chunk chunk) {
+            try {
+                while (!chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                    if (closed) {
+                        throw new CancellationException();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            }
+        }
+
+        /**
+         * Hand every chunk to its sink as it arrives, until both parsers are done.
+         *
+         * @throws IOException if a parser failed; the other one is stopped when the session is closed
+         */
+        @SuppressWarnings("unchecked")
+        public void drain(Consumer<List<TrivyVulnerability>> trivySink,
+                          Consumer<List<OwaspVulnerability>> owaspSink) throws IOException {
+            while (running > 0) {
+                Chunk chunk;
+                try {
+                    chunk = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for parsed findings");
+                }
+                if (chunk.error() != null) {
+                    if (chunk.error() instanceof IOException io) {
+                        throw io;
+                    }
+                    throw new IOException("Failed to parse " + chunk.kind() + " report", chunk.error());
+                }
+                if (chunk.items() == null) {
+                    running--;
+                    if (chunk.kind() == Kind.TRIVY) {
+                        trivyCount = chunk.count();
+                    } else {
+                        owaspCount = chunk.count();
+                    }
+                } else if (chunk.kind() == Kind.TRIVY) {
+                    trivySink.accept((List<TrivyVulnerability>) chunk.items());
+                } else {
+                    owaspSink.accept((List<OwaspVulnerability>) chunk.items());
+                }
+            }
+        }
+
+        public int getTrivyCount() { return trivyCount; }
+        public int getOwaspCount() { return owaspCount; }
+
+        @Override
+        public void close() {
+            closed = true;
+            if (running > 0) {
+                tasks.forEach(task -> task.cancel(true));
+                chunks.clear();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.backend.ingest;
+
+/**
+ * Published by {@code ReportService#saveReport} for every stored pipeline. Listeners that need the pipeline
+ * to be readable should use {@code @TransactionalEventListener}, which delivers it once the ingest committed.
+ */
+public record ReportIngestedEvent(Long pipelineId, String component) {
+}
@@ -0,0 +1,20 @@
+package com.example.backend.ingest;
+
+/**
+ * Scanner severities normalized to 5 (critical) ... 1 (info / unknown).
+ */
+public final class Severity {
+
+    private Severity() {
+    }
+
+    public static int normalize(String severity) {
+        if (severity == null) return 1;
+        String sev = severity.toUpperCase();
+        if (sev.equals("CRITICAL")) return 5;
+        if (sev.equals("HIGH")) return 4;
+        if (sev.equals("MEDIUM")) return 3;
+        if (sev.equals("LOW")) return 2;
+        return 1;
+    }
+}
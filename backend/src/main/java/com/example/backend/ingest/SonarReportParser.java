@@ -0,0 +1,165 @@
+package com.example.backend.ingest;
+
+import com.example.backend.entity.SonarReport;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming reader for SonarQube exports (issues search, measures, or any JSON carrying metric-like fields).
+ * Metrics are resolved in priority order: issue counts, then the {@code measures} array (root, else
+ * {@code component.measures}), then the first metric-like scalar anywhere in the document.
+ * Each source fills its own {@link SonarReport} in one pass; they are merged at the end.
+ */
+@Component
+public class SonarReportParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(SonarReportParser.class);
+
+    private enum Scope { ROOT, COMPONENT, ISSUES, ISSUE, ROOT_MEASURES, COMPONENT_MEASURES, ROOT_MEASURE, COMPONENT_MEASURE, OTHER }
+
+    private final JsonFactory jsonFactory;
+
+    public SonarReportParser() {
+        this(new JsonFactory());
+    }
+
+    public SonarReportParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public SonarReport parse(InputStream in) throws IOException {
+        Sources sources = new Sources();
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            JsonToken token = parser.nextToken();
+            if (token != null) {
+                readValue(parser, Scope.ROOT, sources);
+            }
+        }
+        return sources.merge();
+    }
+
+    private void readValue(JsonParser parser, Scope scope, Sources sources) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            readObject(parser, scope, sources);
+        } else if (token == JsonToken.START_ARRAY) {
+            Scope elementScope = switch (scope) {
+                case ISSUES -> Scope.ISSUE;
+                case ROOT_MEASURES -> Scope.ROOT_MEASURE;
+                case COMPONENT_MEASURES -> Scope.COMPONENT_MEASURE;
+                default -> Scope.OTHER;
+            };
+            while (JsonTokens.nextElement(parser)) {
+                if (scope == Scope.ISSUES) {
+                    sources.issueCount++;
+                }
+                readValue(parser, elementScope, sources);
+            }
+        }
+    }
+
+    private void readObject(JsonParser parser, Scope scope, Sources sources) throws IOException {
+        String metric = null;
+        String value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (token.isStructStart()) {
+                Scope child = Scope.OTHER;
+                if (scope == Scope.ROOT && "issues".equals(field) && token == JsonToken.START_ARRAY) {
+                    child = Scope.ISSUES;
+                } else if (scope == Scope.ROOT && "measures".equals(field) && token == JsonToken.START_ARRAY) {
+                    sources.rootMeasuresPresent = true;
+                    child = Scope.ROOT_MEASURES;
+                } else if (scope == Scope.ROOT && "component".equals(field)) {
+                    child = Scope.COMPONENT;
+                } else if (scope == Scope.COMPONENT && "measures".equals(field) && token == JsonToken.START_ARRAY) {
+                    child = Scope.COMPONENT_MEASURES;
+                }
+                readValue(parser, child, sources);
+                continue;
+            }
+
+            String text = parser.getText();
+            applyMetric(sources.anywhere, field.toLowerCase(), text);
+            if (scope == Scope.ISSUE && "type".equals(field)) {
+                sources.countIssue(text);
+            } else if (scope == Scope.ROOT_MEASURE || scope == Scope.COMPONENT_MEASURE) {
+                if ("metric".equals(field)) metric = text;
+                else if ("value".equals(field)) value = text;
+            }
+        }
+        if (metric != null && value != null) {
+            SonarReport target = scope == Scope.ROOT_MEASURE ? sources.rootMeasures : sources.componentMeasures;
+            applyMetric(target, metric.toLowerCase(), value);
+        }
+    }
+
+    private static void applyMetric(SonarReport report, String key, String val) {
+        if (val == null || val.isEmpty() || val.equals("null")) return;
+
+        try {
+            if (key.contains("bug")) {
+                if (report.getBugs() == null) report.setBugs((int) Double.parseDouble(val));
+            } else if (key.contains("vulnerabilit")) {
+                if (report.getVulnerabilities() == null) report.setVulnerabilities((int) Double.parseDouble(val));
+            } else if (key.contains("code_smell") || key.contains("smell")) {
+                if (report.getCodeSmells() == null) report.setCodeSmells((int) Double.parseDouble(val));
+            } else if (key.contains("duplication") || key.contains("duplicated_lines")) {
+                if (report.getDuplication() == null) report.setDuplication(Double.parseDouble(val));
+            } else if (key.contains("coverage")) {
+                if (report.getCoverage() == null) report.setCoverage(Double.parseDouble(val));
+            }
+        } catch (Exception e) {
+            logger.debug("Could not parse value '{}' for key '{}'", val, key);
+        }
+    }
+
+    /**
+     * Per-source partial results collected during the single pass.
+     */
+    private static final class Sources {
+        private int issueCount;
+        private int bugs;
+        private int vulnerabilities;
+        private int codeSmells;
+        private boolean rootMeasuresPresent;
+        private final SonarReport rootMeasures = new SonarReport();
+        private final SonarReport componentMeasures = new SonarReport();
+        private final SonarReport anywhere = new SonarReport();
+
+        void countIssue(String type) {
+            if ("BUG".equalsIgnoreCase(type)) bugs++;
+            else if ("VULNERABILITY".equalsIgnoreCase(type)) vulnerabilities++;
+            else if ("CODE_SMELL".equalsIgnoreCase(type)) codeSmells++;
+        }
+
+        SonarReport merge() {
+            SonarReport report = new SonarReport();
+            if (issueCount > 0) {
+                logger.info("Detected SonarQube Issues Search report with {} issues", issueCount);
+                report.setBugs(bugs);
+                report.setVulnerabilities(vulnerabilities);
+                report.setCodeSmells(codeSmells);
+            }
+            fillMissing(report, rootMeasuresPresent ? rootMeasures : componentMeasures);
+            fillMissing(report, anywhere);
+            return report;
+        }
+
+        private static void fillMissing(SonarReport report, SonarReport source) {
+            if (report.getBugs() == null) report.setBugs(source.getBugs());
+            if (report.getVulnerabilities() == null) report.setVulnerabilities(source.getVulnerabilities());
+            if (report.getCodeSmells() == null) report.setCodeSmells(source.getCodeSmells());
+            if (report.getDuplication() == null) report.setDuplication(source.getDuplication());
+            if (report.getCoverage() == null) report.setCoverage(source.getCoverage());
+        }
+    }
+}
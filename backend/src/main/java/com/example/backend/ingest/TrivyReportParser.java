@@ -0,0 +1,92 @@
+package com.example.backend.ingest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for Trivy JSON reports. Vulnerabilities are handed to the sink one at a time
+ * while the input is read, so memory use does not depend on the report size.
+ */
+@Component
+public class TrivyReportParser {
+
+    private final JsonFactory jsonFactory;
+
+    public TrivyReportParser() {
+        this(new JsonFactory());
+    }
+
+    public TrivyReportParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * @return number of vulnerabilities emitted
+     */
+    public int parse(InputStream in, Consumer<TrivyVulnerability> sink) throws IOException {
+        int count = 0;
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return 0;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && "Results".equals(field)) {
+                    while (JsonTokens.nextElement(parser)) {
+                        if (parser.currentToken() == JsonToken.START_OBJECT) {
+                            count += readResult(parser, sink);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return count;
+    }
+
+    private int readResult(JsonParser parser, Consumer<TrivyVulnerability> sink) throws IOException {
+        int count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "Vulnerabilities".equals(field)) {
+                while (JsonTokens.nextElement(parser)) {
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        sink.accept(readVulnerability(parser));
+                        count++;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+
+    private TrivyVulnerability readVulnerability(JsonParser parser) throws IOException {
+        String cve = "";
+        String packageName = "";
+        String severity = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "VulnerabilityID" -> cve = JsonTokens.text(parser);
+                case "PkgName" -> packageName = JsonTokens.text(parser);
+                case "Severity" -> severity = JsonTokens.text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new TrivyVulnerability(cve, packageName, severity);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.backend.ingest;
+
+/**
+ * One entry of a Trivy {@code Results[].Vulnerabilities[]} array, as reported (severity not yet normalized).
+ */
+public record TrivyVulnerability(String cve, String packageName, String severity) {
+}
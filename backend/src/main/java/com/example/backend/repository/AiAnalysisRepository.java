@@ -1,10 +1,29 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.AiAnalysis;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface AiAnalysisRepository extends JpaRepository<AiAnalysis, Long> {
+    @EntityGraph(attributePaths = "recommendations")
     Optional<AiAnalysis> findTopByPipelineIdAndPageOrderByIdDesc(Long pipelineId, String page);
     void deleteByPipelineIdAndPage(Long pipelineId, String page);
+
+    @EntityGraph(attributePaths = "recommendations")
+    Optional<AiAnalysis> findTopByContentHashAndCreatedAtAfterOrderByIdDesc(String contentHash, LocalDateTime after);
+
+    @Modifying
+    @Query(value = "DELETE r FROM ai_analysis_recommendations r JOIN ai_analysis a ON a.id = r.analysis_id "
+            + "WHERE a.content_hash IS NOT NULL AND a.created_at < :before", nativeQuery = true)
+    int deleteContentRecommendationsBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query(value = "DELETE FROM ai_analysis WHERE content_hash IS NOT NULL AND created_at < :before", nativeQuery = true)
+    int deleteContentAnalysesBefore(@Param("before") LocalDateTime before);
 }
@@ -0,0 +1,73 @@
+package com.example.backend.repository;
+
+import com.example.backend.catalog.VulnerabilityCatalog;
+import com.example.backend.ingest.OwaspVulnerability;
+import com.example.backend.ingest.Severity;
+import com.example.backend.ingest.TrivyVulnerability;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk insert path for scanner findings. The finding entities use IDENTITY ids, which makes Hibernate insert
+ * them one row per round trip; here each chunk goes out as one JDBC batch, which the MySQL driver rewrites
+ * into multi-row INSERTs ({@code rewriteBatchedStatements}). CVE and package strings are replaced by their
+ * {@link VulnerabilityCatalog} ids, resolved once per chunk. Runs on the caller's transaction.
+ * Findings written this way are not attached to the persistence context.
+ */
+@Repository
+public class FindingBulkWriter {
+
+    private static final String INSERT_TRIVY =
+            "INSERT INTO trivy_finding (cve_id, package_id, severity, pipeline_id) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_OWASP =
+            "INSERT INTO owasp_finding (dependency_id, cve_id, cvss, severity, pipeline_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VulnerabilityCatalog catalog;
+
+    public FindingBulkWriter(JdbcTemplate jdbcTemplate, VulnerabilityCatalog catalog) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalog = catalog;
+    }
+
+    public void insertTrivyFindings(long pipelineId, List<TrivyVulnerability> findings) {
+        Map<String, Long> cveIds = catalog.resolve(VulnerabilityCatalog.Kind.CVE,
+                findings.stream().map(TrivyVulnerability::cve).toList());
+        Map<String, Long> packageIds = catalog.resolve(VulnerabilityCatalog.Kind.PACKAGE,
+                findings.stream().map(TrivyVulnerability::packageName).toList());
+        jdbcTemplate.batchUpdate(INSERT_TRIVY, findings, findings.size(), (ps, finding) -> {
+            setLong(ps, 1, finding.cve() != null ? cveIds.get(finding.cve()) : null);
+            setLong(ps, 2, finding.packageName() != null ? packageIds.get(finding.packageName()) : null);
+            ps.setInt(3, Severity.normalize(finding.severity()));
+            ps.setLong(4, pipelineId);
+        });
+    }
+
+    public void insertOwaspFindings(long pipelineId, List<OwaspVulnerability> findings) {
+        Map<String, Long> dependencyIds = catalog.resolve(VulnerabilityCatalog.Kind.PACKAGE,
+                findings.stream().map(OwaspVulnerability::dependency).toList());
+        Map<String, Long> cveIds = catalog.resolve(VulnerabilityCatalog.Kind.CVE,
+                findings.stream().map(OwaspVulnerability::cve).toList());
+        jdbcTemplate.batchUpdate(INSERT_OWASP, findings, findings.size(), (ps, finding) -> {
+            setLong(ps, 1, finding.dependency() != null ? dependencyIds.get(finding.dependency()) : null);
+            setLong(ps, 2, finding.cve() != null ? cveIds.get(finding.cve()) : null);
+            ps.setDouble(3, finding.cvss());
+            ps.setInt(4, Severity.normalize(finding.severity()));
+            ps.setLong(5, pipelineId);
+        });
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.backend.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills the severity counters and max CVSS of pipelines stored before they were aggregated at ingest.
+ * Opt-in with {@code pipeline.counts-backfill.enabled}, meant to be switched on for one start after upgrading
+ * from a version without the counters. It runs once the application is ready, in batches of
+ * {@code pipeline.counts-backfill.batch-size} pipelines. Each batch reads one grouped count per finding table
+ * and updates only its own rows, so no statement holds locks for long. Until then, history shows 0 for such rows.
+ * A pipeline that reused the findings of an identical upload is counted from the rows it reads them from.
+ */
+@Component
+public class FindingCountsBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(FindingCountsBackfill.class);
+
+    private static final String NEXT_BATCH =
+            "SELECT id, COALESCE(trivy_source_pipeline_id, id) AS trivy_owner,"
+                    + " COALESCE(owasp_source_pipeline_id, id) AS owasp_owner"
+                    + " FROM pipeline WHERE id > :after AND (trivy_critical IS NULL OR owasp_critical IS NULL)"
+                    + " ORDER BY id LIMIT :limit";
+    private static final String COUNT_BY_SEVERITY =
+            "SELECT f.pipeline_id,"
+                    + " SUM(CASE WHEN f.severity = 5 THEN 1 ELSE 0 END) AS critical,"
+                    + " SUM(CASE WHEN f.severity = 4 THEN 1 ELSE 0 END) AS high,"
+                    + " SUM(CASE WHEN f.severity = 3 THEN 1 ELSE 0 END) AS medium,"
+                    + " SUM(CASE WHEN f.severity = 2 THEN 1 ELSE 0 END) AS low,"
+                    + " SUM(CASE WHEN f.severity IS NULL OR f.severity NOT IN (2, 3, 4, 5) THEN 1 ELSE 0 END) AS info,"
+                    + " %s AS max_cvss"
+                    + " FROM %s f WHERE f.pipeline_id IN (:ids) GROUP BY f.pipeline_id";
+    private static final String UPDATE_COUNTERS =
+            "UPDATE pipeline SET trivy_critical = ?, trivy_high = ?, trivy_medium = ?, trivy_low = ?, trivy_info = ?,"
+                    + " owasp_critical = ?, owasp_high = ?, owasp_medium = ?, owasp_low = ?, owasp_info = ?,"
+                    + " max_cvss = ? WHERE id = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public FindingCountsBackfill(NamedParameterJdbcTemplate jdbcTemplate,
+                                 @Value("${pipeline.counts-backfill.enabled:false}") boolean enabled,
+                                 @Value("${pipeline.counts-backfill.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    private record BatchRow(long id, long trivyOwner, long owaspOwner) {
+    }
+
+    private record Counts(long critical, long high, long medium, long low, long info, Double maxCvss) {
+        static final Counts NONE = new Counts(0, 0, 0, 0, 0, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+        long after = 0;
+        int updated = 0;
+        while (true) {
+            List<BatchRow> batch = jdbcTemplate.query(NEXT_BATCH,
+                    new MapSqlParameterSource("after", after).addValue("limit", batchSize),
+                    (rs, rowNum) -> new BatchRow(rs.getLong("id"), rs.getLong("trivy_owner"), rs.getLong("owasp_owner")));
+            if (batch.isEmpty()) {
+                break;
+            }
+            updated += backfillBatch(batch);
+            after = batch.get(batch.size() - 1).id();
+        }
+        logger.info("Backfilled finding severity counters for {} pipelines", updated);
+    }
+
+    private int backfillBatch(List<BatchRow> batch) {
+        Map<Long, Counts> trivy = countBySeverity("trivy_finding", "NULL",
+                batch.stream().map(BatchRow::trivyOwner).distinct().toList());
+        Map<Long, Counts> owasp = countBySeverity("owasp_finding", "MAX(f.cvss)",
+                batch.stream().map(BatchRow::owaspOwner).distinct().toList());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (BatchRow row : batch) {
+            Counts t = trivy.getOrDefault(row.trivyOwner(), Counts.NONE);
+            Counts o = owasp.getOrDefault(row.owaspOwner(), Counts.NONE);
+            rows.add(new Object[]{t.critical(), t.high(), t.medium(), t.low(), t.info(),
+                    o.critical(), o.high(), o.medium(), o.low(), o.info(), o.maxCvss(), row.id()});
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_COUNTERS, rows);
+        return rows.size();
+    }
+
+    /**
+     * @param ownerIds pipelines the finding rows are stored under
+     */
+    private Map<Long, Counts> countBySeverity(String table, String maxCvss, List<Long> ownerIds) {
+        Map<Long, Counts> counts = new HashMap<>();
+        jdbcTemplate.query(String.format(COUNT_BY_SEVERITY, maxCvss, table), new MapSqlParameterSource("ids", ownerIds),
+                rs -> {
+                    counts.put(rs.getLong("pipeline_id"), new Counts(rs.getLong("critical"), rs.getLong("high"),
+                            rs.getLong("medium"), rs.getLong("low"), rs.getLong("info"),
+                            rs.getObject("max_cvss", Double.class)));
+                });
+        return counts;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.FindingDiff;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FindingDiffRepository extends JpaRepository<FindingDiff, Long> {
+}
@@ -0,0 +1,97 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.FindingDiffDTO;
+import com.example.backend.entity.FindingDiffEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC side of the ingest-time findings diff: reads the distinct (CVE, package) keys of a pipeline in
+ * key order, ready for a sorted merge, and bulk-writes and reads the resulting diff entries.
+ */
+@Repository
+public class FindingDiffStore {
+
+    /**
+     * Distinct finding of one pipeline; catalog ids are 0 where the finding has none.
+     */
+    public record Key(long cveId, long packageId, int severity) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byCve = Long.compare(cveId, other.cveId);
+            return byCve != 0 ? byCve : Long.compare(packageId, other.packageId);
+        }
+    }
+
+    // ORDER BY must match Key.compareTo
+    private static final String TRIVY_KEYS =
+            "SELECT COALESCE(cve_id, 0) AS cve_key, COALESCE(package_id, 0) AS package_key, MAX(severity) AS severity"
+                    + " FROM trivy_finding WHERE pipeline_id = ? GROUP BY cve_key, package_key ORDER BY cve_key, package_key";
+    private static final String OWASP_KEYS =
+            "SELECT COALESCE(cve_id, 0) AS cve_key, COALESCE(dependency_id, 0) AS package_key, MAX(severity) AS severity"
+                    + " FROM owasp_finding WHERE pipeline_id = ? GROUP BY cve_key, package_key ORDER BY cve_key, package_key";
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO finding_diff_entry (pipeline_id, scanner, change_type, cve_id, package_id, severity)"
+                    + " VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_ENTRIES =
+            "SELECT e.scanner, e.change_type, c.cve, p.name, e.severity FROM finding_diff_entry e"
+                    + " LEFT JOIN catalog_cve c ON c.id = e.cve_id"
+                    + " LEFT JOIN catalog_package p ON p.id = e.package_id"
+                    + " WHERE e.pipeline_id = ? ORDER BY e.severity DESC, c.cve";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FindingDiffStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Key> loadTrivyKeys(long pipelineId) {
+        return jdbcTemplate.query(TRIVY_KEYS, (rs, rowNum) ->
+                new Key(rs.getLong("cve_key"), rs.getLong("package_key"), rs.getInt("severity")), pipelineId);
+    }
+
+    public List<Key> loadOwaspKeys(long pipelineId) {
+        return jdbcTemplate.query(OWASP_KEYS, (rs, rowNum) ->
+                new Key(rs.getLong("cve_key"), rs.getLong("package_key"), rs.getInt("severity")), pipelineId);
+    }
+
+    public void insertEntries(long pipelineId, String scanner, FindingDiffEntry.Change change, List<Key> keys) {
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, keys, 1000, (ps, key) -> {
+            ps.setLong(1, pipelineId);
+            ps.setString(2, scanner);
+            ps.setString(3, change.name());
+            setId(ps, 4, key.cveId());
+            setId(ps, 5, key.packageId());
+            ps.setInt(6, key.severity());
+        });
+    }
+
+    /**
+     * Calls {@code sink} for every stored entry of a pipeline, most severe first.
+     */
+    public void forEachEntry(long pipelineId, EntrySink sink) {
+        jdbcTemplate.query(SELECT_ENTRIES, rs -> {
+            sink.accept(rs.getString("scanner"), FindingDiffEntry.Change.valueOf(rs.getString("change_type")),
+                    new FindingDiffDTO.Entry(rs.getString("cve"), rs.getString("name"), rs.getObject("severity", Integer.class)));
+        }, pipelineId);
+    }
+
+    @FunctionalInterface
+    public interface EntrySink {
+        void accept(String scanner, FindingDiffEntry.Change change, FindingDiffDTO.Entry entry);
+    }
+
+    private static void setId(PreparedStatement ps, int index, long id) throws SQLException {
+        if (id != 0) {
+            ps.setLong(index, id);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
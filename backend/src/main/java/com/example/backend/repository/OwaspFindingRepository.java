@@ -2,8 +2,15 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.OwaspFinding;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface OwaspFindingRepository extends JpaRepository<OwaspFinding, Long> {
+
+    @Query("SELECT f FROM OwaspFinding f LEFT JOIN FETCH f.dependencyEntry LEFT JOIN FETCH f.cveEntry WHERE f.pipeline.id = :pipelineId")
+    List<OwaspFinding> findWithCatalogByPipelineId(@Param("pipelineId") Long pipelineId);
 }
@@ -0,0 +1,133 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.HistoryPage;
+import com.example.backend.dto.PipelineSummaryDTO;
+import com.example.backend.dto.SeverityCounts;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Read side of the report history. Pages are keyset-paginated on (timestamp, id) so a page costs the same
+ * at any depth, and finding counts come from the counters stored on the pipeline row; no finding rows are read.
+ * Rows without a timestamp sort after all others (MySQL orders NULL last in a descending sort), by id.
+ */
+@Repository
+public class PipelineHistoryQuery {
+
+    private static final String SELECT_PIPELINES =
+            "SELECT id, timestamp, status, duration, commit_hash, component, app_version,"
+                    + " trivy_critical, trivy_high, trivy_medium, trivy_low, trivy_info,"
+                    + " owasp_critical, owasp_high, owasp_medium, owasp_low, owasp_info"
+                    + " FROM pipeline WHERE 1 = 1";
+    private static final String COMPONENT_FILTER =
+            " AND (component = :component OR (:component = 'backend' AND component IS NULL))";
+    private static final String CURSOR_FILTER =
+            " AND (timestamp < :cursorTimestamp OR (timestamp = :cursorTimestamp AND id < :cursorId)"
+                    + " OR timestamp IS NULL)";
+    // Past the last dated row only undated ones remain
+    private static final String NULL_TIMESTAMP_CURSOR_FILTER = " AND timestamp IS NULL AND id < :cursorId";
+    private static final String ORDER_AND_LIMIT = " ORDER BY timestamp DESC, id DESC LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PipelineHistoryQuery(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param cursor {@code nextCursor} of the previous page, or null for the newest page
+     * @throws IllegalArgumentException if the cursor was not produced by this class
+     */
+    public HistoryPage findPage(String component, String cursor, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_PIPELINES);
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit + 1);
+        if (component != null && !component.isEmpty()) {
+            sql.append(COMPONENT_FILTER);
+            params.addValue("component", component);
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            Cursor position = Cursor.decode(cursor);
+            if (position.timestamp() != null) {
+                sql.append(CURSOR_FILTER);
+                params.addValue("cursorTimestamp", Timestamp.valueOf(position.timestamp()));
+            } else {
+                sql.append(NULL_TIMESTAMP_CURSOR_FILTER);
+            }
+            params.addValue("cursorId", position.id());
+        }
+        sql.append(ORDER_AND_LIMIT);
+
+        List<PipelineSummaryDTO> items = jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            SeverityCounts trivy = counts(rs, "trivy_");
+            SeverityCounts owasp = counts(rs, "owasp_");
+            return new PipelineSummaryDTO(
+                    rs.getLong("id"),
+                    rs.getObject("timestamp", LocalDateTime.class),
+                    rs.getString("status"),
+                    rs.getObject("duration", Long.class),
+                    rs.getString("commit_hash"),
+                    rs.getString("component"),
+                    rs.getString("app_version"),
+                    trivy,
+                    owasp,
+                    trivy.total() + owasp.total());
+        });
+
+        // One extra row was fetched only to tell whether another page exists
+        boolean hasMore = items.size() > limit;
+        if (hasMore) {
+            items = items.subList(0, limit);
+        }
+        if (items.isEmpty()) {
+            return new HistoryPage(List.of(), null);
+        }
+
+        PipelineSummaryDTO last = items.get(items.size() - 1);
+        String nextCursor = hasMore ? new Cursor(last.timestamp(), last.id()).encode() : null;
+        return new HistoryPage(items, nextCursor);
+    }
+
+    // getInt reads NULL as 0, which only happens for rows not yet reached by FindingCountsBackfill
+    private static SeverityCounts counts(ResultSet rs, String prefix) throws SQLException {
+        return SeverityCounts.of(
+                rs.getInt(prefix + "critical"),
+                rs.getInt(prefix + "high"),
+                rs.getInt(prefix + "medium"),
+                rs.getInt(prefix + "low"),
+                rs.getInt(prefix + "info"));
+    }
+
+    /**
+     * Position of the last row of a page, handed to clients as an opaque URL-safe token.
+     * The timestamp part is empty for a row without one.
+     */
+    private record Cursor(LocalDateTime timestamp, long id) {
+
+        String encode() {
+            String raw = (timestamp != null ? timestamp.toString() : "") + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                String timestamp = raw.substring(0, separator);
+                return new Cursor(timestamp.isEmpty() ? null : LocalDateTime.parse(timestamp),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid history cursor", e);
+            }
+        }
+    }
+}
@@ -4,13 +4,31 @@ import com.example.backend.entity.Pipeline;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface PipelineRepository extends JpaRepository<Pipeline, Long> {
-    
-    @org.springframework.data.jpa.repository.Query("SELECT p FROM Pipeline p WHERE p.component = :component OR (:component = 'backend' AND p.component IS NULL) ORDER BY p.timestamp DESC")
-    java.util.List<Pipeline> findByComponentWithLegacy(@org.springframework.data.repository.query.Param("component") String component);
 
-    default java.util.Optional<Pipeline> findTopByComponentWithLegacy(String component) {
-        return findByComponentWithLegacy(component).stream().findFirst();
+    // LIMIT 1 lookups, served by the (component, timestamp) and (timestamp) indexes on Pipeline
+    Optional<Pipeline> findFirstByComponentOrderByTimestampDescIdDesc(String component);
+
+    Optional<Pipeline> findFirstByComponentIsNullOrderByTimestampDescIdDesc();
+
+    Optional<Pipeline> findFirstByOrderByTimestampDescIdDesc();
+
+    /**
+     * Latest pipeline of a component. Rows stored before the component column existed count as backend;
+     * they are looked up separately so that both lookups stay on the index.
+     */
+    default Optional<Pipeline> findTopByComponentWithLegacy(String component) {
+        Optional<Pipeline> latest = findFirstByComponentOrderByTimestampDescIdDesc(component);
+        if (!"backend".equals(component)) {
+            return latest;
+        }
+        return Stream.concat(latest.stream(), findFirstByComponentIsNullOrderByTimestampDescIdDesc().stream())
+                .max(Comparator.comparing(Pipeline::getTimestamp, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Pipeline::getId));
     }
 }
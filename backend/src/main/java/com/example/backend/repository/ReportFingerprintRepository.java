@@ -0,0 +1,22 @@
+package com.example.backend.repository;
+
+import com.example.backend.entity.ReportFingerprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReportFingerprintRepository extends JpaRepository<ReportFingerprint, Long> {
+
+    Optional<ReportFingerprint> findByKindAndSha256(ReportFingerprint.Kind kind, String sha256);
+
+    // Two identical uploads ingested concurrently both parse; the second one must not fail on the unique key
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO report_fingerprint (kind, sha256, pipeline_id) VALUES (:kind, :sha256, :pipelineId)",
+            nativeQuery = true)
+    void insertIfAbsent(@Param("kind") String kind, @Param("sha256") String sha256, @Param("pipelineId") Long pipelineId);
+}
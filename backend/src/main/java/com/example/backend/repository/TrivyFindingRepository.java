@@ -2,8 +2,15 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.TrivyFinding;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface TrivyFindingRepository extends JpaRepository<TrivyFinding, Long> {
+
+    @Query("SELECT f FROM TrivyFinding f LEFT JOIN FETCH f.cveEntry LEFT JOIN FETCH f.packageEntry WHERE f.pipeline.id = :pipelineId")
+    List<TrivyFinding> findWithCatalogByPipelineId(@Param("pipelineId") Long pipelineId);
 }
@@ -0,0 +1,240 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.AiAnalysisResponse;
+import com.example.backend.entity.AiAnalysis;
+import com.example.backend.repository.AiAnalysisRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Cache of AI analyses for requests not tied to a pipeline, keyed by a SHA-256 over the page, the data in
+ * canonical form (object keys sorted, numbers without trailing zeros), the model and the prompt version. Entries
+ * live in a bounded in-memory LRU for {@code ai.cache.ttl-ms}; with {@code ai.cache.persistent} they are also
+ * stored as {@link AiAnalysis} rows, so they survive restarts and are shared between instances.
+ * Reports {@code ai.analysis.cache{result=hit|miss}} and {@code ai.analysis.cache.evictions{cause=size|expired}}.
+ */
+@Component
+public class AiAnalysisCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiAnalysisCache.class);
+
+    private final AiAnalysisRepository aiAnalysisRepository;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final boolean persistent;
+    private final Map<String, Entry> entries;
+
+    private final Counter memoryHits;
+    private final Counter persistentHits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    public AiAnalysisCache(AiAnalysisRepository aiAnalysisRepository, MeterRegistry meterRegistry,
+                           @Value("${ai.cache.size:1000}") int maxEntries,
+                           @Value("${ai.cache.ttl-ms:600000}") long ttlMs,
+                           @Value("${ai.cache.persistent:false}") boolean persistent) {
+        this.aiAnalysisRepository = aiAnalysisRepository;
+        this.maxEntries = maxEntries;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.persistent = persistent;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > AiAnalysisCache.this.maxEntries) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.memoryHits = Counter.builder("ai.analysis.cache")
+                .description("AI analysis cache lookups")
+                .tag("result", "hit").tag("tier", "memory")
+                .register(meterRegistry);
+        this.persistentHits = Counter.builder("ai.analysis.cache")
+                .description("AI analysis cache lookups")
+                .tag("result", "hit").tag("tier", "persistent")
+                .register(meterRegistry);
+        this.misses = Counter.builder("ai.analysis.cache")
+                .description("AI analysis cache lookups")
+                .tag("result", "miss").tag("tier", "none")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("ai.analysis.cache.evictions")
+                .description("AI analyses dropped from the in-memory cache")
+                .tag("cause", "size")
+                .register(meterRegistry);
+        this.expiredEvictions = Counter.builder("ai.analysis.cache.evictions")
+                .description("AI analyses dropped from the in-memory cache")
+                .tag("cause", "expired")
+                .register(meterRegistry);
+        meterRegistry.gauge("ai.analysis.cache.size", entries, map -> {
+            synchronized (map) {
+                return map.size();
+            }
+        });
+    }
+
+    private record Entry(AiAnalysisResponse response, Instant expiresAt) {
+    }
+
+    public Optional<AiAnalysisResponse> get(String key) {
+        Instant now = Instant.now();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt().isAfter(now)) {
+                    memoryHits.increment();
+                    return Optional.of(entry.response());
+                }
+                entries.remove(key);
+                expiredEvictions.increment();
+            }
+        }
+        if (persistent) {
+            LocalDateTime notBefore = LocalDateTime.now().minus(ttl);
+            Optional<AiAnalysis> stored =
+                    aiAnalysisRepository.findTopByContentHashAndCreatedAtAfterOrderByIdDesc(key, notBefore);
+            if (stored.isPresent()) {
+                persistentHits.increment();
+                AiAnalysisResponse response = toResponse(stored.get());
+                Duration age = Duration.between(stored.get().getCreatedAt(), LocalDateTime.now());
+                remember(key, response, now.plus(ttl.minus(age)));
+                return Optional.of(response);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String key, String page, AiAnalysisResponse response) {
+        remember(key, response, Instant.now().plus(ttl));
+        if (persistent) {
+            AiAnalysis analysis = new AiAnalysis();
+            analysis.setPage(page);
+            analysis.setContentHash(key);
+            analysis.setCreatedAt(LocalDateTime.now());
+            analysis.setSummary(response.getSummary());
+            analysis.setRecommendations(response.getRecommendations() != null
+                    ? new ArrayList<>(response.getRecommendations()) : null);
+            aiAnalysisRepository.save(analysis);
+        }
+    }
+
+    private void remember(String key, AiAnalysisResponse response, Instant expiresAt) {
+        synchronized (entries) {
+            entries.put(key, new Entry(response, expiresAt));
+        }
+    }
+
+    /**
+     * Drops expired in-memory entries and, with the persistent tier, expired rows.
+     */
+    @Scheduled(fixedDelayString = "${ai.cache.ttl-ms:600000}")
+    @Transactional
+    public void evictExpired() {
+        Instant now = Instant.now();
+        synchronized (entries) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (!it.next().expiresAt().isAfter(now)) {
+                    it.remove();
+                    expiredEvictions.increment();
+                }
+            }
+        }
+        if (persistent) {
+            LocalDateTime before = LocalDateTime.now().minus(ttl);
+            aiAnalysisRepository.deleteContentRecommendationsBefore(before);
+            int deleted = aiAnalysisRepository.deleteContentAnalysesBefore(before);
+            if (deleted > 0) {
+                logger.info("Deleted {} expired cached AI analyses", deleted);
+            }
+        }
+    }
+
+    /**
+     * Content address of an analysis request; equal for data that differs only in key order or number format.
+     */
+    public static String key(String page, JsonNode data, String model, int promptVersion) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append(promptVersion).append('\n').append(model).append('\n').append(page).append('\n');
+        appendCanonical(canonical, data);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every JVM", e);
+        }
+    }
+
+    static void appendCanonical(StringBuilder out, JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            out.append("null");
+        } else if (node.isObject()) {
+            Map<String, JsonNode> fields = new TreeMap<>();
+            node.fields().forEachRemaining(field -> fields.put(field.getKey(), field.getValue()));
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, JsonNode> field : fields.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                out.append(quote(field.getKey())).append(':');
+                appendCanonical(out, field.getValue());
+            }
+            out.append('}');
+        } else if (node.isArray()) {
+            out.append('[');
+            for (int i = 0; i < node.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                appendCanonical(out, node.get(i));
+            }
+            out.append(']');
+        } else if (node.isNumber() && !(node.isFloatingPointNumber() && !Double.isFinite(node.doubleValue()))) {
+            out.append(node.decimalValue().stripTrailingZeros().toPlainString());
+        } else {
+            // Strings and booleans; TextNode.toString() quotes and escapes
+            out.append(node);
+        }
+    }
+
+    private static String quote(String text) {
+        return TextNode.valueOf(text).toString();
+    }
+
+    private static AiAnalysisResponse toResponse(AiAnalysis analysis) {
+        AiAnalysisResponse response = new AiAnalysisResponse();
+        response.setSummary(analysis.getSummary());
+        response.setRecommendations(analysis.getRecommendations() != null
+                ? List.copyOf(analysis.getRecommendations()) : List.of());
+        return response;
+    }
+}
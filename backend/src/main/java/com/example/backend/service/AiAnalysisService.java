@@ -13,13 +13,16 @@ import java.util.Map;
 
 import com.example.backend.entity.AiAnalysis;
 import com.example.backend.entity.Pipeline;
+import com.example.backend.entity.SeverityCounters;
 import com.example.backend.repository.AiAnalysisRepository;
 import com.example.backend.repository.PipelineRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -40,9 +43,84 @@ public class AiAnalysisService {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Transactional
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AiAnalysisCache aiAnalysisCache;
+
+    @Autowired
+    private PromptCompactor promptCompactor;
+
+    // Part of the content-addressed cache key; bump whenever the prompt changes what the model answers
+    static final int PROMPT_VERSION = 2;
+
+    // Dashboards opening the same page at once share one LLM call instead of each making their own
+    private final SingleFlight<AnalysisKey, AiAnalysisResponse> singleFlight = new SingleFlight<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        FunctionCounter.builder("ai.analysis.requests", singleFlight, SingleFlight::executed)
+                .description("AI analysis requests not answered by an identical request already in flight")
+                .tag("result", "computed")
+                .register(meterRegistry);
+        FunctionCounter.builder("ai.analysis.requests", singleFlight, SingleFlight::coalesced)
+                .description("AI analysis requests answered by an identical request already in flight")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        meterRegistry.gauge("ai.analysis.coalesced.ratio", singleFlight, flight -> {
+            long total = flight.executed() + flight.coalesced();
+            return total == 0 ? 0.0 : (double) flight.coalesced() / total;
+        });
+    }
+
+    /**
+     * Analysis of a dashboard page. Concurrent requests for the same pipeline and page (or, without a
+     * pipeline, the same page and data) are coalesced into one computation. Deliberately not transactional:
+     * each repository call runs on its own, so neither the LLM call nor coalesced callers hold a connection.
+     */
     public AiAnalysisResponse analyze(AiAnalysisRequest request) {
-        // 1. Check if we already have this analysis in DB
+        try {
+            return generate(request);
+        } catch (AnalysisUnavailableException e) {
+            AiAnalysisResponse fallback = new AiAnalysisResponse();
+            fallback.setSummary("AI analysis currently unavailable due to processing limitations.");
+            fallback.setRecommendations(List.of("Please review metrics manually in the dashboard sections below."));
+            return fallback;
+        }
+    }
+
+    /**
+     * Same as {@link #analyze} but fails instead of answering with the fallback, for callers that retry.
+     *
+     * @throws AnalysisUnavailableException if the model could not be reached or gave no usable answer
+     */
+    public AiAnalysisResponse generate(AiAnalysisRequest request) {
+        // Without a pipeline there is no stored analysis to look up; the data itself is what makes requests equal
+        String contentKey = request.getPipelineId() == null
+                ? AiAnalysisCache.key(request.getPage(), request.getData(), groqService.getModel(), PROMPT_VERSION)
+                : null;
+        AnalysisKey key = new AnalysisKey(request.getPipelineId(), request.getPage(), contentKey);
+        return singleFlight.execute(key, () -> compute(request, contentKey));
+    }
+
+    public static class AnalysisUnavailableException extends RuntimeException {
+        AnalysisUnavailableException(Throwable cause) {
+            super("AI analysis unavailable: " + cause.getMessage(), cause);
+        }
+    }
+
+    private record AnalysisKey(Long pipelineId, String page, String contentKey) {
+    }
+
+    private AiAnalysisResponse compute(AiAnalysisRequest request, String contentKey) {
+        // 1. Check if we already have this analysis in DB, or in the content cache for ad-hoc data
+        if (contentKey != null) {
+            Optional<AiAnalysisResponse> cached = aiAnalysisCache.get(contentKey);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
         if (request.getPipelineId() != null) {
             Optional<AiAnalysis> existing = aiAnalysisRepository.findTopByPipelineIdAndPageOrderByIdDesc(request.getPipelineId(), request.getPage());
             if (existing.isPresent()) {
@@ -70,7 +148,10 @@ public class AiAnalysisService {
                 "}\n" +
                 "- Do NOT include any text before or after the JSON block.";
 
-        String userPrompt = buildUserPrompt(request.getPage(), request.getData());
+        Optional<Pipeline> pipeline = request.getPipelineId() != null
+                ? pipelineRepository.findById(request.getPipelineId())
+                : Optional.empty();
+        String userPrompt = buildUserPrompt(request.getPage(), request.getData(), pipeline.orElse(null));
 
         try {
             String aiResult = groqService.getChatCompletion(new ArrayList<>(), systemPrompt + "\n\nDATA:\n" + userPrompt);
@@ -80,10 +161,12 @@ public class AiAnalysisService {
             AiAnalysisResponse response = objectMapper.readValue(jsonPart, AiAnalysisResponse.class);
 
             // 3. Save to DB for future use (Caching) - Double check to avoid duplicates from concurrent requests
+            if (contentKey != null) {
+                aiAnalysisCache.put(contentKey, request.getPage(), response);
+            }
             if (request.getPipelineId() != null) {
                 Optional<AiAnalysis> alreadySaved = aiAnalysisRepository.findTopByPipelineIdAndPageOrderByIdDesc(request.getPipelineId(), request.getPage());
                 if (alreadySaved.isEmpty()) {
-                    Optional<Pipeline> pipeline = pipelineRepository.findById(request.getPipelineId());
                     if (pipeline.isPresent()) {
                         AiAnalysis analysis = new AiAnalysis();
                         analysis.setPipeline(pipeline.get());
@@ -97,17 +180,19 @@ public class AiAnalysisService {
 
             return response;
         } catch (Exception e) {
-            AiAnalysisResponse fallback = new AiAnalysisResponse();
-            fallback.setSummary("AI analysis currently unavailable due to processing limitations.");
-            fallback.setRecommendations(List.of("Please review metrics manually in the dashboard sections below."));
-            return fallback;
+            throw new AnalysisUnavailableException(e);
         }
     }
 
-    private String buildUserPrompt(String page, JsonNode data) {
+    private String buildUserPrompt(String page, JsonNode data, Pipeline pipeline) {
         StringBuilder prompt = new StringBuilder();
         prompt.append("Page context: ").append(page).append("\n");
-        prompt.append("Metrics data:\n").append(data.toPrettyString()).append("\n\n");
+        PromptCompactor.Compacted metrics = promptCompactor.compact(data);
+        prompt.append("Metrics data:\n").append(metrics.text()).append("\n");
+        if (pipeline != null) {
+            appendFindingCounts(prompt, pipeline);
+        }
+        prompt.append("\n");
 
         switch (page.toLowerCase()) {
             case "pipeline":
@@ -128,6 +213,27 @@ public class AiAnalysisService {
         return prompt.toString();
     }
 
+    // Counters aggregated at ingest, so the prompt never needs the finding rows
+    private void appendFindingCounts(StringBuilder prompt, Pipeline pipeline) {
+        appendFindingCounts(prompt, "Container (Trivy)", pipeline.getTrivyCounts());
+        appendFindingCounts(prompt, "Dependency (OWASP)", pipeline.getOwaspCounts());
+        if (pipeline.getMaxCvss() != null) {
+            prompt.append("Highest CVSS score: ").append(pipeline.getMaxCvss()).append("\n");
+        }
+    }
+
+    private void appendFindingCounts(StringBuilder prompt, String scanner, SeverityCounters counts) {
+        if (counts == null) {
+            return;
+        }
+        prompt.append(scanner).append(" findings: ")
+                .append(counts.getCritical()).append(" critical, ")
+                .append(counts.getHigh()).append(" high, ")
+                .append(counts.getMedium()).append(" medium, ")
+                .append(counts.getLow()).append(" low, ")
+                .append(counts.getInfo()).append(" info\n");
+    }
+
     private String extractJson(String text) {
         if (text == null) return "{}";
         int start = text.indexOf("{");
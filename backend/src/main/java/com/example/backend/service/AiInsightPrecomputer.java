@@ -0,0 +1,193 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.AiAnalysisRequest;
+import com.example.backend.entity.Pipeline;
+import com.example.backend.entity.SeverityCounters;
+import com.example.backend.entity.SonarReport;
+import com.example.backend.ingest.ReportIngestedEvent;
+import com.example.backend.repository.PipelineRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Generates the AI analyses of the pipeline, security and code-quality pages as soon as a report has been
+ * ingested, so that opening those pages is a database hit instead of a live LLM round trip. At most
+ * {@code ai.precompute.concurrency} analyses run at once; a failed one is retried with exponential backoff up to
+ * {@code ai.precompute.max-attempts} times. The request data mirrors what the dashboard pages send.
+ */
+@Service
+public class AiInsightPrecomputer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiInsightPrecomputer.class);
+
+    private static final List<String> PAGES = List.of("pipeline", "security", "code-quality");
+
+    private final AiAnalysisService aiAnalysisService;
+    private final PipelineRepository pipelineRepository;
+    private final ObjectMapper objectMapper;
+    private final ScheduledThreadPoolExecutor executor;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long retryDelayMs;
+
+    private final Counter succeeded;
+    private final Counter retried;
+    private final Counter failed;
+
+    public AiInsightPrecomputer(AiAnalysisService aiAnalysisService, PipelineRepository pipelineRepository,
+                                ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                @Value("${ai.precompute.enabled:true}") boolean enabled,
+                                @Value("${ai.precompute.concurrency:2}") int concurrency,
+                                @Value("${ai.precompute.max-attempts:3}") int maxAttempts,
+                                @Value("${ai.precompute.retry-delay-ms:5000}") long retryDelayMs) {
+        this.aiAnalysisService = aiAnalysisService;
+        this.pipelineRepository = pipelineRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMs = retryDelayMs;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(concurrency, r -> {
+            Thread thread = new Thread(r, "ai-precompute-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.succeeded = Counter.builder("ai.precompute")
+                .description("Page analyses generated in the background after an ingest")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.retried = Counter.builder("ai.precompute")
+                .description("Page analyses generated in the background after an ingest")
+                .tag("result", "retry")
+                .register(meterRegistry);
+        this.failed = Counter.builder("ai.precompute")
+                .description("Page analyses generated in the background after an ingest")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        meterRegistry.gauge("ai.precompute.queue.depth", executor, pool -> pool.getQueue().size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReportIngested(ReportIngestedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (String page : PAGES) {
+            executor.execute(() -> attempt(event.pipelineId(), page, 1));
+        }
+    }
+
+    private void attempt(long pipelineId, String page, int attempt) {
+        try {
+            Optional<AiAnalysisRequest> request = pipelineRepository.findById(pipelineId)
+                    .flatMap(pipeline -> requestFor(pipeline, page));
+            if (request.isEmpty()) {
+                return;
+            }
+            // Stored by the service; a dashboard opening the page meanwhile joins this same call
+            aiAnalysisService.generate(request.get());
+            succeeded.increment();
+        } catch (RuntimeException e) {
+            if (attempt < maxAttempts) {
+                long delay = retryDelayMs << (attempt - 1);
+                logger.warn("AI analysis of page {} for pipeline {} failed (attempt {}), retrying in {} ms: {}",
+                        page, pipelineId, attempt, delay, e.getMessage());
+                retried.increment();
+                executor.schedule(() -> attempt(pipelineId, page, attempt + 1), delay, TimeUnit.MILLISECONDS);
+            } else {
+                logger.warn("AI analysis of page {} for pipeline {} failed after {} attempts; it will be generated "
+                        + "when the page is opened: {}", page, pipelineId, attempt, e.getMessage());
+                failed.increment();
+            }
+        }
+    }
+
+    private Optional<AiAnalysisRequest> requestFor(Pipeline pipeline, String page) {
+        ObjectNode data = objectMapper.createObjectNode();
+        SonarReport sonar = pipeline.getSonarReport();
+        switch (page) {
+            case "pipeline" -> {
+                data.put("status", pipeline.getStatus());
+                putIfPresent(data, "duration", pipeline.getDuration());
+                data.put("vulnerabilities", total(pipeline.getTrivyCounts()) + total(pipeline.getOwaspCounts()));
+                if (sonar != null) {
+                    putIfPresent(data, "bugs", sonar.getBugs());
+                    putIfPresent(data, "smells", sonar.getCodeSmells());
+                    putIfPresent(data, "duplication", sonar.getDuplication());
+                }
+                data.put("version", pipeline.getAppVersion());
+            }
+            case "security" -> {
+                data.put("trivyCount", total(pipeline.getTrivyCounts()));
+                data.put("owaspCount", total(pipeline.getOwaspCounts()));
+                ArrayNode severityStats = data.putArray("severityStats");
+                addSeverity(severityStats, "Critical", pipeline, SeverityCounters::getCritical);
+                addSeverity(severityStats, "High", pipeline, SeverityCounters::getHigh);
+                addSeverity(severityStats, "Medium", pipeline, SeverityCounters::getMedium);
+                addSeverity(severityStats, "Low", pipeline, SeverityCounters::getLow);
+            }
+            case "code-quality" -> {
+                // The page only asks for an analysis when there is a Sonar report
+                if (sonar == null) {
+                    return Optional.empty();
+                }
+                putIfPresent(data, "bugs", sonar.getBugs());
+                putIfPresent(data, "vulnerabilities", sonar.getVulnerabilities());
+                putIfPresent(data, "codeSmells", sonar.getCodeSmells());
+                putIfPresent(data, "duplication", sonar.getDuplication());
+            }
+            default -> throw new IllegalArgumentException("Unknown page " + page);
+        }
+        AiAnalysisRequest request = new AiAnalysisRequest();
+        request.setPage(page);
+        request.setPipelineId(pipeline.getId());
+        request.setData(data);
+        return Optional.of(request);
+    }
+
+    private static void addSeverity(ArrayNode stats, String name, Pipeline pipeline,
+                                    Function<SeverityCounters, Integer> severity) {
+        int value = count(pipeline.getTrivyCounts(), severity) + count(pipeline.getOwaspCounts(), severity);
+        stats.addObject().put("name", name).put("value", value);
+    }
+
+    private static int count(SeverityCounters counts, Function<SeverityCounters, Integer> severity) {
+        Integer value = counts != null ? severity.apply(counts) : null;
+        return value != null ? value : 0;
+    }
+
+    private static int total(SeverityCounters counts) {
+        return counts != null ? counts.getTotal() : 0;
+    }
+
+    private static void putIfPresent(ObjectNode data, String field, Number value) {
+        if (value instanceof Double d) {
+            data.put(field, d);
+        } else if (value != null) {
+            data.put(field, value.longValue());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
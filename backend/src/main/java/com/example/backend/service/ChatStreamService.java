@@ -0,0 +1,134 @@
+package com.example.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Relays a streamed Groq completion to the browser as Server-Sent Events: a {@code conversation} event first,
+ * one {@code token} event per content delta, then {@code done} with the whole reply, or {@code error}.
+ * The reply is stored through {@link ChatHistoryService} once complete, also when the browser went away
+ * mid-stream, so reloading the conversation shows it. Time to first token is recorded as
+ * {@code chat.stream.first-token}.
+ */
+@Service
+public class ChatStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatStreamService.class);
+
+    private final GroqService groqService;
+    private final ChatHistoryService chatHistoryService;
+    private final ExecutorService streamExecutor;
+    private final Timer firstTokenTimer;
+
+    @Value("${chat.stream.emitter-timeout-ms:120000}")
+    private long emitterTimeoutMs;
+
+    public ChatStreamService(GroqService groqService, ChatHistoryService chatHistoryService,
+                             MeterRegistry meterRegistry,
+                             @Value("${chat.stream.threads:8}") int threads) {
+        this.groqService = groqService;
+        this.chatHistoryService = chatHistoryService;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.streamExecutor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "chat-stream-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.firstTokenTimer = Timer.builder("chat.stream.first-token")
+                .description("Time from a streamed chat request to its first token")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter stream(Long conversationId, List<Map<String, String>> history, String systemPrompt) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        try {
+            streamExecutor.execute(() -> relay(emitter, conversationId, history, systemPrompt));
+        } catch (RejectedExecutionException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    private void relay(SseEmitter emitter, Long conversationId, List<Map<String, String>> history,
+                       String systemPrompt) {
+        Relay relay = new Relay(emitter);
+        relay.send("conversation", Map.of("conversationId", conversationId));
+        long start = System.nanoTime();
+        String reply;
+        try {
+            reply = groqService.streamChatCompletion(history, systemPrompt, token -> {
+                if (relay.tokens++ == 0) {
+                    firstTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                relay.send("token", Map.of("content", token));
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Streamed chat completion for conversation {} failed: {}", conversationId, e.getMessage());
+            relay.send("error", Map.of("message", "Error calling Groq API: " + e.getMessage()));
+            relay.complete();
+            return;
+        }
+
+        try {
+            chatHistoryService.addMessage(conversationId, "assistant", reply);
+        } catch (RuntimeException e) {
+            logger.error("Could not store streamed reply for conversation {}", conversationId, e);
+            relay.send("error", Map.of("message", "Failed to save the reply"));
+            relay.complete();
+            return;
+        }
+        relay.send("done", Map.of("conversationId", conversationId, "reply", reply));
+        relay.complete();
+    }
+
+    /**
+     * Writes to one emitter until the first failure, after which the browser is considered gone.
+     */
+    private static final class Relay {
+        private final SseEmitter emitter;
+        private boolean open = true;
+        private int tokens;
+
+        Relay(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(String event, Object data) {
+            if (!open) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                open = false;
+            }
+        }
+
+        void complete() {
+            if (open) {
+                emitter.complete();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.FindingDiffDTO;
+import com.example.backend.entity.FindingDiff;
+import com.example.backend.entity.FindingDiffEntry;
+import com.example.backend.entity.Pipeline;
+import com.example.backend.repository.FindingDiffRepository;
+import com.example.backend.repository.FindingDiffStore;
+import com.example.backend.repository.FindingDiffStore.Key;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Findings diff between a pipeline and the previous pipeline of the same component, keyed by (CVE, package).
+ * Both sides are read as distinct keys in catalog-id order and joined with a sorted merge, so the cost is
+ * linear in the number of findings and only ids are held in memory. Only introduced and fixed findings are
+ * stored; unchanged ones are counted.
+ */
+@Service
+public class FindingDiffService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FindingDiffService.class);
+
+    static final String TRIVY = "trivy";
+    static final String OWASP = "owasp";
+
+    @Autowired
+    private FindingDiffStore findingDiffStore;
+
+    @Autowired
+    private FindingDiffRepository findingDiffRepository;
+
+    /**
+     * Runs on the ingest transaction, after the findings of {@code pipeline} are written.
+     *
+     * @param previous null for the first pipeline of a component
+     */
+    public void record(Pipeline pipeline, Pipeline previous, boolean hasTrivy, boolean hasOwasp) {
+        long start = System.nanoTime();
+        long pipelineId = pipeline.getId();
+        Long previousPipelineId = previous != null ? previous.getId() : null;
+        FindingDiff diff = new FindingDiff();
+        diff.setPipelineId(pipelineId);
+        diff.setPreviousPipelineId(previousPipelineId);
+        if (hasTrivy) {
+            Merge merge = diffScanner(pipelineId, TRIVY, pipeline.trivyFindingsOwnerId(),
+                    previous != null ? previous.trivyFindingsOwnerId() : null);
+            diff.setTrivyIntroduced(merge.introduced.size());
+            diff.setTrivyFixed(merge.fixed.size());
+            diff.setTrivyUnchanged(merge.unchanged);
+        }
+        if (hasOwasp) {
+            Merge merge = diffScanner(pipelineId, OWASP, pipeline.owaspFindingsOwnerId(),
+                    previous != null ? previous.owaspFindingsOwnerId() : null);
+            diff.setOwaspIntroduced(merge.introduced.size());
+            diff.setOwaspFixed(merge.fixed.size());
+            diff.setOwaspUnchanged(merge.unchanged);
+        }
+        findingDiffRepository.save(diff);
+        logger.info("Findings diff of pipeline {} against {} computed in {} ms", pipelineId, previousPipelineId,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param rowsOwnerId         pipeline the current finding rows are stored under (differs for deduplicated uploads)
+     * @param previousRowsOwnerId same for the previous pipeline, null if there is none
+     */
+    private Merge diffScanner(long pipelineId, String scanner, long rowsOwnerId, Long previousRowsOwnerId) {
+        List<Key> current = loadKeys(scanner, rowsOwnerId);
+        if (previousRowsOwnerId == null) {
+            // Baseline: everything is new, which the finding counters already say; nothing to store
+            Merge baseline = new Merge();
+            baseline.introduced.addAll(current);
+            return baseline;
+        }
+        // Both pipelines reference the same stored report: nothing changed
+        List<Key> previousKeys = previousRowsOwnerId == rowsOwnerId ? current : loadKeys(scanner, previousRowsOwnerId);
+        Merge merge = merge(previousKeys, current);
+        findingDiffStore.insertEntries(pipelineId, scanner, FindingDiffEntry.Change.INTRODUCED, merge.introduced);
+        findingDiffStore.insertEntries(pipelineId, scanner, FindingDiffEntry.Change.FIXED, merge.fixed);
+        return merge;
+    }
+
+    private List<Key> loadKeys(String scanner, long pipelineId) {
+        return TRIVY.equals(scanner) ? findingDiffStore.loadTrivyKeys(pipelineId) : findingDiffStore.loadOwaspKeys(pipelineId);
+    }
+
+    /**
+     * Sorted merge of two key lists, each sorted by {@link Key#compareTo} and free of duplicates.
+     */
+    static Merge merge(List<Key> previous, List<Key> current) {
+        Merge merge = new Merge();
+        int i = 0;
+        int j = 0;
+        while (i < previous.size() && j < current.size()) {
+            int cmp = previous.get(i).compareTo(current.get(j));
+            if (cmp < 0) {
+                merge.fixed.add(previous.get(i++));
+            } else if (cmp > 0) {
+                merge.introduced.add(current.get(j++));
+            } else {
+                merge.unchanged++;
+                i++;
+                j++;
+            }
+        }
+        merge.fixed.addAll(previous.subList(i, previous.size()));
+        merge.introduced.addAll(current.subList(j, current.size()));
+        return merge;
+    }
+
+    static final class Merge {
+        final List<Key> introduced = new ArrayList<>();
+        final List<Key> fixed = new ArrayList<>();
+        int unchanged;
+    }
+
+    public boolean hasDiff(Long pipelineId) {
+        return findingDiffRepository.existsById(pipelineId);
+    }
+
+    public Optional<FindingDiffDTO> getDiff(Long pipelineId) {
+        return findingDiffRepository.findById(pipelineId).map(diff -> {
+            List<FindingDiffDTO.Entry> trivyIntroduced = new ArrayList<>();
+            List<FindingDiffDTO.Entry> trivyFixed = new ArrayList<>();
+            List<FindingDiffDTO.Entry> owaspIntroduced = new ArrayList<>();
+            List<FindingDiffDTO.Entry> owaspFixed = new ArrayList<>();
+            findingDiffStore.forEachEntry(pipelineId, (scanner, change, entry) -> {
+                boolean introduced = change == FindingDiffEntry.Change.INTRODUCED;
+                if (TRIVY.equals(scanner)) {
+                    (introduced ? trivyIntroduced : trivyFixed).add(entry);
+                } else {
+                    (introduced ? owaspIntroduced : owaspFixed).add(entry);
+                }
+            });
+            return new FindingDiffDTO(diff.getPipelineId(), diff.getPreviousPipelineId(),
+                    scanner(diff.getTrivyIntroduced(), diff.getTrivyFixed(), diff.getTrivyUnchanged(), trivyIntroduced, trivyFixed),
+                    scanner(diff.getOwaspIntroduced(), diff.getOwaspFixed(), diff.getOwaspUnchanged(), owaspIntroduced, owaspFixed));
+        });
+    }
+
+    private static FindingDiffDTO.Scanner scanner(Integer introducedCount, Integer fixedCount, Integer unchangedCount,
+                                                  List<FindingDiffDTO.Entry> introduced, List<FindingDiffDTO.Entry> fixed) {
+        if (introducedCount == null) {
+            return null;
+        }
+        return new FindingDiffDTO.Scanner(introducedCount, fixedCount, unchangedCount, introduced, fixed);
+    }
+}
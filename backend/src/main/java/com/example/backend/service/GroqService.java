@@ -1,10 +1,21 @@
 package com.example.backend.service;
 
+import com.example.backend.client.OutboundHttpClientFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Consumer;
 
 @Service
 public class GroqService {
@@ -18,23 +29,23 @@ public class GroqService {
     @Value("${groq.model}")
     private String model;
 
-    private final RestTemplate restTemplate = new RestTemplate();
-
-    public String getChatCompletion(List<Map<String, String>> history, String systemPrompt) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(apiKey);
+    private final RestTemplate restTemplate;
+    // Own pool and deadline: a streamed reply legitimately stays open longer than a blocking call
+    private final RestTemplate streamRestTemplate;
+    private final ObjectMapper objectMapper;
 
-        List<Map<String, String>> messages = new ArrayList<>();
-        messages.add(Map.of("role", "system", "content", systemPrompt));
-        messages.addAll(history);
+    public GroqService(OutboundHttpClientFactory httpClientFactory, ObjectMapper objectMapper) {
+        this.restTemplate = httpClientFactory.create("groq");
+        this.streamRestTemplate = httpClientFactory.create("groq-stream");
+        this.objectMapper = objectMapper;
+    }
 
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("model", model);
-        requestBody.put("messages", messages);
-        requestBody.put("temperature", 0.7);
+    public String getModel() {
+        return model;
+    }
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+    public String getChatCompletion(List<Map<String, String>> history, String systemPrompt) {
+        HttpEntity<Map<String, Object>> entity = chatRequest(history, systemPrompt, false);
 
         try {
             ResponseEntity<Map> response = restTemplate.postForEntity(apiUrl, entity, Map.class);
@@ -50,4 +61,70 @@ public class GroqService {
             return "Error calling Groq API: " + e.getMessage();
         }
     }
+
+    /**
+     * Same request with {@code stream: true}: each content delta is handed to {@code onToken} as soon as its
+     * server-sent event arrives, and the whole reply is returned once the stream ends.
+     *
+     * @throws RestClientException if the API cannot be reached, answers with an error or the stream is cut
+     */
+    public String streamChatCompletion(List<Map<String, String>> history, String systemPrompt,
+                                       Consumer<String> onToken) {
+        HttpEntity<Map<String, Object>> entity = chatRequest(history, systemPrompt, true);
+        return streamRestTemplate.execute(apiUrl, HttpMethod.POST,
+                streamRestTemplate.httpEntityCallback(entity),
+                response -> readStream(response.getBody(), onToken));
+    }
+
+    private HttpEntity<Map<String, Object>> chatRequest(List<Map<String, String>> history, String systemPrompt,
+                                                        boolean stream) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(apiKey);
+        if (stream) {
+            headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+        }
+
+        List<Map<String, String>> messages = new ArrayList<>();
+        messages.add(Map.of("role", "system", "content", systemPrompt));
+        messages.addAll(history);
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("messages", messages);
+        requestBody.put("temperature", 0.7);
+        if (stream) {
+            requestBody.put("stream", true);
+        }
+        return new HttpEntity<>(requestBody, headers);
+    }
+
+    /**
+     * Reads OpenAI-style chat completion chunks ({@code data: {...}} lines, ended by {@code data: [DONE]}).
+     */
+    String readStream(InputStream body, Consumer<String> onToken) throws IOException {
+        StringBuilder reply = new StringBuilder();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.startsWith("data:")) {
+                // Blank separators, comments and other SSE fields
+                continue;
+            }
+            String data = line.substring("data:".length()).trim();
+            if (data.equals("[DONE]")) {
+                return reply.toString();
+            }
+            JsonNode chunk = objectMapper.readTree(data);
+            if (chunk.has("error")) {
+                throw new RestClientException("Groq API error: " + chunk.path("error").path("message").asText());
+            }
+            JsonNode content = chunk.path("choices").path(0).path("delta").path("content");
+            if (content.isTextual() && !content.asText().isEmpty()) {
+                reply.append(content.asText());
+                onToken.accept(content.asText());
+            }
+        }
+        throw new RestClientException("Groq stream ended before [DONE]");
+    }
 }
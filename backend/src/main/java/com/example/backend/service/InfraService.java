@@ -1,18 +1,27 @@
 package com.example.backend.service;
 
-import com.example.backend.client.PrometheusClient;
-import com.example.backend.client.ActuatorClient;
+import com.example.backend.client.CicdState;
+import com.example.backend.client.ClusterSnapshot;
+import com.example.backend.client.ContainerMetrics;
+import com.example.backend.client.NodeMetrics;
+import com.example.backend.client.PipelineState;
+import com.example.backend.client.TelemetryCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.util.Comparator;
 import java.util.Random;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 /**
- * Infrastructure Service - Fetches real-time metrics from Prometheus and Actuator.
+ * Infrastructure Service - Serves real-time metrics from the shared telemetry snapshot
+ * (Prometheus and Actuator, refreshed by {@link TelemetryCollector}).
  * Falls back to mock data if real metrics are unavailable.
  */
 @Service
@@ -20,8 +29,8 @@ public class InfraService {
 
     private static final Logger logger = LoggerFactory.getLogger(InfraService.class);
 
-    private final PrometheusClient prometheusClient;
-    private final ActuatorClient actuatorClient;
+    private final TelemetryCollector telemetryCollector;
+    private final AtomicReference<PlatformHealth> platformHealth = new AtomicReference<>();
     private final Random random = new Random();
 
     @Value("${node.1.ip:192.168.126.131}")
@@ -42,52 +51,48 @@ public class InfraService {
     @Value("${node.3.name:vmpipe}")
     private String node3Name;
 
-    public InfraService(PrometheusClient prometheusClient, ActuatorClient actuatorClient) {
-        this.prometheusClient = prometheusClient;
-        this.actuatorClient = actuatorClient;
+    public InfraService(TelemetryCollector telemetryCollector) {
+        this.telemetryCollector = telemetryCollector;
     }
 
     /**
      * Get CPU usage for a specific node.
      */
     public String getCpuUsage(String nodeIp) {
-        try {
-            Double cpu = prometheusClient.queryNodeCpuUsage(nodeIp);
-            if (cpu != null) {
-                return String.format("%.1f%%", cpu);
-            }
-        } catch (Exception e) {
-            logger.warn("Prometheus CPU query failed for {}: {}", nodeIp, e.getMessage());
-        }
-        return (20 + random.nextInt(30)) + "% (mock)";
+        return formatCpuUsage(telemetryCollector.getSnapshot().nodeMetrics(nodeIp).cpuUsage());
     }
 
     /**
      * Get memory usage for a specific node.
      */
     public String getMemoryUsage(String nodeIp) {
-        try {
-            Double memory = prometheusClient.queryNodeMemoryUsage(nodeIp);
-            if (memory != null) {
-                return String.format("%.1f%%", memory);
-            }
-        } catch (Exception e) {
-            logger.warn("Prometheus memory query failed for {}: {}", nodeIp, e.getMessage());
-        }
-        return (40 + random.nextInt(40)) + "% (mock)";
+        return formatMemoryUsage(telemetryCollector.getSnapshot().nodeMetrics(nodeIp).memoryUsage());
     }
 
     /**
      * Get disk usage for a specific node.
      */
     public String getDiskUsage(String nodeIp) {
-        try {
-            Double disk = prometheusClient.queryNodeDiskUsage(nodeIp);
-            if (disk != null) {
-                return String.format("%.1f%%", disk);
-            }
-        } catch (Exception e) {
-            logger.warn("Prometheus disk query failed for {}: {}", nodeIp, e.getMessage());
+        return formatDiskUsage(telemetryCollector.getSnapshot().nodeMetrics(nodeIp).diskUsage());
+    }
+
+    private String formatCpuUsage(Double cpu) {
+        if (cpu != null) {
+            return String.format("%.1f%%", cpu);
+        }
+        return (20 + random.nextInt(30)) + "% (mock)";
+    }
+
+    private String formatMemoryUsage(Double memory) {
+        if (memory != null) {
+            return String.format("%.1f%%", memory);
+        }
+        return (40 + random.nextInt(40)) + "% (mock)";
+    }
+
+    private String formatDiskUsage(Double disk) {
+        if (disk != null) {
+            return String.format("%.1f%%", disk);
         }
         return "60% (mocked)";
     }
@@ -113,23 +118,15 @@ public class InfraService {
         }
 
         // 2. If asking for Backend, check PROMETHEUS Fallback if ACTUATOR fails
-        try {
-            String health = actuatorClient.getHealthSummary();
-            if (health != null) {
-                return health;
-            }
-        } catch (Exception e) {
-            logger.warn("Actuator health check failed: {}", e.getMessage());
+        ClusterSnapshot snapshot = telemetryCollector.getSnapshot();
+        String health = snapshot.backendHealthSummary();
+        if (health != null) {
+            return health;
         }
 
         // 3. Fallback to Prometheus: Is the Backend actually DOWN?
-        try {
-            boolean isBackendUp = prometheusClient.queryServiceUp("springboot-app"); 
-            if (!isBackendUp) {
-                return "CRITICAL: Backend Service Down (Alert Firing)";
-            }
-        } catch (Exception pe) {
-            logger.warn("Could not verify backend status via Prometheus: {}", pe.getMessage());
+        if (!snapshot.backendUp()) {
+            return "CRITICAL: Backend Service Down (Alert Firing)";
         }
 
         // 4. Final Fallback
@@ -143,50 +140,41 @@ public class InfraService {
         StringBuilder summary = new StringBuilder();
         summary.append("🌐 **Multi-Node Infrastructure Status**\n\n");
 
-        appendNodeSummary(summary, node1Name, node1Ip, "Backend API, MySQL Database");
+        ClusterSnapshot snapshot = telemetryCollector.getSnapshot();
+
+        appendNodeSummary(summary, node1Name, node1Ip, "Backend API, MySQL Database", snapshot);
         summary.append("\n");
-        appendNodeSummary(summary, node2Name, node2Ip, "Frontend Application (Angular)");
+        appendNodeSummary(summary, node2Name, node2Ip, "Frontend Application (Angular)", snapshot);
         summary.append("\n");
-        appendNodeSummary(summary, node3Name, node3Ip, "Management Root (GitLab, Jenkins, SonarQube, Monitoring Stack)");
+        appendNodeSummary(summary, node3Name, node3Ip, "Management Root (GitLab, Jenkins, SonarQube, Monitoring Stack)", snapshot);
 
         summary.append("\n🛡️ **Backend Service Health**\n");
         // Calls the updated getServiceStatus which now respects Prometheus alerts
         summary.append(getServiceStatus("backend-app"));
 
+        if (!snapshot.staleSources().isEmpty()) {
+            summary.append("\n\n⚠️ _Some metrics are stale (last refresh timed out for: ")
+                    .append(String.join(", ", new TreeSet<>(snapshot.staleSources())))
+                    .append(")_");
+        }
+
         return summary.toString();
     }
-    private String mapIpToInstance(String ip) {
-        if (ip.equals(node1Ip)) return node1Name; // "node-1"
-        if (ip.equals(node2Ip)) return node2Name; // "node-2"
-        if (ip.equals(node3Ip)) return node3Name; // "vmpipe"
-        return ip; // fallback
-    }
-    private void appendNodeSummary(StringBuilder sb, String name, String ip, String roles) {
+
+    private void appendNodeSummary(StringBuilder sb, String name, String ip, String roles, ClusterSnapshot snapshot) {
+        NodeMetrics metrics = snapshot.nodeMetrics(ip);
+        List<ContainerMetrics> nodeContainers = snapshot.containers(ip);
         sb.append("**💻 ").append(name).append(" (").append(ip).append(")**\n");
         sb.append("- Roles: ").append(roles).append("\n");
-        sb.append("- CPU: ").append(getCpuUsage(ip)).append("\n");
-        sb.append("- RAM: ").append(getMemoryUsage(ip)).append("\n");
-        sb.append("- Disk: ").append(getDiskUsage(ip)).append("\n");
-        String node = mapIpToInstance(ip);
-        List<Map<String, Object>> containers = prometheusClient.queryTopContainersCpu(node);
+        sb.append("- CPU: ").append(formatCpuUsage(metrics.cpuUsage())).append("\n");
+        sb.append("- RAM: ").append(formatMemoryUsage(metrics.memoryUsage())).append("\n");
+        sb.append("- Disk: ").append(formatDiskUsage(metrics.diskUsage())).append("\n");
+        List<ContainerMetrics> containers = topContainers(nodeContainers, ContainerMetrics::cpuCores);
         if (!containers.isEmpty()) {
             sb.append("- Top Containers (by CPU):\n");
             String top = containers.stream()
-                    .limit(5)
-                    .map(c -> {
-                        // New simplified structure: {name: "...", value: 0.123}
-                        String cName = (String) c.get("name");
-                        Double value = (Double) c.get("value");
-                        
-                        if (cName == null || cName.isEmpty()) {
-                            cName = "Unknown";
-                        }
-                        
-                        // Format CPU value
-                        String val = (value != null) ? String.format("%.2f", value) : "0.00";
-                        
-                        return String.format("  * %s: %s CPU", cName, val);
-                    })
+                    // Format CPU value
+                    .map(c -> String.format("  * %s: %.2f CPU", c.name(), c.cpuCores()))
                     .collect(Collectors.joining("\n"));
             sb.append(top).append("\n");
         } else {
@@ -194,24 +182,12 @@ public class InfraService {
         }
         
         // Add memory container reporting
-        List<Map<String, Object>> memContainers = prometheusClient.queryTopContainersMemory(node);
+        List<ContainerMetrics> memContainers = topContainers(nodeContainers, ContainerMetrics::memoryBytes);
         if (!memContainers.isEmpty()) {
             sb.append("- Top Containers (by Memory):\n");
             String topMem = memContainers.stream()
-                    .limit(5)
-                    .map(c -> {
-                        String cName = (String) c.get("name");
-                        Double value = (Double) c.get("value");
-                        
-                        if (cName == null || cName.isEmpty()) {
-                            cName = "Unknown";
-                        }
-                        
-                        // Format memory value (convert bytes to MB)
-                        String val = (value != null) ? String.format("%.0f MB", value / 1024 / 1024) : "0 MB";
-                        
-                        return String.format("  * %s: %s", cName, val);
-                    })
+                    // Format memory value (convert bytes to MB)
+                    .map(c -> String.format("  * %s: %.0f MB", c.name(), c.memoryBytes() / 1024 / 1024))
                     .collect(Collectors.joining("\n"));
             sb.append(topMem).append("\n");
         } else {
@@ -219,24 +195,12 @@ public class InfraService {
         }
         
         // Add network container reporting
-        List<Map<String, Object>> netContainers = prometheusClient.queryTopContainersNetwork(node);
+        List<ContainerMetrics> netContainers = topContainers(nodeContainers, ContainerMetrics::networkRxBytesPerSecond);
         if (!netContainers.isEmpty()) {
             sb.append("- Top Containers (by Network RX):\n");
             String topNet = netContainers.stream()
-                    .limit(5)
-                    .map(c -> {
-                        String cName = (String) c.get("name");
-                        Double value = (Double) c.get("value");
-                        
-                        if (cName == null || cName.isEmpty()) {
-                            cName = "Unknown";
-                        }
-                        
-                        // Format network value (bytes/sec to KB/s)
-                        String val = (value != null) ? String.format("%.2f KB/s", value / 1024) : "0 KB/s";
-                        
-                        return String.format("  * %s: %s", cName, val);
-                    })
+                    // Format network value (bytes/sec to KB/s)
+                    .map(c -> String.format("  * %s: %.2f KB/s", c.name(), c.networkRxBytesPerSecond() / 1024))
                     .collect(Collectors.joining("\n"));
             sb.append(topNet).append("\n");
         } else {
@@ -244,19 +208,86 @@ public class InfraService {
         }
     }
 
+    /**
+     * Top 5 containers of a node by the given metric, skipping containers without that metric.
+     */
+    private List<ContainerMetrics> topContainers(List<ContainerMetrics> containers, ToDoubleFunction<ContainerMetrics> metric) {
+        return containers.stream()
+                .filter(c -> !Double.isNaN(metric.applyAsDouble(c)))
+                .sorted(Comparator.comparingDouble(metric).reversed())
+                .limit(5)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Evaluate all health signals for the current snapshot. The result is memoized per snapshot version,
+     * so every request served from the same tick reuses one evaluation.
+     */
+    public PlatformHealth getPlatformHealth() {
+        return getPlatformHealth(telemetryCollector.getSnapshot());
+    }
+
+    private PlatformHealth getPlatformHealth(ClusterSnapshot snapshot) {
+        PlatformHealth cached = platformHealth.get();
+        if (cached != null && cached.snapshotVersion() == snapshot.version()) {
+            return cached;
+        }
+        PlatformHealth evaluated = PlatformHealth.evaluate(snapshot);
+        // A request still serving an older snapshot must not replace the evaluation of a newer one
+        platformHealth.accumulateAndGet(evaluated,
+                (current, next) -> current == null || current.snapshotVersion() < next.snapshotVersion() ? next : current);
+        return evaluated;
+    }
+
+    /**
+     * The snapshot the views are currently served from. Read it once per request and pass it to the
+     * view methods that take one, so everything in the response describes the same version.
+     */
+    public ClusterSnapshot getSnapshot() {
+        return telemetryCollector.getSnapshot();
+    }
+
+    /**
+     * Executive dashboard view, built from a single health evaluation of the current snapshot.
+     */
+    public Map<String, Object> getDashboardSummary() {
+        return getDashboardSummary(telemetryCollector.getSnapshot());
+    }
+
+    public Map<String, Object> getDashboardSummary(ClusterSnapshot snapshot) {
+        PlatformHealth health = getPlatformHealth(snapshot);
+        return Map.of(
+                "platformHealth", Map.of(
+                        "productionApp", health.productionHealth(),
+                        "backendApi", health.backendHealth(),
+                        "monitoringStack", "operational",
+                        "infrastructure", health.infrastructureHealth()
+                ),
+                "weeklyKpis", Map.of(
+                        "deploymentSuccessRate", deliverySuccess(snapshot),
+                        "incidents", snapshot.totalAlerts(),
+                        "mttr", "12 mins",
+                        "availability", availability(snapshot)
+                ),
+                "deliveryStatus", Map.of(
+                        "frontendService", health.frontendServiceStatus(),
+                        "backendService", health.backendServiceStatus()
+                ),
+                "capacity", Map.of(
+                        "activeServices", snapshot.activeContainerCount(),
+                        "stoppedServices", snapshot.stoppedContainerCount(),
+                        "activeContainerNames", snapshot.activeContainerNames(),
+                        "status", capacityStatus(snapshot)
+                )
+        );
+    }
+
     /**
      * Get the real production health signal for the executive dashboard.
      * Matches Prometheus Alert: probe_success{job="angular-frontend"}
      */
     public String getProductionHealth() {
-        try {
-            // Check specifically for the job name in your Alert definition
-            boolean frontendUp = prometheusClient.queryProbeSuccess("angular-frontend");
-            return frontendUp ? "up" : "down";
-        } catch (Exception e) {
-            logger.warn("Failed to query production health: {}", e.getMessage());
-            return "degraded"; 
-        }
+        return getPlatformHealth().productionHealth();
     }
 
     /**
@@ -264,114 +295,85 @@ public class InfraService {
      * FIXED: Checks Prometheus FIRST.
      */
     public String getBackendHealth() {
-        // 1. Prometheus Check First
-        try {
-            boolean isUp = prometheusClient.queryServiceUp("springboot-app");
-            if (!isUp) return "critical";
-        } catch (Exception ex) { /* ignore */ }
-
-        // 2. Actuator Check Second
-        try {
-            String health = actuatorClient.getHealthSummary();
-            if (health != null && health.toLowerCase().contains("up")) {
-                return "healthy";
-            }
-        } catch (Exception e) {
-            logger.warn("Actuator health check failed: {}", e.getMessage());
-        }
-
-        return "unreachable";
+        return getPlatformHealth().backendHealth();
     }
 
     /**
      * Get the overall infrastructure health based on all monitored components.
      */
     public String getInfrastructureHealth() {
-        if ("down".equals(getProductionHealth())) return "critical"; 
-        if ("critical".equals(getBackendHealth())) return "critical"; // Now catches Prometheus down signal
-        if ("unreachable".equals(getBackendHealth())) return "warning";
-        return "stable";
+        return getPlatformHealth().infrastructureHealth();
     }
 
     /**
      * Get the frontend service status for the delivery pipeline.
      */
     public String getFrontendServiceStatus() {
-        String health = getProductionHealth();
-        if ("down".equals(health)) return "failed"; // Maps "down" to "failed" for pipeline
-        return "idle"; 
+        return getPlatformHealth().frontendServiceStatus();
     }
 
     /**
      * Get the real incident count from firing Prometheus alerts.
      */
     public int getIncidentCount() {
-        try {
-            return prometheusClient.queryTotalAlerts();
-        } catch (Exception e) {
-            return 0;
-        }
+        return telemetryCollector.getSnapshot().totalAlerts();
     }
 
     /**
      * Get the backend service status for the delivery pipeline.
      */
     public String getBackendServiceStatus() {
-        String health = getBackendHealth();
-        if ("unreachable".equals(health) || "critical".equals(health)) return "failed";
-        return "idle";
+        return getPlatformHealth().backendServiceStatus();
     }
 
     /**
      * Translate disk usage into a risk level.
      */
     public String getDiskRisk(String nodeIp) {
-        try {
-            Double disk = prometheusClient.queryNodeDiskUsage(nodeIp);
-            if (disk == null) return "Unknown";
-            if (disk > 85) return "High Risk";
-            if (disk > 70) return "Medium Risk";
-            return "Low Risk";
-        } catch (Exception e) {
-            return "Medium Risk";
-        }
+        Double disk = telemetryCollector.getSnapshot().nodeMetrics(nodeIp).diskUsage();
+        if (disk == null) return "Unknown";
+        if (disk > 85) return "High Risk";
+        if (disk > 70) return "Medium Risk";
+        return "Low Risk";
     }
 
     /**
      * Calculate real-time availability based on frontend probe history (24h).
      */
     public String getDynamicAvailability() {
-        try {
-            Double avg = prometheusClient.queryAverageOverTime("probe_success", "job=\"angular-frontend\"", "24h");
-            if (avg != null) {
-                return String.format("%.2f%%", avg);
-            }
-        } catch (Exception e) {
-            logger.warn("Failed to calculate real-time availability: {}", e.getMessage());
+        return availability(telemetryCollector.getSnapshot());
+    }
+
+    private String availability(ClusterSnapshot snapshot) {
+        Double avg = snapshot.frontendAvailability();
+        if (avg != null) {
+            return String.format("%.2f%%", avg);
         }
         return "99.95%"; // Data-driven fallback
     }
 
     /**
      * Calculate real-time delivery success rate.
-     * Note: Uses generic pipeline metrics as a placeholder for CI/CD signal.
+     * Read from the incrementally aggregated CI/CD state in the telemetry snapshot.
      */
     public String getDynamicDeliverySuccess() {
-        try {
-            // Rely on the comprehensive CI/CD summary for the real-time success rate
-            Map<String, Object> cicd = getCICDSummary();
-            Map<String, Object> summary = (Map<String, Object>) cicd.get("summary");
-            if (summary != null && summary.containsKey("deploymentSuccessRate")) {
-                return (String) summary.get("deploymentSuccessRate");
-            }
-        } catch (Exception e) {
-            // fallback to default
+        return deliverySuccess(telemetryCollector.getSnapshot());
+    }
+
+    private String deliverySuccess(ClusterSnapshot snapshot) {
+        CicdState cicd = snapshot.cicd();
+        if (cicd.isEmpty()) {
+            return "75.0%"; // Matches the executive fallback summary
         }
-        return "98.2%"; // Ultimate fallback
+        return formatSuccessRate(cicd.deploymentSuccessRate());
     }
 
     public String getCapacityStatus() {
-        int count = getActiveContainerCount();
+        return capacityStatus(telemetryCollector.getSnapshot());
+    }
+
+    private static String capacityStatus(ClusterSnapshot snapshot) {
+        int count = snapshot.activeContainerCount();
         if (count > 20) return "high load";
         if (count < 5) return "underutilized";
         return "sufficient";
@@ -381,125 +383,55 @@ public class InfraService {
      * Get the count of active containers (services).
      */
     public int getActiveContainerCount() {
-        try {
-            return prometheusClient.queryActiveContainerCount();
-        } catch (Exception e) {
-            return 12; // Fallback
-        }
+        return telemetryCollector.getSnapshot().activeContainerCount();
     }
 
     /**
      * Get the count of stopped containers.
      */
     public int getStoppedContainerCount() {
-        try {
-            return prometheusClient.queryStoppedContainerCount();
-        } catch (Exception e) {
-            return 0; // Fallback
-        }
+        return telemetryCollector.getSnapshot().stoppedContainerCount();
     }
 
     /**
      * Get the names of active containers.
      */
     public List<String> getActiveContainerNames() {
-        try {
-            return prometheusClient.queryActiveContainerList();
-        } catch (Exception e) {
-            return List.of("gitlab", "jenkins", "sonarqube"); // Fallback
-        }
+        return telemetryCollector.getSnapshot().activeContainerNames();
     }
 
     /**
      * Get a comprehensive CI/CD summary for the executive view.
      */
     public Map<String, Object> getCICDSummary() {
-        try {
-            List<Map<String, Object>> pipelineStatuses = prometheusClient.queryPipelineList();
-            if (!pipelineStatuses.isEmpty()) {
-                List<Map<String, Object>> durations = prometheusClient.queryPipelineDurations();
-                List<Map<String, Object>> timestamps = prometheusClient.queryPipelineTimestamps();
-                List<Map<String, Object>> buildings = prometheusClient.queryPipelineBuilding();
-                List<Map<String, Object>> pipelineRates = prometheusClient.queryPipelineSuccessRates();
-
-                // Create lookup maps
-                Map<String, Double> durationMap = durations.stream()
-                        .filter(m -> m.get("name") != null)
-                        .collect(Collectors.toMap(m -> (String) m.get("name"), m -> (Double) m.get("value"), (v1, v2) -> v1));
-                
-                Map<String, Double> timestampMap = timestamps.stream()
-                        .filter(m -> m.get("name") != null)
-                        .collect(Collectors.toMap(m -> (String) m.get("name"), m -> (Double) m.get("value"), (v1, v2) -> v1));
-
-                Map<String, Boolean> buildingMap = buildings.stream()
-                        .filter(m -> m.get("name") != null)
-                        .collect(Collectors.toMap(m -> (String) m.get("name"), m -> (Double) m.get("value") == 1.0, (v1, v2) -> v1));
-
-                Map<String, Double> rateMap = pipelineRates.stream()
-                        .filter(m -> m.get("name") != null)
-                        .collect(Collectors.toMap(m -> (String) m.get("name"), m -> (Double) m.get("value"), (v1, v2) -> v1));
-
-                int successCount = 0;
-                int failedCount = 0;
-                int runningCount = 0;
-
-                // Use static fallback for cross-reference to avoid recursion
-                String globalFallbackRate = "98.2%";
-
-                List<Map<String, Object>> pipelines = new java.util.ArrayList<>();
-                for (Map<String, Object> p : pipelineStatuses) {
-                    String name = (String) p.get("name");
-                    double ordinal = (double) p.get("value");
-                    boolean isBuilding = buildingMap.getOrDefault(name, false);
-
-                    String status;
-                    if (isBuilding) {
-                        status = "running";
-                        runningCount++;
-                    } else if (ordinal == 0) {
-                        status = "success";
-                        successCount++;
-                    } else {
-                        status = "failed";
-                        failedCount++;
-                    }
-
-                    Double durationMs = durationMap.getOrDefault(name, 0.0);
-                    Double timestampMs = timestampMap.getOrDefault(name, 0.0);
-                    
-                    Double pRateVal = rateMap.get(name);
-                    String pRate = (pRateVal != null) ? String.format("%.1f%%", pRateVal) : globalFallbackRate;
-
-                    pipelines.add(Map.of(
-                        "id", name,
-                        "name", name,
-                        "status", status,
-                        "lastRun", formatTimestamp(timestampMs),
-                        "duration", formatDuration(durationMs),
-                        "successRate", pRate
-                    ));
-                }
-
-                // Calculate dynamic success rate based on latest results for the summary
-                String dynamicSuccessRate = globalFallbackRate;
-                if (successCount + failedCount > 0) {
-                    double rate = (double) successCount / (successCount + failedCount) * 100;
-                    dynamicSuccessRate = String.format("%.1f%%", rate);
-                }
-
-                return Map.of(
-                    "summary", Map.of(
-                        "totalPipelines", pipelines.size(),
-                        "successCount", successCount,
-                        "failedCount", failedCount,
-                        "runningCount", runningCount,
-                        "deploymentSuccessRate", dynamicSuccessRate
-                    ),
-                    "pipelines", pipelines
-                );
+        return getCICDSummary(telemetryCollector.getSnapshot());
+    }
+
+    public Map<String, Object> getCICDSummary(ClusterSnapshot snapshot) {
+        CicdState cicd = snapshot.cicd();
+        if (!cicd.isEmpty()) {
+            List<Map<String, Object>> pipelines = new java.util.ArrayList<>(cicd.pipelines().size());
+            for (PipelineState p : cicd.pipelines()) {
+                pipelines.add(Map.of(
+                    "id", p.name(),
+                    "name", p.name(),
+                    "status", p.status(),
+                    "lastRun", formatTimestamp(p.lastRunMs()),
+                    "duration", formatDuration(p.durationMs()),
+                    "successRate", formatSuccessRate(p.successRate())
+                ));
             }
-        } catch (Exception e) {
-            logger.warn("Failed to fetch real-time CI/CD metrics: {}", e.getMessage());
+
+            return Map.of(
+                "summary", Map.of(
+                    "totalPipelines", pipelines.size(),
+                    "successCount", cicd.successCount(),
+                    "failedCount", cicd.failedCount(),
+                    "runningCount", cicd.runningCount(),
+                    "deploymentSuccessRate", formatSuccessRate(cicd.deploymentSuccessRate())
+                ),
+                "pipelines", pipelines
+            );
         }
 
         // Expanded Fallback (Executive Level)
@@ -515,7 +447,7 @@ public class InfraService {
                 Map.of(
                     "id", "frontend-main",
                     "name", "Angular Frontend CI",
-                    "status", getFrontendServiceStatus().equals("failed") ? "failed" : "success",
+                    "status", getPlatformHealth(snapshot).frontendServiceStatus().equals("failed") ? "failed" : "success",
                     "lastRun", "25 mins ago",
                     "duration", "3m 12s",
                     "successRate", "99.2%"
@@ -523,7 +455,7 @@ public class InfraService {
                 Map.of(
                     "id", "backend-main",
                     "name", "Spring Boot API CI",
-                    "status", getBackendServiceStatus().equals("failed") ? "failed" : "success",
+                    "status", getPlatformHealth(snapshot).backendServiceStatus().equals("failed") ? "failed" : "success",
                     "lastRun", "14 mins ago",
                     "duration", "5m 45s",
                     "successRate", "98.5%"
@@ -548,6 +480,11 @@ public class InfraService {
         );
     }
 
+    private String formatSuccessRate(Double rate) {
+        // Static fallback when no finished builds are known yet
+        return rate != null ? String.format("%.1f%%", rate) : "98.2%";
+    }
+
     private String formatDuration(Double ms) {
         if (ms == null || ms <= 0) return "N/A";
         long totalSeconds = (long) (ms / 1000);
@@ -1,8 +1,9 @@
 package com.example.backend.service;
 
-import com.example.backend.client.ActuatorClient;
+import com.example.backend.client.ClusterSnapshot;
 import com.example.backend.client.DockerStatsCollector;
-import com.example.backend.client.PrometheusClient;
+import com.example.backend.client.NodeMetrics;
+import com.example.backend.client.TelemetryCollector;
 import com.example.backend.dto.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -13,8 +14,7 @@ import java.util.stream.Collectors;
 @Service
 public class InfrastructureService {
 
-    private final PrometheusClient prometheusClient;
-    private final ActuatorClient actuatorClient;
+    private final TelemetryCollector telemetryCollector;
     private final DockerStatsCollector dockerStatsCollector;
 
     @Value("${node.1.ip:192.168.126.131}")
@@ -32,9 +32,8 @@ public class InfrastructureService {
     @Value("${node.3.name:vmpipe}")
     private String node3Name;
 
-    public InfrastructureService(PrometheusClient prometheusClient, ActuatorClient actuatorClient, DockerStatsCollector dockerStatsCollector) {
-        this.prometheusClient = prometheusClient;
-        this.actuatorClient = actuatorClient;
+    public InfrastructureService(TelemetryCollector telemetryCollector, DockerStatsCollector dockerStatsCollector) {
+        this.telemetryCollector = telemetryCollector;
         this.dockerStatsCollector = dockerStatsCollector;
     }
 
@@ -46,28 +45,29 @@ public class InfrastructureService {
         );
     }
 
+    /**
+     * The snapshot the views are currently served from. Read it once per request and pass it to the
+     * view methods that take one, so everything in the response describes the same version.
+     */
+    public ClusterSnapshot getSnapshot() {
+        return telemetryCollector.getSnapshot();
+    }
+
     public InfrastructureSummaryDTO getSummary() {
+        return getSummary(telemetryCollector.getSnapshot());
+    }
+
+    public InfrastructureSummaryDTO getSummary(ClusterSnapshot snapshot) {
         InfrastructureSummaryDTO summary = new InfrastructureSummaryDTO();
         
-        int totalRunning = 0;
-        int totalStopped = 0;
         double maxCpu = 0;
         double maxMem = 0;
         boolean telemetryDown = false;
 
-        for (NodeConfig node : getNodesConfig()) {
-            try {
-                totalRunning += prometheusClient.queryActiveContainerCount(); // This should ideally be per node, but current API is global? 
-                // Wait, queryActiveContainerCount in PrometheusClient is global (sum by name).
-                // Actually, prometheus queries in PrometheusClient are global unless it has {instance="..."}.
-                // queryActiveContainerCount is global. I should probably just call it once.
-            } catch (Exception e) {}
-        }
-        
-        // Let's use global metrics for summary but per-node for nodes section.
-        totalRunning = prometheusClient.queryActiveContainerCount();
-        totalStopped = prometheusClient.queryStoppedContainerCount();
-        int incidents = prometheusClient.queryTotalAlerts();
+        // Use global metrics for summary but per-node for nodes section.
+        int totalRunning = snapshot.activeContainerCount();
+        int totalStopped = snapshot.stoppedContainerCount();
+        int incidents = snapshot.totalAlerts();
 
         summary.setContainersRunning(totalRunning);
         summary.setServicesRunning(totalRunning); 
@@ -76,8 +76,9 @@ public class InfrastructureService {
 
         // CPU Usage for summary: take the highest across nodes
         for (NodeConfig node : getNodesConfig()) {
-            Double cpu = prometheusClient.queryNodeCpuUsage(node.ip);
-            Double mem = prometheusClient.queryNodeMemoryUsage(node.ip);
+            NodeMetrics metrics = snapshot.nodeMetrics(node.ip);
+            Double cpu = metrics.cpuUsage();
+            Double mem = metrics.memoryUsage();
             if (cpu == null || mem == null) telemetryDown = true;
             if (cpu != null && cpu > maxCpu) maxCpu = cpu;
             if (mem != null && mem > maxMem) maxMem = mem;
@@ -98,10 +99,11 @@ public class InfrastructureService {
     }
 
     public List<ServiceGroupDTO> getServices() {
-        List<ContainerMetricDTO> allContainers = new ArrayList<>();
-        for (NodeConfig node : getNodesConfig()) {
-            allContainers.addAll(dockerStatsCollector.getAllContainerStats(node.ip, node.name));
-        }
+        return getServices(telemetryCollector.getSnapshot());
+    }
+
+    public List<ServiceGroupDTO> getServices(ClusterSnapshot snapshot) {
+        List<ContainerMetricDTO> allContainers = getContainers(snapshot);
 
         // Deduplicate by name if containers are replicated across nodes, 
         // but usually in Docker Compose they are unique per name or have node prefixes.
@@ -125,22 +127,31 @@ public class InfrastructureService {
     }
 
     public List<ContainerMetricDTO> getContainers() {
+        return getContainers(telemetryCollector.getSnapshot());
+    }
+
+    public List<ContainerMetricDTO> getContainers(ClusterSnapshot snapshot) {
         List<ContainerMetricDTO> allContainers = new ArrayList<>();
         for (NodeConfig node : getNodesConfig()) {
-            allContainers.addAll(dockerStatsCollector.getAllContainerStats(node.ip, node.name));
+            allContainers.addAll(dockerStatsCollector.getAllContainerStats(snapshot, node.ip, node.name));
         }
         return allContainers;
     }
 
     public List<NodeMetricDTO> getNodes() {
+        return getNodes(telemetryCollector.getSnapshot());
+    }
+
+    public List<NodeMetricDTO> getNodes(ClusterSnapshot snapshot) {
         List<NodeMetricDTO> nodes = new ArrayList<>();
         for (NodeConfig config : getNodesConfig()) {
             NodeMetricDTO node = new NodeMetricDTO();
             node.setHostname(config.name);
             
-            Double cpu = prometheusClient.queryNodeCpuUsage(config.ip);
-            Double mem = prometheusClient.queryNodeMemoryUsage(config.ip);
-            Double disk = prometheusClient.queryNodeDiskUsage(config.ip);
+            NodeMetrics metrics = snapshot.nodeMetrics(config.ip);
+            Double cpu = metrics.cpuUsage();
+            Double mem = metrics.memoryUsage();
+            Double disk = metrics.diskUsage();
 
             node.setCpuUsage(cpu != null ? String.format("%.1f%%", cpu) : "N/A");
             node.setMemoryUsed(mem != null ? String.format("%.1f%%", mem) : "N/A");
@@ -153,14 +164,19 @@ public class InfrastructureService {
     }
 
     public List<String> getRisks() {
+        return getRisks(telemetryCollector.getSnapshot());
+    }
+
+    public List<String> getRisks(ClusterSnapshot snapshot) {
         List<String> risks = new ArrayList<>();
         boolean anyTelemetryDown = false;
-        int totalStopped = prometheusClient.queryStoppedContainerCount();
+        int totalStopped = snapshot.stoppedContainerCount();
 
         for (NodeConfig node : getNodesConfig()) {
-            Double cpu = prometheusClient.queryNodeCpuUsage(node.ip);
-            Double mem = prometheusClient.queryNodeMemoryUsage(node.ip);
-            Double disk = prometheusClient.queryNodeDiskUsage(node.ip);
+            NodeMetrics metrics = snapshot.nodeMetrics(node.ip);
+            Double cpu = metrics.cpuUsage();
+            Double mem = metrics.memoryUsage();
+            Double disk = metrics.diskUsage();
 
             if (cpu == null || mem == null || disk == null) {
                 anyTelemetryDown = true;
@@ -0,0 +1,58 @@
+package com.example.backend.service;
+
+import com.example.backend.client.ClusterSnapshot;
+
+/**
+ * Health signals derived from one {@link ClusterSnapshot}. Each signal is evaluated exactly once and the
+ * dependent ones (infrastructure, delivery status) read the already computed values.
+ */
+public record PlatformHealth(
+        long snapshotVersion,
+        String productionHealth,
+        String backendHealth,
+        String infrastructureHealth,
+        String frontendServiceStatus,
+        String backendServiceStatus) {
+
+    public static PlatformHealth evaluate(ClusterSnapshot snapshot) {
+        String production = productionHealth(snapshot);
+        String backend = backendHealth(snapshot);
+        return new PlatformHealth(
+                snapshot.version(),
+                production,
+                backend,
+                infrastructureHealth(production, backend),
+                "down".equals(production) ? "failed" : "idle",
+                "unreachable".equals(backend) || "critical".equals(backend) ? "failed" : "idle");
+    }
+
+    /**
+     * Matches Prometheus Alert: probe_success{job="angular-frontend"}
+     */
+    private static String productionHealth(ClusterSnapshot snapshot) {
+        if (snapshot.version() == 0) {
+            return "degraded";
+        }
+        return snapshot.frontendProbeUp() ? "up" : "down";
+    }
+
+    /**
+     * Prometheus {@code up} first, then the Actuator health summary.
+     */
+    private static String backendHealth(ClusterSnapshot snapshot) {
+        if (!snapshot.backendUp()) return "critical";
+
+        String health = snapshot.backendHealthSummary();
+        if (health != null && health.toLowerCase().contains("up")) {
+            return "healthy";
+        }
+        return "unreachable";
+    }
+
+    private static String infrastructureHealth(String production, String backend) {
+        if ("down".equals(production)) return "critical";
+        if ("critical".equals(backend)) return "critical";
+        if ("unreachable".equals(backend)) return "warning";
+        return "stable";
+    }
+}
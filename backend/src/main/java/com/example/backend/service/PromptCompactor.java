@@ -0,0 +1,250 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the metrics a dashboard sends into a compact prompt section that fits {@code ai.prompt.token-budget}.
+ * Objects are written minified with bare keys, arrays of flat records as one header plus delimited rows, and
+ * arrays longer than {@code ai.prompt.max-array-items} collapse into their count, a severity histogram when the
+ * items carry a severity, and the top {@code ai.prompt.top-items} items. While the result is over budget the
+ * limits are halved, and as a last resort the text is cut. Tokens are estimated locally at four characters per
+ * token, which is close enough for English and JSON with the Llama tokenizer.
+ * Reports {@code ai.prompt.tokens} and {@code ai.prompt.tokens.saved} per request.
+ */
+@Component
+public class PromptCompactor {
+
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final String TRUNCATED = "...(truncated)";
+    private static final Pattern BARE_KEY = Pattern.compile("[A-Za-z_][A-Za-z0-9_.-]*");
+    private static final List<String> SEVERITIES = List.of("CRITICAL", "HIGH", "MEDIUM", "LOW", "INFO");
+
+    private final int tokenBudget;
+    private final int maxArrayItems;
+    private final int topItems;
+    private final DistributionSummary promptTokens;
+    private final DistributionSummary savedTokens;
+
+    public PromptCompactor(MeterRegistry meterRegistry,
+                           @Value("${ai.prompt.token-budget:1500}") int tokenBudget,
+                           @Value("${ai.prompt.max-array-items:20}") int maxArrayItems,
+                           @Value("${ai.prompt.top-items:5}") int topItems) {
+        this.tokenBudget = tokenBudget;
+        this.maxArrayItems = maxArrayItems;
+        this.topItems = topItems;
+        this.promptTokens = DistributionSummary.builder("ai.prompt.tokens")
+                .description("Estimated tokens of the compacted metrics sent to the model")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+        this.savedTokens = DistributionSummary.builder("ai.prompt.tokens.saved")
+                .description("Estimated tokens saved by compaction compared to pretty-printed JSON")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+    }
+
+    public record Compacted(String text, int originalTokens, int tokens) {
+        public int saved() {
+            return Math.max(0, originalTokens - tokens);
+        }
+    }
+
+    public Compacted compact(JsonNode data) {
+        int originalTokens = estimateTokens(data != null ? data.toPrettyString() : "null");
+        int limit = maxArrayItems;
+        String text = render(collapse(data, limit, Math.min(topItems, limit)));
+        while (estimateTokens(text) > tokenBudget && limit > 0) {
+            limit /= 2;
+            text = render(collapse(data, limit, Math.min(topItems, limit)));
+        }
+        if (estimateTokens(text) > tokenBudget) {
+            int keep = Math.max(0, tokenBudget * CHARS_PER_TOKEN - TRUNCATED.length());
+            text = text.substring(0, Math.min(keep, text.length())) + TRUNCATED;
+        }
+        Compacted compacted = new Compacted(text, originalTokens, estimateTokens(text));
+        promptTokens.record(compacted.tokens());
+        savedTokens.record(compacted.saved());
+        return compacted;
+    }
+
+    public static int estimateTokens(String text) {
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Copy of {@code node} where every array longer than {@code limit} is replaced by a summary.
+     */
+    static JsonNode collapse(JsonNode node, int limit, int top) {
+        if (node == null) {
+            return JsonNodeFactory.instance.nullNode();
+        }
+        if (node.isObject()) {
+            ObjectNode copy = JsonNodeFactory.instance.objectNode();
+            node.fields().forEachRemaining(field -> copy.set(field.getKey(), collapse(field.getValue(), limit, top)));
+            return copy;
+        }
+        if (!node.isArray()) {
+            return node;
+        }
+        if (node.size() <= limit) {
+            ArrayNode copy = JsonNodeFactory.instance.arrayNode();
+            node.forEach(item -> copy.add(collapse(item, limit, top)));
+            return copy;
+        }
+
+        ObjectNode summary = JsonNodeFactory.instance.objectNode();
+        summary.put("count", node.size());
+        List<JsonNode> items = new ArrayList<>(node.size());
+        node.forEach(items::add);
+        boolean hasSeverity = items.stream().anyMatch(item -> severityOf(item) != null);
+        if (hasSeverity) {
+            Map<String, Integer> histogram = new LinkedHashMap<>();
+            for (JsonNode item : items) {
+                String severity = severityOf(item);
+                histogram.merge(severity != null ? severity : "UNKNOWN", 1, Integer::sum);
+            }
+            ObjectNode bySeverity = summary.putObject("bySeverity");
+            histogram.entrySet().stream()
+                    .sorted(Comparator.comparingInt(entry -> severityRank(entry.getKey())))
+                    .forEach(entry -> bySeverity.put(entry.getKey(), entry.getValue()));
+            // Stable sort, so items of equal severity keep the order the client sent them in
+            items.sort(Comparator.comparingInt(item -> severityRank(severityOf(item))));
+        }
+        if (top > 0) {
+            ArrayNode topNode = summary.putArray(hasSeverity ? "top" : "first");
+            items.stream().limit(top).forEach(item -> topNode.add(collapse(item, limit, top)));
+        }
+        return summary;
+    }
+
+    private static String severityOf(JsonNode item) {
+        if (!item.isObject()) {
+            return null;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = item.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getKey().equalsIgnoreCase("severity") && field.getValue().isTextual()) {
+                return field.getValue().asText().toUpperCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    private static int severityRank(String severity) {
+        int rank = severity != null ? SEVERITIES.indexOf(severity) : -1;
+        return rank >= 0 ? rank : SEVERITIES.size();
+    }
+
+    static String render(JsonNode node) {
+        StringBuilder out = new StringBuilder();
+        render(out, node);
+        return out.toString();
+    }
+
+    private static void render(StringBuilder out, JsonNode node) {
+        if (node.isObject()) {
+            out.append('{');
+            boolean first = true;
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                key(out, field.getKey());
+                out.append(':');
+                render(out, field.getValue());
+            }
+            out.append('}');
+        } else if (node.isArray()) {
+            List<String> columns = tableColumns(node);
+            if (columns != null) {
+                renderTable(out, node, columns);
+                return;
+            }
+            out.append('[');
+            for (int i = 0; i < node.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                render(out, node.get(i));
+            }
+            out.append(']');
+        } else {
+            out.append(node);
+        }
+    }
+
+    /**
+     * Columns shared by every item when the array is at least two flat records with the same keys, else null.
+     */
+    private static List<String> tableColumns(JsonNode array) {
+        if (array.size() < 2 || !array.get(0).isObject()) {
+            return null;
+        }
+        List<String> columns = new ArrayList<>();
+        array.get(0).fieldNames().forEachRemaining(columns::add);
+        for (JsonNode item : array) {
+            if (!item.isObject() || item.size() != columns.size()) {
+                return null;
+            }
+            for (String column : columns) {
+                JsonNode value = item.get(column);
+                if (value == null || value.isContainerNode()) {
+                    return null;
+                }
+            }
+        }
+        return columns;
+    }
+
+    // [rows]{col1|col2}: a|b;c|d
+    private static void renderTable(StringBuilder out, JsonNode array, List<String> columns) {
+        out.append('[').append(array.size()).append("]{");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.append('|');
+            }
+            key(out, columns.get(i));
+        }
+        out.append("}:");
+        for (int row = 0; row < array.size(); row++) {
+            if (row > 0) {
+                out.append(';');
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    out.append('|');
+                }
+                JsonNode value = array.get(row).get(columns.get(i));
+                out.append(value.isTextual() ? cell(value.asText()) : value.toString());
+            }
+        }
+    }
+
+    private static String cell(String text) {
+        return text.indexOf('|') >= 0 || text.indexOf(';') >= 0 || text.isEmpty()
+                ? TextNode.valueOf(text).toString() : text;
+    }
+
+    private static void key(StringBuilder out, String key) {
+        out.append(BARE_KEY.matcher(key).matches() ? key : TextNode.valueOf(key).toString());
+    }
+}
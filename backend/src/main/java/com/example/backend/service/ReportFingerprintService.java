@@ -0,0 +1,69 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.ReportFingerprint;
+import com.example.backend.repository.ReportFingerprintRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-hash deduplication of scanner uploads. Counts hits and misses per report kind
+ * ({@code report.ingest.dedupe}) and exposes the overall hit ratio ({@code report.ingest.dedupe.hit.ratio}).
+ */
+@Service
+public class ReportFingerprintService {
+
+    private final ReportFingerprintRepository fingerprintRepository;
+    private final Map<ReportFingerprint.Kind, Counter> hits = new EnumMap<>(ReportFingerprint.Kind.class);
+    private final Map<ReportFingerprint.Kind, Counter> misses = new EnumMap<>(ReportFingerprint.Kind.class);
+    private final AtomicLong totalHits = new AtomicLong();
+    private final AtomicLong totalLookups = new AtomicLong();
+
+    public ReportFingerprintService(ReportFingerprintRepository fingerprintRepository, MeterRegistry meterRegistry) {
+        this.fingerprintRepository = fingerprintRepository;
+        for (ReportFingerprint.Kind kind : ReportFingerprint.Kind.values()) {
+            String tag = kind.name().toLowerCase();
+            hits.put(kind, Counter.builder("report.ingest.dedupe")
+                    .description("Scanner uploads looked up by content hash")
+                    .tag("kind", tag).tag("result", "hit")
+                    .register(meterRegistry));
+            misses.put(kind, Counter.builder("report.ingest.dedupe")
+                    .description("Scanner uploads looked up by content hash")
+                    .tag("kind", tag).tag("result", "miss")
+                    .register(meterRegistry));
+        }
+        meterRegistry.gauge("report.ingest.dedupe.hit.ratio", this, service -> {
+            long lookups = service.totalLookups.get();
+            return lookups == 0 ? 0.0 : (double) service.totalHits.get() / lookups;
+        });
+    }
+
+    /**
+     * Pipeline holding the stored parse result of an identical upload, if one was ingested before.
+     */
+    public Optional<Long> findIngested(ReportFingerprint.Kind kind, String sha256) {
+        Optional<Long> pipelineId = fingerprintRepository.findByKindAndSha256(kind, sha256)
+                .map(ReportFingerprint::getPipelineId);
+        totalLookups.incrementAndGet();
+        if (pipelineId.isPresent()) {
+            totalHits.incrementAndGet();
+            hits.get(kind).increment();
+        } else {
+            misses.get(kind).increment();
+        }
+        return pipelineId;
+    }
+
+    /**
+     * Remember that {@code pipelineId} holds the parse result of this upload. Runs on the ingest
+     * transaction, so a rolled-back ingest leaves no fingerprint behind.
+     */
+    public void remember(ReportFingerprint.Kind kind, String sha256, long pipelineId) {
+        fingerprintRepository.insertIfAbsent(kind.name(), sha256, pipelineId);
+    }
+}
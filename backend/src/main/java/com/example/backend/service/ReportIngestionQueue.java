@@ -0,0 +1,217 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportRequest;
+import com.example.backend.entity.Pipeline;
+import com.example.backend.ingest.IngestionJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Bounded queue in front of {@link ReportService#saveReport}. Uploads are spooled to disk inside the request,
+ * then parsed and persisted by a fixed worker pool; callers poll the returned job for the outcome.
+ * When {@code ingest.queue.capacity} jobs are already waiting, new uploads are rejected (backpressure).
+ * <p>
+ * Jobs live in memory only. After a restart, uploads that were still queued or processing are gone, and their
+ * job ids answer 404; the client has to upload again, or check the report history for a pipeline that was
+ * stored before the restart. Their spooled files are swept when the queue starts, so {@code ingest.spool-dir}
+ * must not be shared between instances.
+ */
+@Service
+public class ReportIngestionQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportIngestionQueue.class);
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private final ReportService reportService;
+    private final ThreadPoolExecutor workers;
+    private final Path spoolDir;
+    private final Map<String, IngestionJob> jobs = new ConcurrentHashMap<>();
+
+    private final Timer waitTimer;
+    private final Timer processingTimer;
+    private final Counter rejectedCounter;
+
+    public ReportIngestionQueue(ReportService reportService, MeterRegistry meterRegistry,
+                                @Value("${ingest.workers:2}") int workerCount,
+                                @Value("${ingest.queue.capacity:20}") int queueCapacity,
+                                @Value("${ingest.spool-dir:${java.io.tmpdir}/report-ingest}") String spoolDir) throws IOException {
+        this.reportService = reportService;
+        this.spoolDir = Files.createDirectories(Path.of(spoolDir));
+        sweepOrphanedSpoolFiles();
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "report-ingest-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        meterRegistry.gauge("report.ingest.queue.depth", workers, executor -> executor.getQueue().size());
+        meterRegistry.gauge("report.ingest.active", workers, ThreadPoolExecutor::getActiveCount);
+        this.waitTimer = Timer.builder("report.ingest.wait")
+                .description("Time an upload waits in the ingestion queue")
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder("report.ingest.processing")
+                .description("Time to parse and persist one upload")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("report.ingest.rejected")
+                .description("Uploads rejected because the ingestion queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Spool the uploads and enqueue them.
+     *
+     * @throws RejectedExecutionException when the queue is full; nothing is kept in that case
+     */
+    public IngestionJob submit(ReportRequest request, MultipartFile sonarFile, MultipartFile trivyFile,
+                               MultipartFile owaspFile) throws IOException {
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString(), request.getComponent());
+        List<Path> spooled = new ArrayList<>(3);
+        try {
+            Spooled sonar = spool(job, "sonar", sonarFile, spooled);
+            Spooled trivy = spool(job, "trivy", trivyFile, spooled);
+            Spooled owasp = spool(job, "owasp", owaspFile, spooled);
+            request.setSonarData(sonar.resource());
+            request.setSonarSha256(sonar.sha256());
+            request.setTrivyData(trivy.resource());
+            request.setTrivySha256(trivy.sha256());
+            request.setOwaspData(owasp.resource());
+            request.setOwaspSha256(owasp.sha256());
+
+            jobs.put(job.getId(), job);
+            workers.execute(() -> process(job, request, spooled));
+        } catch (IOException | RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            deleteQuietly(spooled);
+            if (e instanceof RejectedExecutionException) {
+                rejectedCounter.increment();
+            }
+            throw e;
+        }
+        logger.info("Queued ingestion job {} for component {} (queue depth {})", job.getId(), job.getComponent(),
+                workers.getQueue().size());
+        return job;
+    }
+
+    public Optional<IngestionJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void process(IngestionJob job, ReportRequest request, List<Path> spooled) {
+        waitTimer.record(Duration.between(job.getSubmittedAt(), Instant.now()));
+        job.started();
+        Timer.Sample sample = Timer.start();
+        try {
+            Pipeline pipeline = reportService.saveReport(request);
+            job.completed(pipeline.getId());
+            logger.info("Ingestion job {} stored pipeline {}", job.getId(), pipeline.getId());
+        } catch (Exception e) {
+            job.failed(e.getMessage());
+            logger.error("Ingestion job {} failed", job.getId(), e);
+        } finally {
+            sample.stop(processingTimer);
+            deleteQuietly(spooled);
+        }
+    }
+
+    /**
+     * Copies the upload into the spool directory, fingerprinting it with SHA-256 on the way so that
+     * identical reports can be recognized without reading them again.
+     */
+    private Spooled spool(IngestionJob job, String kind, MultipartFile file, List<Path> spooled) throws IOException {
+        if (file == null) {
+            return Spooled.NONE;
+        }
+        Path target = spoolDir.resolve(job.getId() + "-" + kind + ".json");
+        MessageDigest digest = sha256();
+        spooled.add(target);
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(in, target);
+        }
+        return new Spooled(new FileSystemResource(target), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Deletes uploads spooled by a previous run; no job of this instance exists yet to own them.
+     */
+    private void sweepOrphanedSpoolFiles() throws IOException {
+        List<Path> orphaned;
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            orphaned = files.filter(Files::isRegularFile).toList();
+        }
+        if (!orphaned.isEmpty()) {
+            logger.warn("Deleting {} spooled uploads left over from a previous run; their jobs were lost",
+                    orphaned.size());
+            deleteQuietly(orphaned);
+        }
+    }
+
+    private record Spooled(FileSystemResource resource, String sha256) {
+        static final Spooled NONE = new Spooled(null, null);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every JVM", e);
+        }
+    }
+
+    private static void deleteQuietly(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete spooled upload {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+}
@@ -1,21 +1,33 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.HistoryPage;
 import com.example.backend.dto.ReportRequest;
 import com.example.backend.entity.*;
 import com.example.backend.repository.*;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.example.backend.ingest.OwaspVulnerability;
+import com.example.backend.ingest.ParallelReportParser;
+import com.example.backend.ingest.ReportIngestedEvent;
+import com.example.backend.ingest.Severity;
+import com.example.backend.ingest.TrivyVulnerability;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Sort;
 
 @Service
 public class ReportService {
@@ -34,181 +46,252 @@ public class ReportService {
     @Autowired
     private OwaspFindingRepository owaspFindingRepository;
 
-    @Transactional
-    public Pipeline saveReport(ReportRequest request) {
+    @Autowired
+    private ParallelReportParser parallelReportParser;
+
+    @Autowired
+    private FindingBulkWriter findingBulkWriter;
+
+    @Autowired
+    private PipelineHistoryQuery pipelineHistoryQuery;
+
+    @Autowired
+    private FindingDiffService findingDiffService;
+
+    @Autowired
+    private ReportFingerprintService reportFingerprintService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Pipelines are immutable after ingest, so the history only changes when a report is saved.
+    // The boot time keeps versions from a previous run from matching after a restart.
+    private final long bootId = System.currentTimeMillis();
+    private final AtomicLong historyVersion = new AtomicLong();
+
+    private static final String ALL_COMPONENTS = "";
+    private final Map<String, LatestPipeline> latestPipelines = new ConcurrentHashMap<>();
+
+    @Transactional(rollbackFor = IOException.class)
+    public Pipeline saveReport(ReportRequest request) throws IOException {
         Pipeline pipeline = new Pipeline();
         pipeline.setTimestamp(LocalDateTime.now());
         pipeline.setStatus(request.getStatus());
         pipeline.setDuration(request.getDuration());
         pipeline.setCommitHash(request.getCommitHash());
         pipeline.setComponent(request.getComponent() != null ? request.getComponent() : "backend");
+        // Looked up before this pipeline is saved, which would otherwise be the latest itself
+        Pipeline previous = pipelineRepository.findTopByComponentWithLegacy(pipeline.getComponent()).orElse(null);
         pipeline.setAppVersion(request.getAppVersion());
         
         pipeline.setTrivyFindings(new ArrayList<>());
         pipeline.setOwaspFindings(new ArrayList<>());
+        pipeline.setTrivyCounts(SeverityCounters.zero());
+        pipeline.setOwaspCounts(SeverityCounters.zero());
 
-        if (request.getSonarData() != null) {
-            saveSonarData(pipeline, request.getSonarData());
-        }
+        // Fingerprint hits are settled first so that only reports not seen before are handed to the parsers
+        Optional<Pipeline> trivySource = request.getTrivyData() != null
+                ? ingestedBefore(ReportFingerprint.Kind.TRIVY, request.getTrivySha256()) : Optional.empty();
+        Optional<Pipeline> owaspSource = request.getOwaspData() != null
+                ? ingestedBefore(ReportFingerprint.Kind.OWASP, request.getOwaspSha256()) : Optional.empty();
+        InputStreamSource trivyToParse = trivySource.isEmpty() ? request.getTrivyData() : null;
+        InputStreamSource owaspToParse = owaspSource.isEmpty() ? request.getOwaspData() : null;
 
-        if (request.getTrivyData() != null) {
-            saveTrivyData(pipeline, request.getTrivyData());
-        }
+        Pipeline saved;
+        // Trivy and OWASP are parsed in the background while Sonar is parsed here and the findings are written
+        try (ParallelReportParser.Session findings = parallelReportParser.startFindings(trivyToParse, owaspToParse)) {
+            boolean sonarParsed = false;
+            if (request.getSonarData() != null) {
+                SonarReport report = ingestedBefore(ReportFingerprint.Kind.SONAR, request.getSonarSha256())
+                        .map(Pipeline::getSonarReport)
+                        .map(ReportService::copyOfSonar)
+                        .orElse(null);
+                if (report == null) {
+                    report = parallelReportParser.parseSonar(request.getSonarData());
+                    sonarParsed = true;
+                }
+                report.setPipeline(pipeline);
+                pipeline.setSonarReport(report);
+                logger.info("Final aggregated report: Bugs={}, CodeSmells={}, Vuls={}, Duplication={}",
+                        pipeline.getSonarReport().getBugs(), pipeline.getSonarReport().getCodeSmells(),
+                        pipeline.getSonarReport().getVulnerabilities(), pipeline.getSonarReport().getDuplication());
+            }
 
-        if (request.getOwaspData() != null) {
-            saveOwaspData(pipeline, request.getOwaspData());
-        }
+            // Findings are bulk-inserted by pipeline id below, so the pipeline row must exist first
+            saved = pipelineRepository.save(pipeline);
 
-        return pipelineRepository.save(pipeline);
-    }
+            if (sonarParsed) {
+                remember(ReportFingerprint.Kind.SONAR, request.getSonarSha256(), saved);
+            }
 
-    private void saveSonarData(Pipeline pipeline, JsonNode sonarData) {
-        logger.info("Deep parsing SonarQube data: {}", sonarData.toString());
-        SonarReport report = new SonarReport();
-        
-        // 1. Check if this is an Issues Search Report (list of issues)
-        JsonNode issues = sonarData.path("issues");
-        if (issues.isArray() && !issues.isEmpty()) {
-            logger.info("Detected SonarQube Issues Search report with {} issues", issues.size());
-            int bugs = 0;
-            int vulnerabilities = 0;
-            int codeSmells = 0;
-            
-            for (JsonNode issue : issues) {
-                String type = issue.path("type").asText();
-                if ("BUG".equalsIgnoreCase(type)) bugs++;
-                else if ("VULNERABILITY".equalsIgnoreCase(type)) vulnerabilities++;
-                else if ("CODE_SMELL".equalsIgnoreCase(type)) codeSmells++;
+            if (trivySource.isPresent()) {
+                saved.setTrivySourcePipelineId(trivySource.get().trivyFindingsOwnerId());
+                saved.setTrivyCounts(copyOfCounters(trivySource.get().getTrivyCounts()));
+                logger.info("Trivy report of pipeline {} is identical to pipeline {}, reusing its findings",
+                        saved.getId(), saved.getTrivySourcePipelineId());
+            }
+            if (owaspSource.isPresent()) {
+                saved.setOwaspSourcePipelineId(owaspSource.get().owaspFindingsOwnerId());
+                saved.setOwaspCounts(copyOfCounters(owaspSource.get().getOwaspCounts()));
+                saved.setMaxCvss(owaspSource.get().getMaxCvss());
+                logger.info("OWASP report of pipeline {} is identical to pipeline {}, reusing its findings",
+                        saved.getId(), saved.getOwaspSourcePipelineId());
             }
-            report.setBugs(bugs);
-            report.setVulnerabilities(vulnerabilities);
-            report.setCodeSmells(codeSmells);
-            
-            // Note: Issues reports usually don't contain duplication %, 
-            // but we'll try to find it via recursive search just in case
-        }
 
-        // 2. Try to find measures in standard arrays (root or component)
-        JsonNode measures = sonarData.path("measures");
-        if (measures.isMissingNode() || !measures.isArray()) {
-            measures = sonarData.path("component").path("measures");
-        }
+            findings.drain(chunk -> saveTrivyChunk(saved, chunk), chunk -> saveOwaspChunk(saved, chunk));
 
-        if (measures.isArray()) {
-            logger.info("Found measures array with {} items", measures.size());
-            for (JsonNode m : measures) {
-                String key = m.path("metric").asText().toLowerCase();
-                String val = m.path("value").asText();
-                applyMetric(report, key, val);
+            if (trivyToParse != null) {
+                logger.info("Stored {} Trivy findings for pipeline {}", findings.getTrivyCount(), saved.getId());
+                remember(ReportFingerprint.Kind.TRIVY, request.getTrivySha256(), saved);
             }
-        } 
-        
-        // 3. Fallback: Recursive search for any lingering metrics
-        parseRecursively(sonarData, report);
-
-        report.setPipeline(pipeline);
-        pipeline.setSonarReport(report);
-        logger.info("Final aggregated report: Bugs={}, CodeSmells={}, Vuls={}, Duplication={}", 
-                report.getBugs(), report.getCodeSmells(), report.getVulnerabilities(), report.getDuplication());
-    }
-
-    private void parseRecursively(JsonNode node, SonarReport report) {
-        if (node.isObject()) {
-            node.fields().forEachRemaining(entry -> {
-                String key = entry.getKey().toLowerCase();
-                if (entry.getValue().isValueNode()) {
-                    applyMetric(report, key, entry.getValue().asText());
-                } else {
-                    parseRecursively(entry.getValue(), report);
-                }
-            });
-        } else if (node.isArray()) {
-            for (JsonNode item : node) {
-                parseRecursively(item, report);
+            if (owaspToParse != null) {
+                logger.info("Stored {} OWASP findings for pipeline {}", findings.getOwaspCount(), saved.getId());
+                remember(ReportFingerprint.Kind.OWASP, request.getOwaspSha256(), saved);
             }
         }
+        // Severity counters filled in while streaming the findings are written by the flush at commit
+
+        findingDiffService.record(saved, previous, request.getTrivyData() != null, request.getOwaspData() != null);
+
+        eventPublisher.publishEvent(new ReportIngestedEvent(saved.getId(), saved.getComponent()));
+
+        afterCommit(() -> {
+            historyVersion.incrementAndGet();
+            // Only replaces entries already cached; an absent one is loaded from the table on next read
+            LatestPipeline latest = LatestPipeline.of(saved);
+            latestPipelines.computeIfPresent(saved.getComponent(), (k, cached) -> cached.newer(latest));
+            latestPipelines.computeIfPresent(ALL_COMPONENTS, (k, cached) -> cached.newer(latest));
+        });
+        return saved;
     }
 
-    private void applyMetric(SonarReport report, String key, String val) {
-        if (val == null || val.isEmpty() || val.equals("null")) return;
-        
-        try {
-            if (key.contains("bug")) {
-                if (report.getBugs() == null) report.setBugs((int) Double.parseDouble(val));
-            } else if (key.contains("vulnerabilit")) {
-                if (report.getVulnerabilities() == null) report.setVulnerabilities((int) Double.parseDouble(val));
-            } else if (key.contains("code_smell") || key.contains("smell")) {
-                if (report.getCodeSmells() == null) report.setCodeSmells((int) Double.parseDouble(val));
-            } else if (key.contains("duplication") || key.contains("duplicated_lines")) {
-                if (report.getDuplication() == null) report.setDuplication(Double.parseDouble(val));
-            } else if (key.contains("coverage")) {
-                if (report.getCoverage() == null) report.setCoverage(Double.parseDouble(val));
-            }
-        } catch (Exception e) {
-            logger.debug("Could not parse value '{}' for key '{}'", val, key);
+    private Optional<Pipeline> ingestedBefore(ReportFingerprint.Kind kind, String sha256) {
+        if (sha256 == null) {
+            return Optional.empty();
         }
+        return reportFingerprintService.findIngested(kind, sha256).flatMap(pipelineRepository::findById);
     }
 
-    private void saveTrivyData(Pipeline pipeline, JsonNode trivyData) {
-        JsonNode results = trivyData.path("Results");
-        for (JsonNode result : results) {
-            JsonNode vulnerabilities = result.path("Vulnerabilities");
-            for (JsonNode vuln : vulnerabilities) {
-                TrivyFinding finding = new TrivyFinding();
-                finding.setCve(vuln.path("VulnerabilityID").asText());
-                finding.setPackageName(vuln.path("PkgName").asText());
-                finding.setSeverity(normalizeSeverity(vuln.path("Severity").asText()));
-                finding.setPipeline(pipeline);
-                pipeline.getTrivyFindings().add(finding);
-            }
+    private void remember(ReportFingerprint.Kind kind, String sha256, Pipeline pipeline) {
+        if (sha256 != null) {
+            reportFingerprintService.remember(kind, sha256, pipeline.getId());
         }
     }
 
-    private void saveOwaspData(Pipeline pipeline, JsonNode owaspData) {
-        JsonNode deps = owaspData.path("dependencies");
-        for (JsonNode dep : deps) {
-            JsonNode vulns = dep.path("vulnerabilities");
-            if (vulns.isArray()) {
-                for (JsonNode vuln : vulns) {
-                    OwaspFinding finding = new OwaspFinding();
-                    finding.setDependency(dep.path("fileName").asText());
-                    finding.setCvss(vuln.path("cvssv3").path("baseScore").asDouble());
-                    finding.setSeverity(normalizeSeverity(vuln.path("cvssv3").path("baseSeverity").asText()));
-                    finding.setPipeline(pipeline);
-                    pipeline.getOwaspFindings().add(finding);
-                }
+    private static SonarReport copyOfSonar(SonarReport source) {
+        SonarReport copy = new SonarReport();
+        copy.setBugs(source.getBugs());
+        copy.setVulnerabilities(source.getVulnerabilities());
+        copy.setCodeSmells(source.getCodeSmells());
+        copy.setCoverage(source.getCoverage());
+        copy.setDuplication(source.getDuplication());
+        return copy;
+    }
+
+    private static SeverityCounters copyOfCounters(SeverityCounters source) {
+        return source != null ? source.copy() : SeverityCounters.zero();
+    }
+
+    private void saveTrivyChunk(Pipeline pipeline, List<TrivyVulnerability> chunk) {
+        SeverityCounters counts = pipeline.getTrivyCounts();
+        for (TrivyVulnerability vuln : chunk) {
+            counts.record(Severity.normalize(vuln.severity()));
+        }
+        findingBulkWriter.insertTrivyFindings(pipeline.getId(), chunk);
+    }
+
+    private void saveOwaspChunk(Pipeline pipeline, List<OwaspVulnerability> chunk) {
+        SeverityCounters counts = pipeline.getOwaspCounts();
+        for (OwaspVulnerability vuln : chunk) {
+            counts.record(Severity.normalize(vuln.severity()));
+            if (pipeline.getMaxCvss() == null || vuln.cvss() > pipeline.getMaxCvss()) {
+                pipeline.setMaxCvss(vuln.cvss());
             }
         }
+        findingBulkWriter.insertOwaspFindings(pipeline.getId(), chunk);
     }
 
+    /**
+     * Latest pipeline of a component, or of all components when none is given. The latest pipeline id is
+     * cached per component and replaced when a newer report commits, so only the first lookup per component
+     * hits the pipeline table; the entity itself is then read by primary key.
+     */
     public Optional<Pipeline> getLatestReport(String component) {
+        String key = component != null ? component : ALL_COMPONENTS;
+        LatestPipeline latest = latestPipelines.computeIfAbsent(key, k -> findLatest(component)
+                .map(LatestPipeline::of)
+                .orElse(null));
+        if (latest == null) {
+            return Optional.empty();
+        }
+        return pipelineRepository.findById(latest.id());
+    }
+
+    private Optional<Pipeline> findLatest(String component) {
         if (component != null && !component.isEmpty()) {
             return pipelineRepository.findTopByComponentWithLegacy(component);
         }
-        return pipelineRepository.findAll(Sort.by(Sort.Direction.DESC, "timestamp"))
-                .stream()
-                .findFirst();
+        return pipelineRepository.findFirstByOrderByTimestampDescIdDesc();
     }
 
-    public List<Pipeline> getReportHistory(String component) {
-        if (component != null && !component.isEmpty()) {
-            return pipelineRepository.findByComponentWithLegacy(component);
+    /**
+     * Id and timestamp of the latest pipeline, enough to order two candidates without loading either.
+     */
+    private record LatestPipeline(Long id, LocalDateTime timestamp) {
+
+        static LatestPipeline of(Pipeline pipeline) {
+            return new LatestPipeline(pipeline.getId(), pipeline.getTimestamp());
         }
-        return pipelineRepository.findAll(Sort.by(Sort.Direction.DESC, "timestamp"));
+
+        LatestPipeline newer(LatestPipeline other) {
+            if (timestamp == null || other.timestamp == null) {
+                return other.id > id ? other : this;
+            }
+            int byTime = other.timestamp.compareTo(timestamp);
+            return byTime > 0 || (byTime == 0 && other.id > id) ? other : this;
+        }
+    }
+
+    public HistoryPage getReportHistory(String component, String cursor, int limit) {
+        return pipelineHistoryQuery.findPage(component, cursor, limit);
+    }
+
+    /**
+     * Opaque version of the stored report history, used as the strong ETag of history reads.
+     */
+    public String getHistoryVersion() {
+        return bootId + "-" + historyVersion.get();
+    }
+
+    // Readers must not see the new version or latest pipeline before the new rows are visible
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     public Optional<Pipeline> getReportById(Long id) {
         return pipelineRepository.findById(id);
     }
 
-    private Integer normalizeSeverity(String severity) {
-        if (severity == null) return 1;
-        String sev = severity.toUpperCase();
-        if (sev.equals("CRITICAL")) return 5;
-        if (sev.equals("HIGH")) return 4;
-        if (sev.equals("MEDIUM")) return 3;
-        if (sev.equals("LOW")) return 2;
-        return 1;
+    public boolean reportExists(Long id) {
+        return pipelineRepository.existsById(id);
+    }
+
+    // Findings are read with their catalog entries in one query rather than through the lazy collections
+    public List<TrivyFinding> getTrivyFindings(Pipeline pipeline) {
+        return trivyFindingRepository.findWithCatalogByPipelineId(pipeline.trivyFindingsOwnerId());
+    }
+
+    public List<OwaspFinding> getOwaspFindings(Pipeline pipeline) {
+        return owaspFindingRepository.findWithCatalogByPipelineId(pipeline.owaspFindingsOwnerId());
     }
 }
 
@@ -0,0 +1,282 @@
+package com.example.backend.service;
+
+import com.example.backend.client.ClusterSnapshot;
+import com.example.backend.client.TelemetryCollector;
+import com.example.backend.client.TelemetrySnapshotEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes dashboard and infrastructure views to Server-Sent Events subscribers.
+ * Each event carries only the top-level fields that changed since the previous snapshot version and uses that
+ * version's {@link ClusterSnapshot#tag() tag} as its id, so a reconnecting client sending {@code Last-Event-ID}
+ * receives just what it missed. Ids from before a restart carry another boot id and get a full snapshot.
+ * Emitters are async requests and hold no servlet thread while idle. Views are built on one stream thread, which
+ * only queues events; each subscriber's queue is written by a small send pool, so a slow client delays nobody
+ * else. A client whose queue is full is disconnected and catches up by reconnecting with its last event id.
+ */
+@Service
+public class TelemetryStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryStreamService.class);
+    private static final int HISTORY_SIZE = 32;
+    static final int MAX_PENDING_EVENTS = 8;
+
+    private final TelemetryCollector telemetryCollector;
+    private final InfraService infraService;
+    private final InfrastructureService infrastructureService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService streamExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "telemetry-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService sendExecutor;
+    private final AtomicInteger activeDrains = new AtomicInteger();
+    private final Counter laggingSubscribers;
+
+    // Views of recent snapshot versions; only touched on the stream thread
+    private final Map<Long, Map<String, JsonNode>> history = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Map<String, JsonNode>> eldest) {
+            return size() > HISTORY_SIZE;
+        }
+    };
+    private long latestVersion;
+    private String latestTag;
+
+    @Value("${stream.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    public TelemetryStreamService(TelemetryCollector telemetryCollector, InfraService infraService,
+                                  InfrastructureService infrastructureService, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${stream.send-threads:4}") int sendThreads) {
+        this.telemetryCollector = telemetryCollector;
+        this.infraService = infraService;
+        this.infrastructureService = infrastructureService;
+        this.objectMapper = objectMapper;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.sendExecutor = Executors.newFixedThreadPool(sendThreads, r -> {
+            Thread thread = new Thread(r, "telemetry-stream-send-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gaugeMapSize("stream.infrastructure.connections", Tags.empty(), subscribers);
+        this.laggingSubscribers = Counter.builder("stream.infrastructure.lagging")
+                .description("Subscribers disconnected because their event queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Register a subscriber. A known {@code lastEventId} gets a delta from that version, anything else a full view.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(emitter));
+
+        streamExecutor.execute(() -> {
+            publishLatest();
+            subscribers.put(emitter, subscriber);
+            Long since = ClusterSnapshot.versionOf(lastEventId);
+            if (since == null || since != latestVersion) {
+                Map<String, JsonNode> base = since != null ? history.get(since) : null;
+                Map<String, JsonNode> latest = history.get(latestVersion);
+                if (base != null) {
+                    subscriber.offer(event("delta", diff(base, latest)));
+                } else if (latest != null) {
+                    subscriber.offer(event("snapshot", latest));
+                }
+            }
+        });
+        return emitter;
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(emitterTimeoutMs);
+    }
+
+    @EventListener
+    public void onSnapshot(TelemetrySnapshotEvent event) {
+        if (!subscribers.isEmpty()) {
+            streamExecutor.execute(this::publishLatest);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(Subscriber::offerHeartbeat);
+    }
+
+    /**
+     * Capture the view for the current snapshot, if newer than the last one, and push the changed fields.
+     */
+    private void publishLatest() {
+        ClusterSnapshot snapshot = telemetryCollector.getSnapshot();
+        if (snapshot.version() <= latestVersion) {
+            return;
+        }
+        Map<String, JsonNode> previous = history.get(latestVersion);
+        Map<String, JsonNode> view = buildView(snapshot);
+        history.put(snapshot.version(), view);
+        latestVersion = snapshot.version();
+        latestTag = snapshot.tag();
+
+        Map<String, JsonNode> changed = previous != null ? diff(previous, view) : view;
+        if (changed.isEmpty()) {
+            return;
+        }
+        String eventName = previous != null ? "delta" : "snapshot";
+        subscribers.values().forEach(subscriber -> subscriber.offer(event(eventName, changed)));
+        logger.debug("Queued {} changed fields of snapshot v{} for {} subscribers", changed.size(), latestVersion,
+                subscribers.size());
+    }
+
+    // Every field from the one snapshot whose version becomes the event id
+    private Map<String, JsonNode> buildView(ClusterSnapshot snapshot) {
+        Map<String, JsonNode> view = new LinkedHashMap<>();
+        infraService.getDashboardSummary(snapshot).forEach((section, value) -> view.put("dashboard." + section, tree(value)));
+        view.put("dashboard.cicd", tree(infraService.getCICDSummary(snapshot)));
+        view.put("infrastructure.summary", tree(infrastructureService.getSummary(snapshot)));
+        view.put("infrastructure.services", tree(infrastructureService.getServices(snapshot)));
+        view.put("infrastructure.containers", tree(infrastructureService.getContainers(snapshot)));
+        view.put("infrastructure.nodes", tree(infrastructureService.getNodes(snapshot)));
+        view.put("infrastructure.risks", tree(infrastructureService.getRisks(snapshot)));
+        return view;
+    }
+
+    private static Map<String, JsonNode> diff(Map<String, JsonNode> base, Map<String, JsonNode> latest) {
+        Map<String, JsonNode> changed = new LinkedHashMap<>();
+        latest.forEach((field, value) -> {
+            if (!Objects.equals(base.get(field), value)) {
+                changed.put(field, value);
+            }
+        });
+        return changed;
+    }
+
+    private JsonNode tree(Object value) {
+        return objectMapper.valueToTree(value);
+    }
+
+    // A builder accumulates its own output, so every subscriber gets a new one
+    private SseEmitter.SseEventBuilder event(String eventName, Map<String, JsonNode> fields) {
+        return SseEmitter.event()
+                .id(latestTag)
+                .name(eventName)
+                .data(fields, MediaType.APPLICATION_JSON);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.keySet().forEach(SseEmitter::complete);
+        streamExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+    }
+
+    /**
+     * Events queued for one client, written in order by at most one send-pool thread at a time.
+     * Missed events cannot be skipped without breaking the deltas, so a full queue disconnects the client.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        private boolean lagging;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (pending.size() >= MAX_PENDING_EVENTS) {
+                // The draining thread completes the emitter once its blocked write returns
+                logger.debug("Disconnecting stream subscriber {} events behind", pending.size());
+                lagging = true;
+                close();
+                laggingSubscribers.increment();
+                return;
+            }
+            pending.add(event);
+            if (!draining) {
+                draining = true;
+                activeDrains.incrementAndGet();
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        // Data events keep the connection alive on their own
+        synchronized void offerHeartbeat() {
+            if (!draining) {
+                offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    SseEmitter.SseEventBuilder event;
+                    synchronized (this) {
+                        event = closed ? null : pending.poll();
+                        if (event == null) {
+                            draining = false;
+                            break;
+                        }
+                    }
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away; the container completes the async request
+                        synchronized (this) {
+                            close();
+                        }
+                    }
+                }
+                if (lagging) {
+                    emitter.complete();
+                }
+            } finally {
+                activeDrains.decrementAndGet();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            pending.clear();
+            subscribers.remove(emitter);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.backend.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CatalogMigrationTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void doesNothingUnlessEnabled() {
+        new CatalogMigration(jdbcTemplate, transactionManager, false, true).migrate();
+
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void linksLegacyLayoutButKeepsColumnsWithoutDropFlag() {
+        legacyLayout();
+
+        new CatalogMigration(jdbcTemplate, transactionManager, true, false).migrate();
+
+        verify(jdbcTemplate, times(3)).update(startsWith("INSERT IGNORE INTO"));
+        verify(jdbcTemplate).update(startsWith("UPDATE trivy_finding f JOIN catalog_cve c"));
+        verify(jdbcTemplate, times(3)).update(contains("IS NULL"));
+        verify(transactionManager, times(3)).commit(any());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void dropsLegacyColumnsOnceEveryRowIsLinked() {
+        legacyLayout();
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM trivy_finding WHERE"), eq(Long.class)))
+                .thenReturn(0L);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM owasp_finding WHERE"), eq(Long.class)))
+                .thenReturn(0L);
+
+        new CatalogMigration(jdbcTemplate, transactionManager, true, true).migrate();
+
+        verify(jdbcTemplate).queryForObject(
+                "SELECT COUNT(*) FROM trivy_finding WHERE cve_id IS NULL AND cve IS NOT NULL", Long.class);
+        verify(jdbcTemplate).execute("ALTER TABLE trivy_finding DROP COLUMN cve");
+        verify(jdbcTemplate).execute("ALTER TABLE trivy_finding DROP COLUMN package_name");
+        verify(jdbcTemplate).execute("ALTER TABLE owasp_finding DROP COLUMN dependency");
+    }
+
+    @Test
+    void keepsColumnWithUnlinkedRows() {
+        legacyLayout();
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM trivy_finding WHERE"), eq(Long.class)))
+                .thenReturn(0L);
+        // A value the catalog could not take, e.g. longer than its column
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM owasp_finding WHERE"), eq(Long.class)))
+                .thenReturn(2L);
+
+        new CatalogMigration(jdbcTemplate, transactionManager, true, true).migrate();
+
+        verify(jdbcTemplate).execute("ALTER TABLE trivy_finding DROP COLUMN cve");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE owasp_finding DROP COLUMN dependency");
+    }
+
+    @Test
+    void leavesMigratedSchemaUntouched() {
+        when(jdbcTemplate.queryForObject(contains("information_schema.columns"), eq(Integer.class),
+                anyString(), anyString())).thenReturn(0);
+
+        new CatalogMigration(jdbcTemplate, transactionManager, true, true).migrate();
+
+        verify(jdbcTemplate, never()).update(anyString());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    /** Schema as left by a version storing the strings on the finding rows. */
+    private void legacyLayout() {
+        when(jdbcTemplate.queryForObject(contains("information_schema.columns"), eq(Integer.class),
+                anyString(), anyString())).thenReturn(1);
+    }
+}
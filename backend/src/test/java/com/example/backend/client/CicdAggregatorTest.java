@@ -0,0 +1,143 @@
+package com.example.backend.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CicdAggregatorTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    private static final double SUCCESS = 0;
+    private static final double FAILURE = 2;
+
+    private final CicdAggregator aggregator = new CicdAggregator();
+
+    @Test
+    void firstSightingPublishesJob() {
+        CicdState state = poll(NOW, job("api", SUCCESS, NOW - HOUR, false), job("web", FAILURE, NOW - 2 * HOUR, false));
+
+        assertEquals(2, state.pipelines().size());
+        PipelineState api = state.pipelines().get(0);
+        assertEquals("api", api.name());
+        assertEquals("success", api.status());
+        assertEquals(NOW - HOUR, api.lastRunMs());
+        // Unseeded: the build present at first sighting is the only one observed
+        assertEquals(100.0, api.successRate());
+        assertEquals(1, state.successCount());
+        assertEquals(1, state.failedCount());
+        assertEquals(50.0, state.deploymentSuccessRate());
+    }
+
+    @Test
+    void firstSightingOfSeededJobUsesSeededRate() {
+        aggregator.seedSuccessRates(List.of(named("api", 80)));
+
+        CicdState state = poll(NOW, job("api", SUCCESS, NOW - HOUR, false));
+
+        // The build present at first sighting is already part of the seeded history
+        assertEquals(80.0, state.pipelines().get(0).successRate());
+    }
+
+    @Test
+    void statusChangesWithNewBuilds() {
+        poll(NOW, job("api", SUCCESS, NOW - 2 * HOUR, false));
+
+        CicdState running = poll(NOW, job("api", SUCCESS, NOW - HOUR, true));
+        assertTrue(running.pipelines().get(0).isRunning());
+        assertEquals(1, running.runningCount());
+
+        CicdState failed = poll(NOW, job("api", FAILURE, NOW - HOUR, false));
+        assertEquals("failed", failed.pipelines().get(0).status());
+        assertEquals(1, failed.failedCount());
+        assertEquals(50.0, failed.pipelines().get(0).successRate());
+    }
+
+    @Test
+    void buildsLeaveTheRollingWindow() {
+        long window = CicdAggregator.ROLLING_WINDOW.toMillis();
+        poll(NOW, job("api", FAILURE, NOW - window + HOUR, false));
+        assertEquals(0.0, poll(NOW, job("api", FAILURE, NOW - window + HOUR, false)).pipelines().get(0).successRate());
+
+        // Two hours later the failed build is out of the window; only the new success is left
+        CicdState later = poll(NOW + 2 * HOUR, job("api", SUCCESS, NOW, false));
+        assertEquals(100.0, later.pipelines().get(0).successRate());
+    }
+
+    @Test
+    void unchangedPollReturnsSameState() {
+        CicdState first = poll(NOW, job("api", SUCCESS, NOW - HOUR, false));
+
+        assertSame(first, poll(NOW + HOUR, job("api", SUCCESS, NOW - HOUR, false)));
+    }
+
+    @Test
+    void emptyPollKeepsPreviousState() {
+        CicdState before = poll(NOW, job("api", SUCCESS, NOW - HOUR, false));
+
+        for (int i = 0; i < CicdAggregator.MISSED_POLLS_BEFORE_EVICTION + 1; i++) {
+            assertSame(before, aggregator.update(List.of(), List.of(), List.of(), List.of(), NOW));
+        }
+        // History survived: the next build is counted on top of the first one
+        CicdState after = poll(NOW, job("api", FAILURE, NOW, false));
+        assertEquals(50.0, after.pipelines().get(0).successRate());
+    }
+
+    @Test
+    void missingJobIsEvictedAfterSeveralSuccessfulPolls() {
+        poll(NOW, job("api", SUCCESS, NOW - HOUR, false), job("web", SUCCESS, NOW - HOUR, false));
+
+        for (int i = 1; i < CicdAggregator.MISSED_POLLS_BEFORE_EVICTION; i++) {
+            assertEquals(2, poll(NOW, job("api", SUCCESS, NOW - HOUR, false)).pipelines().size());
+        }
+        CicdState evicted = poll(NOW, job("api", SUCCESS, NOW - HOUR, false));
+        assertEquals(List.of("api"), evicted.pipelines().stream().map(PipelineState::name).toList());
+    }
+
+    @Test
+    void missingJobWhoseLastBuildLeftTheWindowIsEvictedAtOnce() {
+        long window = CicdAggregator.ROLLING_WINDOW.toMillis();
+        poll(NOW, job("api", SUCCESS, NOW - HOUR, false), job("old", SUCCESS, NOW - window + HOUR, false));
+
+        CicdState state = poll(NOW + 2 * HOUR, job("api", SUCCESS, NOW - HOUR, false));
+
+        assertEquals(1, state.pipelines().size());
+    }
+
+    @Test
+    void emptySeedIsRetried() {
+        aggregator.seedSuccessRates(List.of());
+        assertFalse(aggregator.isSeeded());
+
+        aggregator.seedSuccessRates(List.of(named("api", 90)));
+        assertTrue(aggregator.isSeeded());
+        // A seeded job is not published before the build gauges report it
+        assertEquals(List.of("web"), poll(NOW, job("web", SUCCESS, NOW - HOUR, false)).pipelines().stream()
+                .map(PipelineState::name).toList());
+    }
+
+    private CicdState poll(long nowMs, Job... jobs) {
+        List<PromSample> results = List.of(jobs).stream().map(job -> named(job.name, job.result)).toList();
+        List<PromSample> durations = List.of(jobs).stream().map(job -> named(job.name, 60_000)).toList();
+        List<PromSample> timestamps = List.of(jobs).stream().map(job -> named(job.name, job.startMs)).toList();
+        List<PromSample> building = List.of(jobs).stream().map(job -> named(job.name, job.building ? 1 : 0)).toList();
+        return aggregator.update(results, durations, timestamps, building, nowMs);
+    }
+
+    private static Job job(String name, double result, long startMs, boolean building) {
+        return new Job(name, result, startMs, building);
+    }
+
+    private record Job(String name, double result, long startMs, boolean building) {
+    }
+
+    private static PromSample named(String job, double value) {
+        return new PromSample(new String[]{"jenkins_job", job}, value, 0);
+    }
+}
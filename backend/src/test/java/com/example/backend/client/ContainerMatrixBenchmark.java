@@ -0,0 +1,73 @@
+package com.example.backend.client;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ContainerMatrix#assemble} on synthetic cAdvisor data spread over three nodes.
+ * Time per operation should grow linearly with the container count (2,000 is the reference size).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerMatrixBenchmark {
+
+    @Param({"500", "1000", "2000", "4000"})
+    private int containerCount;
+
+    private List<PromSample> cpu;
+    private List<PromSample> memory;
+    private List<PromSample> network;
+    private List<PromSample> startTimes;
+    private List<PromSample> active;
+
+    @Setup
+    public void setUp() {
+        cpu = series(0.01);
+        memory = series(1048576.0);
+        network = series(2048.0);
+        startTimes = series(1712345678.0);
+        active = series(1.0);
+    }
+
+    private List<PromSample> series(double base) {
+        List<PromSample> samples = new ArrayList<>(containerCount);
+        for (int i = 0; i < containerCount; i++) {
+            String[] labels = {"instance", "192.168.126.13" + (i % 3) + ":8080", "name", "container-" + i};
+            samples.add(new PromSample(labels, base * (i + 1), 1712345678000L));
+        }
+        return samples;
+    }
+
+    @Benchmark
+    public Map<String, List<ContainerMetrics>> assemble() {
+        return ContainerMatrix.assemble(cpu, memory, network, startTimes, active);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ContainerMatrixBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.backend.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContainerMatrixTest {
+
+    private static final String NODE_A = "192.168.126.130";
+    private static final String NODE_B = "192.168.126.131";
+
+    @Test
+    void joinsEverySeriesPerNodeAndContainer() {
+        Map<String, List<ContainerMetrics>> byNode = ContainerMatrix.assemble(
+                List.of(sample(NODE_A, "api", 0.5), sample(NODE_A, "db", 1.25), sample(NODE_B, "api", 0.1)),
+                List.of(sample(NODE_A, "api", 256e6), sample(NODE_A, "db", 1e9), sample(NODE_B, "api", 128e6)),
+                List.of(sample(NODE_A, "api", 1200), sample(NODE_A, "db", 30), sample(NODE_B, "api", 5)),
+                List.of(sample(NODE_A, "api", 1_700_000_000), sample(NODE_A, "db", 1_700_000_100),
+                        sample(NODE_B, "api", 1_700_000_200)),
+                List.of(sample(NODE_A, "api", 1), sample(NODE_A, "db", 1), sample(NODE_B, "api", 1)));
+
+        assertEquals(Set.of(NODE_A, NODE_B), byNode.keySet());
+        assertEquals(Set.of("api", "db"), names(byNode.get(NODE_A)));
+
+        ContainerMetrics db = find(byNode, NODE_A, "db");
+        assertEquals(NODE_A, db.nodeIp());
+        assertEquals(1.25, db.cpuCores());
+        assertEquals(1e9, db.memoryBytes());
+        assertEquals(30, db.networkRxBytesPerSecond());
+        assertEquals(1_700_000_100, db.startTimeSeconds());
+        assertTrue(db.active());
+
+        // Same container name on another node is a separate row
+        ContainerMetrics apiOnB = find(byNode, NODE_B, "api");
+        assertEquals(0.1, apiOnB.cpuCores());
+        assertEquals(128e6, apiOnB.memoryBytes());
+        assertEquals(0.5, find(byNode, NODE_A, "api").cpuCores());
+    }
+
+    @Test
+    void seriesMissingForSomeContainersAreNaN() {
+        Map<String, List<ContainerMetrics>> byNode = ContainerMatrix.assemble(
+                List.of(sample(NODE_A, "api", 0.5)),
+                List.of(sample(NODE_A, "api", 256e6), sample(NODE_A, "worker", 64e6)),
+                List.of(),
+                List.of(sample(NODE_A, "worker", 1_700_000_000)),
+                List.of(sample(NODE_A, "api", 1)));
+
+        ContainerMetrics api = find(byNode, NODE_A, "api");
+        assertEquals(0.5, api.cpuCores());
+        assertEquals(256e6, api.memoryBytes());
+        assertTrue(Double.isNaN(api.networkRxBytesPerSecond()));
+        assertTrue(Double.isNaN(api.startTimeSeconds()));
+        assertTrue(api.active());
+
+        // Known from other series only: still listed, but not active
+        ContainerMetrics worker = find(byNode, NODE_A, "worker");
+        assertTrue(Double.isNaN(worker.cpuCores()));
+        assertEquals(64e6, worker.memoryBytes());
+        assertEquals(1_700_000_000, worker.startTimeSeconds());
+        assertFalse(worker.active());
+    }
+
+    @Test
+    void skipsSeriesWithoutNameOrInstance() {
+        PromSample unnamed = new PromSample(new String[]{"instance", NODE_A + ":8080"}, 1, 0);
+        PromSample emptyName = new PromSample(new String[]{"instance", NODE_A + ":8080", "name", ""}, 1, 0);
+        PromSample noInstance = new PromSample(new String[]{"name", "api"}, 1, 0);
+
+        Map<String, List<ContainerMetrics>> byNode = ContainerMatrix.assemble(
+                List.of(unnamed, noInstance), List.of(emptyName), List.of(), List.of(),
+                List.of(unnamed, emptyName, noInstance));
+
+        assertTrue(byNode.isEmpty());
+    }
+
+    private static PromSample sample(String nodeIp, String name, double value) {
+        return new PromSample(new String[]{"instance", nodeIp + ":8080", "name", name}, value, 0);
+    }
+
+    private static Set<String> names(List<ContainerMetrics> containers) {
+        return containers.stream().map(ContainerMetrics::name).collect(Collectors.toSet());
+    }
+
+    private static ContainerMetrics find(Map<String, List<ContainerMetrics>> byNode, String nodeIp, String name) {
+        return byNode.get(nodeIp).stream()
+                .filter(container -> container.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No row for " + name + " on " + nodeIp));
+    }
+}
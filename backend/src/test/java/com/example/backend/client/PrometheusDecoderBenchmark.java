@@ -0,0 +1,92 @@
+package com.example.backend.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the legacy Map-based Prometheus response handling with {@link PrometheusResponseDecoder}
+ * on a synthetic cAdvisor-style vector response.
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.backend.client.PrometheusDecoderBenchmark}
+ * (add {@code -prof gc} in the options below to compare allocation rates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrometheusDecoderBenchmark {
+
+    @Param({"5000"})
+    private int seriesCount;
+
+    private byte[] response;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PrometheusResponseDecoder decoder = new PrometheusResponseDecoder();
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("{\"status\":\"success\",\"data\":{\"resultType\":\"vector\",\"result\":[");
+        for (int i = 0; i < seriesCount; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"metric\":{\"__name__\":\"container_memory_usage_bytes\",")
+                    .append("\"instance\":\"192.168.126.13").append(i % 3).append(":8080\",")
+                    .append("\"job\":\"cadvisor\",")
+                    .append("\"image\":\"registry.local/app-").append(i % 40).append(":latest\",")
+                    .append("\"name\":\"container-").append(i).append("\"},")
+                    .append("\"value\":[1712345678.123,\"").append(1048576.0 * (i + 1)).append("\"]}");
+        }
+        json.append("]}}");
+        response = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> mapPath() throws Exception {
+        Map<String, Object> body = objectMapper.readValue(response, Map.class);
+        Map<String, Object> data = (Map<String, Object>) body.get("data");
+        List<Map<String, Object>> result = (List<Map<String, Object>>) data.get("result");
+        List<Map<String, Object>> cleanedResult = new ArrayList<>();
+        for (Map<String, Object> entry : result) {
+            Map<String, Object> metric = (Map<String, Object>) entry.get("metric");
+            List<Object> value = (List<Object>) entry.get("value");
+            Map<String, Object> map = new HashMap<>(metric);
+            map.put("name", metric.get("name"));
+            map.put("value", Double.parseDouble(value.get(1).toString()));
+            cleanedResult.add(map);
+        }
+        return cleanedResult;
+    }
+
+    @Benchmark
+    public PromQueryResult streamingPath() throws Exception {
+        return decoder.decode(response);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(PrometheusDecoderBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.backend.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrometheusResponseDecoderTest {
+
+    private final PrometheusResponseDecoder decoder = new PrometheusResponseDecoder();
+
+    @Test
+    void decodesVector() throws IOException {
+        PromQueryResult result = decode("""
+                {"status":"success","data":{"resultType":"vector","result":[
+                  {"metric":{"instance":"10.0.0.1:9100","job":"node"},"value":[1700000000.25,"42.5"]},
+                  {"metric":{},"value":[1700000001,"7"]}
+                ]}}""");
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.samples().size());
+        assertTrue(result.series().isEmpty());
+        PromSample first = result.samples().get(0);
+        assertArrayEquals(new String[]{"instance", "10.0.0.1:9100", "job", "node"}, first.labels());
+        assertEquals("10.0.0.1", first.nodeIp());
+        assertEquals(42.5, first.value());
+        assertEquals(1_700_000_000_250L, first.timestampMs());
+        assertEquals(0, result.samples().get(1).labels().length);
+        assertEquals(42.5, result.firstValue());
+    }
+
+    @Test
+    void decodesMatrix() throws IOException {
+        StringBuilder values = new StringBuilder();
+        // More points than the initial buffer, so it has to grow
+        for (int i = 0; i < 40; i++) {
+            values.append(i > 0 ? "," : "").append("[").append(1700000000 + i * 15).append(",\"").append(i).append("\"]");
+        }
+        PromQueryResult result = decode("{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\",\"result\":["
+                + "{\"metric\":{\"name\":\"api\"},\"values\":[" + values + "]},"
+                + "{\"metric\":{\"name\":\"db\"},\"values\":[]}]}}");
+
+        assertTrue(result.samples().isEmpty());
+        assertEquals(2, result.series().size());
+        PromRangeSeries api = result.series().get(0);
+        assertEquals("api", api.label("name"));
+        assertEquals(40, api.size());
+        assertEquals(1_700_000_000_000L, api.timestampsMs()[0]);
+        assertEquals(1_700_000_585_000L, api.timestampsMs()[39]);
+        assertEquals(39.0, api.values()[39]);
+        assertEquals(0, result.series().get(1).size());
+    }
+
+    @Test
+    void decodesScalar() throws IOException {
+        PromQueryResult result = decode("{\"status\":\"success\",\"data\":{\"resultType\":\"scalar\",\"result\":[1700000000.5,\"3\"]}}");
+
+        assertEquals(1, result.samples().size());
+        assertEquals(0, result.samples().get(0).labels().length);
+        assertEquals(3.0, result.firstValue());
+        assertEquals(1_700_000_000_500L, result.samples().get(0).timestampMs());
+    }
+
+    @Test
+    void decodesEmptyResult() throws IOException {
+        PromQueryResult result = decode("{\"status\":\"success\",\"data\":{\"resultType\":\"vector\",\"result\":[]}}");
+
+        assertTrue(result.isSuccess());
+        assertTrue(result.samples().isEmpty());
+        assertTrue(result.series().isEmpty());
+        assertNull(result.firstValue());
+    }
+
+    @Test
+    void errorStatusIsNotSuccess() throws IOException {
+        PromQueryResult result = decode("""
+                {"status":"error","errorType":"bad_data","error":"parse error at char 4"}""");
+
+        assertFalse(result.isSuccess());
+        assertEquals("error", result.status());
+        assertTrue(result.samples().isEmpty());
+    }
+
+    @Test
+    void decodesSpecialValues() throws IOException {
+        PromQueryResult result = decode("""
+                {"status":"success","data":{"resultType":"vector","result":[
+                  {"metric":{"a":"1"},"value":[1,"NaN"]},
+                  {"metric":{"a":"2"},"value":[1,"+Inf"]},
+                  {"metric":{"a":"3"},"value":[1,"-Inf"]},
+                  {"metric":{"a":"4"},"value":[1,"1e-3"]}
+                ]}}""");
+
+        assertTrue(Double.isNaN(result.samples().get(0).value()));
+        assertEquals(Double.POSITIVE_INFINITY, result.samples().get(1).value());
+        assertEquals(Double.NEGATIVE_INFINITY, result.samples().get(2).value());
+        assertEquals(0.001, result.samples().get(3).value());
+    }
+
+    @Test
+    void skipsUnknownAndExtraFields() throws IOException {
+        PromQueryResult result = decode("""
+                {"warnings":["partial response"],"status":"success","infos":{"nested":[1,{"x":[]}]},
+                 "data":{"stats":{"timings":{"evalTotalTime":0.1}},"result":[
+                   {"histogram":[1,{"count":"2","buckets":[[0,"1","2","3"]]}],
+                    "metric":{"job":"node"},"extra":null,"value":[1700000000,"1"],"trailing":{"a":[]}}
+                 ],"resultType":"vector"}}""");
+
+        assertTrue(result.isSuccess());
+        assertEquals(1, result.samples().size());
+        assertEquals("node", result.samples().get(0).label("job"));
+        assertEquals(1.0, result.firstValue());
+    }
+
+    @Test
+    void truncatedInputFails() {
+        String json = "{\"status\":\"success\",\"data\":{\"resultType\":\"vector\",\"result\":["
+                + "{\"metric\":{\"job\":\"node\"},\"value\":[1700000000.25,\"42.5\"]}]}}";
+        for (int length = 0; length < json.length(); length++) {
+            byte[] prefix = Arrays.copyOf(json.getBytes(StandardCharsets.UTF_8), length);
+            assertThrows(IOException.class, () -> decoder.decode(prefix), () -> "Accepted prefix " + new String(prefix));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void internPoolIsResetAtItsBound() throws IOException {
+        Map<String, String> pool = (Map<String, String>) ReflectionTestUtils.getField(decoder, "internPool");
+        PromQueryResult first = decode(vectorWithNames(0, 10));
+        PromQueryResult repeated = decode(vectorWithNames(0, 10));
+        // Repeated label values are shared between responses
+        assertSame(first.samples().get(3).label("name"), repeated.samples().get(3).label("name"));
+
+        // One value past the bound clears the pool, which then refills from the rest of the response
+        decode(vectorWithNames(10, 70_000));
+
+        assertEquals(70_000 - 65_537, pool.size());
+        assertFalse(pool.containsKey("container-3"));
+        // Still interning after the reset
+        PromQueryResult afterReset = decode(vectorWithNames(0, 2));
+        assertSame(afterReset.samples().get(1).label("name"), decode(vectorWithNames(0, 2)).samples().get(1).label("name"));
+    }
+
+    private PromQueryResult decode(String json) throws IOException {
+        return decoder.decode(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String vectorWithNames(int from, int to) {
+        StringBuilder json = new StringBuilder("{\"status\":\"success\",\"data\":{\"resultType\":\"vector\",\"result\":[");
+        for (int i = from; i < to; i++) {
+            json.append(i > from ? "," : "").append("{\"metric\":{\"name\":\"container-").append(i)
+                    .append("\"},\"value\":[1700000000,\"1\"]}");
+        }
+        return json.append("]}}").toString();
+    }
+}
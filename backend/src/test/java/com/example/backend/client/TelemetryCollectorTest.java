@@ -0,0 +1,137 @@
+package com.example.backend.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A Prometheus query that fails must not replace the last good value with an empty one.
+ */
+class TelemetryCollectorTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private static final String ALERTS = "ALERTS{alertstate=\"firing\"}";
+    private static final String JOB_RESULTS = "default_jenkins_builds_last_build_result_ordinal";
+    private static final String JOB_SUCCESS_RATES = "avg_over_time({__name__=~\"default_jenkins_builds_last_build_result\"}";
+
+    // Answer per query fragment; any other query succeeds with an empty result
+    private final Map<String, Supplier<PromQueryResult>> responses = new ConcurrentHashMap<>();
+    private TelemetryCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        OutboundHttpClientFactory httpClientFactory = mock(OutboundHttpClientFactory.class);
+        when(httpClientFactory.create(anyString())).thenReturn(restTemplate);
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class)))
+                .then(invocation -> {
+                    String query = invocation.<URI>getArgument(0).getQuery();
+                    return responses.entrySet().stream()
+                            .filter(response -> query.contains(response.getKey()))
+                            .findFirst()
+                            .map(response -> response.getValue().get())
+                            .orElseGet(TelemetryCollectorTest::success);
+                });
+        PrometheusClient prometheusClient = new PrometheusClient(httpClientFactory);
+        ReflectionTestUtils.setField(prometheusClient, "prometheusUrl", "http://prometheus:9090");
+
+        collector = new TelemetryCollector(prometheusClient, mock(ActuatorClient.class), event -> { },
+                new SimpleMeterRegistry(), 4);
+        ReflectionTestUtils.setField(collector, "refreshDeadlineMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        collector.shutdown();
+    }
+
+    @Test
+    void failedQueryKeepsPreviousValueAndIsStale() {
+        responses.put(ALERTS, () -> success(3));
+        ClusterSnapshot fresh = collector.refresh();
+        assertEquals(3, fresh.totalAlerts());
+        assertFalse(fresh.staleSources().contains("totalAlerts"));
+
+        responses.put(ALERTS, () -> {
+            throw new ResourceAccessException("Read timed out");
+        });
+        ClusterSnapshot timedOut = collector.refresh();
+        assertEquals(3, timedOut.totalAlerts());
+        assertEquals(Set.of("totalAlerts"), timedOut.staleSources());
+
+        responses.put(ALERTS, () -> new PromQueryResult("error", List.of(), List.of()));
+        ClusterSnapshot rejected = collector.refresh();
+        assertEquals(3, rejected.totalAlerts());
+        assertTrue(rejected.staleSources().contains("totalAlerts"));
+
+        // An empty successful answer is data: no alert is firing
+        responses.put(ALERTS, TelemetryCollectorTest::success);
+        ClusterSnapshot recovered = collector.refresh();
+        assertEquals(0, recovered.totalAlerts());
+        assertTrue(recovered.staleSources().isEmpty());
+    }
+
+    @Test
+    void failedJenkinsPollKeepsPipelinesAndRetriesSeeding() {
+        responses.put(JOB_RESULTS, () -> job("api", 0));
+        responses.put(JOB_SUCCESS_RATES, () -> {
+            throw new ResourceAccessException("Read timed out");
+        });
+        ClusterSnapshot first = collector.refresh();
+        assertEquals(1, first.cicd().pipelines().size());
+        assertTrue(first.staleSources().contains("jenkins.successRates"));
+
+        responses.put(JOB_RESULTS, () -> {
+            throw new ResourceAccessException("Read timed out");
+        });
+        responses.put(JOB_SUCCESS_RATES, () -> job("api", 75));
+        ClusterSnapshot failed = collector.refresh();
+        assertSame(first.cicd(), failed.cicd());
+        assertTrue(failed.staleSources().contains("jenkins.results"));
+
+        // Seeding failed the first time and was retried
+        verify(restTemplate, times(2)).execute(argThat((URI uri) -> uri.getQuery().contains(JOB_SUCCESS_RATES)),
+                eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
+        collector.refresh();
+        verify(restTemplate, times(2)).execute(argThat((URI uri) -> uri.getQuery().contains(JOB_SUCCESS_RATES)),
+                eq(HttpMethod.GET), isNull(), any(ResponseExtractor.class));
+    }
+
+    private static PromQueryResult job(String name, double value) {
+        return new PromQueryResult("success", List.of(new PromSample(new String[]{"jenkins_job", name}, value, 0)), List.of());
+    }
+
+    private static PromQueryResult success(double... values) {
+        List<PromSample> samples = Arrays.stream(values)
+                .mapToObj(value -> new PromSample(new String[0], value, 0))
+                .toList();
+        return new PromQueryResult("success", samples, List.of());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.backend.controller;
+
+import com.example.backend.client.ActuatorClient;
+import com.example.backend.client.PrometheusClient;
+import com.example.backend.client.TelemetryCollector;
+import com.example.backend.service.InfraService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts outbound Prometheus/Actuator calls made while serving the executive dashboard.
+ * Before health evaluation was memoized, one request hit Actuator four times and Prometheus {@code up} three times.
+ */
+class DashboardControllerTest {
+
+    private static final int REQUESTS = 5;
+
+    private PrometheusClient prometheusClient;
+    private ActuatorClient actuatorClient;
+    private TelemetryCollector telemetryCollector;
+    private InfraService infraService;
+    private DashboardController controller;
+
+    @BeforeEach
+    void setUp() {
+        prometheusClient = mock(PrometheusClient.class);
+        actuatorClient = mock(ActuatorClient.class);
+        when(prometheusClient.queryServiceUp(anyString())).thenReturn(true);
+        when(prometheusClient.queryProbeSuccess(anyString())).thenReturn(true);
+        when(actuatorClient.getHealthSummary()).thenReturn("Backend Status: UP");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        telemetryCollector = new TelemetryCollector(prometheusClient, actuatorClient, event -> { }, meterRegistry, 4);
+        ReflectionTestUtils.setField(telemetryCollector, "refreshDeadlineMs", 5000L);
+        infraService = new InfraService(telemetryCollector);
+        controller = new DashboardController(infraService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        telemetryCollector.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dashboardEvaluatesEachHealthSignalOncePerSnapshot() {
+        for (int i = 0; i < REQUESTS; i++) {
+            Map<String, Object> summary = controller.getDashboardSummary(get(null)).getBody();
+            Map<String, Object> platformHealth = (Map<String, Object>) summary.get("platformHealth");
+            assertEquals("up", platformHealth.get("productionApp"));
+            assertEquals("healthy", platformHealth.get("backendApi"));
+            assertEquals("stable", platformHealth.get("infrastructure"));
+        }
+
+        // One snapshot collection for all requests: 1 call each instead of 4 * REQUESTS / 3 * REQUESTS
+        verify(actuatorClient, times(1)).getHealthSummary();
+        verify(prometheusClient, times(1)).queryServiceUp("springboot-app");
+        verify(prometheusClient, times(1)).queryProbeSuccess("angular-frontend");
+        verify(prometheusClient, times(1)).queryTotalAlerts();
+    }
+
+    @Test
+    void unchangedSnapshotAnswersConditionalRequestWithNotModified() {
+        ResponseEntity<Map<String, Object>> first = controller.getDashboardSummary(get(null));
+        String etag = first.getHeaders().getETag();
+        assertEquals("no-cache, private", first.getHeaders().getCacheControl());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dashboard");
+        request.addHeader("If-None-Match", etag);
+        assertNull(controller.getDashboardSummary(new ServletWebRequest(request, response)));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+
+        telemetryCollector.refresh();
+        ResponseEntity<Map<String, Object>> changed = controller.getDashboardSummary(get(etag));
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+    }
+
+    @Test
+    void etagFromPreviousRunDoesNotMatch() {
+        ResponseEntity<Map<String, Object>> first = controller.getDashboardSummary(get(null));
+
+        // Snapshot versions restart at 1, so the tag of a previous run's version 1 must not revalidate
+        assertNotEquals("\"telemetry-1\"", first.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, controller.getDashboardSummary(get("\"telemetry-1\"")).getStatusCode());
+    }
+
+    @Test
+    void healthIsReevaluatedOnlyWhenSnapshotChanges() {
+        assertSame(infraService.getPlatformHealth(), infraService.getPlatformHealth());
+
+        telemetryCollector.refresh();
+        when(actuatorClient.getHealthSummary()).thenReturn(null);
+        telemetryCollector.refresh();
+
+        assertEquals("unreachable", infraService.getBackendHealth());
+        assertEquals("warning", infraService.getInfrastructureHealth());
+        assertEquals("failed", infraService.getBackendServiceStatus());
+        verify(actuatorClient, times(3)).getHealthSummary();
+    }
+
+    private static ServletWebRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/dashboard");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
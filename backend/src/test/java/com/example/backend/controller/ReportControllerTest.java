@@ -0,0 +1,124 @@
+package com.example.backend.controller;
+
+import com.example.backend.ingest.IngestionJob;
+import com.example.backend.service.ReportIngestionQueue;
+import com.example.backend.service.ReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@code POST /api/reports} answers before parsing: 202 with a job to poll, or 503 when the ingestion queue is full.
+ * Per-pipeline reads answer a matching If-None-Match with 304 without loading the pipeline.
+ */
+class ReportControllerTest {
+
+    private ReportIngestionQueue reportIngestionQueue;
+    private ReportService reportService;
+    private ReportController controller;
+
+    @BeforeEach
+    void setUp() {
+        reportIngestionQueue = mock(ReportIngestionQueue.class);
+        controller = new ReportController();
+        ReflectionTestUtils.setField(controller, "reportIngestionQueue", reportIngestionQueue);
+        reportService = mock(ReportService.class);
+        ReflectionTestUtils.setField(controller, "reportService", reportService);
+    }
+
+    @Test
+    void acceptedUploadReturnsJobToPoll() throws Exception {
+        IngestionJob job = new IngestionJob("job-1", "backend");
+        when(reportIngestionQueue.submit(any(), any(), any(), any())).thenReturn(job);
+
+        ResponseEntity<Map<String, Object>> response = post();
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(URI.create("/api/reports/jobs/job-1"), response.getHeaders().getLocation());
+        assertEquals("job-1", response.getBody().get("jobId"));
+        assertEquals(IngestionJob.Status.QUEUED, response.getBody().get("status"));
+        assertEquals("/api/reports/jobs/job-1", response.getBody().get("statusUrl"));
+    }
+
+    @Test
+    void fullQueueAnswersServiceUnavailableWithRetryAfter() throws Exception {
+        when(reportIngestionQueue.submit(any(), any(), any(), any()))
+                .thenThrow(new RejectedExecutionException("queue full"));
+
+        ResponseEntity<Map<String, Object>> response = post();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("30", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void jobStatusIsServedUntilUnknown() {
+        IngestionJob job = new IngestionJob("job-1", "backend");
+        when(reportIngestionQueue.getJob("job-1")).thenReturn(Optional.of(job));
+        when(reportIngestionQueue.getJob("lost-by-restart")).thenReturn(Optional.empty());
+
+        assertSame(job, controller.getIngestionJob("job-1").getBody());
+        job.started();
+        assertEquals(IngestionJob.Status.PROCESSING, controller.getIngestionJob("job-1").getBody().getStatus());
+        job.completed(7L);
+        assertEquals(7L, controller.getIngestionJob("job-1").getBody().getPipelineId());
+
+        assertEquals(HttpStatus.NOT_FOUND, controller.getIngestionJob("lost-by-restart").getStatusCode());
+    }
+
+    @Test
+    void revalidationOfPipelinePartsDoesNotLoadThePipeline() {
+        when(reportService.reportExists(5L)).thenReturn(true);
+        Map<String, BiFunction<Long, ServletWebRequest, ResponseEntity<?>>> parts = Map.of(
+                "sonar", controller::getSonarReport,
+                "trivy", controller::getTrivyFindings,
+                "owasp", controller::getOwaspFindings);
+
+        parts.forEach((part, handler) -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            assertNull(handler.apply(5L, conditionalGet("\"pipeline-5-" + part + "-v2\"", response)));
+            assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+
+            // Unknown pipelines stay 404 even for a client holding a matching ETag
+            ResponseEntity<?> missing = handler.apply(6L, conditionalGet("\"pipeline-6-" + part + "-v2\"",
+                    new MockHttpServletResponse()));
+            assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+        });
+        verify(reportService, never()).getReportById(any());
+    }
+
+    private static ServletWebRequest conditionalGet(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reports/5");
+        request.addHeader("If-None-Match", ifNoneMatch);
+        return new ServletWebRequest(request, response);
+    }
+
+    private ResponseEntity<Map<String, Object>> post() throws Exception {
+        MockMultipartFile trivy = new MockMultipartFile("trivy", "trivy.json", "application/json",
+                "{}".getBytes(StandardCharsets.UTF_8));
+        return controller.createReport("SUCCESS", 120L, "abc123", "backend", "1.0.0", null, trivy, null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SeverityCountersTest {
+
+    @Test
+    void countsByNormalizedSeverity() {
+        SeverityCounters counters = SeverityCounters.zero();
+        for (Integer severity : new Integer[]{5, 5, 4, 3, 2, 1, null, 9}) {
+            counters.record(severity);
+        }
+
+        assertEquals(2, counters.getCritical());
+        assertEquals(1, counters.getHigh());
+        assertEquals(1, counters.getMedium());
+        assertEquals(1, counters.getLow());
+        assertEquals(3, counters.getInfo());
+        assertEquals(8, counters.getTotal());
+    }
+
+    @Test
+    void nullCountersFromRowsBeforeBackfillCountAsZero() {
+        // As loaded for a pipeline row whose counter columns are still NULL
+        SeverityCounters counters = new SeverityCounters();
+        counters.setHigh(2);
+
+        assertEquals(2, counters.getTotal());
+        counters.record(5);
+        counters.record(4);
+        assertEquals(1, counters.getCritical());
+        assertEquals(3, counters.getHigh());
+        assertEquals(4, counters.getTotal());
+    }
+}
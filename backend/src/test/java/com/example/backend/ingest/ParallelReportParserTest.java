@@ -0,0 +1,223 @@
+package com.example.backend.ingest;
+
+import com.example.backend.dto.ReportRequest;
+import com.example.backend.entity.Pipeline;
+import com.example.backend.repository.FindingBulkWriter;
+import com.example.backend.repository.PipelineRepository;
+import com.example.backend.service.FindingDiffService;
+import com.example.backend.service.ReportFingerprintService;
+import com.example.backend.service.ReportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ParallelReportParserTest {
+
+    private static final Duration DEADLINE = Duration.ofSeconds(10);
+
+    private final TrivyReportParser trivyParser = spy(new TrivyReportParser());
+    private final OwaspReportParser owaspParser = spy(new OwaspReportParser());
+    private final ParallelReportParser parser = new ParallelReportParser(new SonarReportParser(), trivyParser,
+            owaspParser, new SimpleMeterRegistry(), 2);
+
+    @AfterEach
+    void tearDown() {
+        parser.shutdown();
+    }
+
+    @Test
+    void chunksReassembleIntoTheReportFindings() throws Exception {
+        // Not multiples of the chunk size, so both reports end on a partial chunk
+        int trivyFindings = 3 * ParallelReportParser.CHUNK_SIZE + 17;
+        int owaspFindings = 2 * ParallelReportParser.CHUNK_SIZE + 301;
+        List<TrivyVulnerability> trivy = new ArrayList<>();
+        List<OwaspVulnerability> owasp = new ArrayList<>();
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        try (ParallelReportParser.Session session = parser.startFindings(trivyReport(trivyFindings),
+                owaspReport(owaspFindings))) {
+            session.drain(chunk -> {
+                chunkSizes.add(chunk.size());
+                trivy.addAll(chunk);
+            }, chunk -> {
+                chunkSizes.add(chunk.size());
+                owasp.addAll(chunk);
+            });
+            assertEquals(trivyFindings, session.getTrivyCount());
+            assertEquals(owaspFindings, session.getOwaspCount());
+        }
+
+        List<TrivyVulnerability> expectedTrivy = new ArrayList<>();
+        new TrivyReportParser().parse(trivyReport(trivyFindings).getInputStream(), expectedTrivy::add);
+        List<OwaspVulnerability> expectedOwasp = new ArrayList<>();
+        new OwaspReportParser().parse(owaspReport(owaspFindings).getInputStream(), expectedOwasp::add);
+        // Same findings in report order, each exactly once
+        assertEquals(expectedTrivy, trivy);
+        assertEquals(expectedOwasp, owasp);
+        assertTrue(chunkSizes.stream().allMatch(size -> size > 0 && size <= ParallelReportParser.CHUNK_SIZE));
+        assertEquals(4 + 3, chunkSizes.size());
+    }
+
+    @Test
+    void malformedReportFailsTheDrain() {
+        // Truncated in the middle of a finding
+        InputStreamSource brokenTrivy = source("{\"Results\":[{\"Vulnerabilities\":[{\"VulnerabilityID\":\"CVE-1\",");
+        InputStreamSource brokenOwasp = source("{\"dependencies\":[{\"fileName\":\"a.jar\",\"vulnerabilities\":[{]}]}");
+
+        for (InputStreamSource[] reports : new InputStreamSource[][]{
+                {brokenTrivy, owaspReport(10)}, {trivyReport(10), brokenOwasp}}) {
+            assertTimeoutPreemptively(DEADLINE, () -> {
+                try (ParallelReportParser.Session session = parser.startFindings(reports[0], reports[1])) {
+                    assertThrows(IOException.class, () -> session.drain(chunk -> { }, chunk -> { }));
+                }
+            });
+        }
+    }
+
+    @Test
+    void malformedReportRollsBackTheIngest() throws Exception {
+        PipelineRepository pipelineRepository = mock(PipelineRepository.class);
+        FindingBulkWriter findingBulkWriter = mock(FindingBulkWriter.class);
+        ReportFingerprintService reportFingerprintService = mock(ReportFingerprintService.class);
+        FindingDiffService findingDiffService = mock(FindingDiffService.class);
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        when(reportFingerprintService.findIngested(any(), anyString())).thenReturn(Optional.empty());
+        when(pipelineRepository.findTopByComponentWithLegacy(anyString())).thenReturn(Optional.empty());
+        when(pipelineRepository.save(any(Pipeline.class))).then(invocation -> {
+            Pipeline pipeline = invocation.getArgument(0);
+            pipeline.setId(7L);
+            return pipeline;
+        });
+        ReportService reportService = new ReportService();
+        ReflectionTestUtils.setField(reportService, "pipelineRepository", pipelineRepository);
+        ReflectionTestUtils.setField(reportService, "parallelReportParser", parser);
+        ReflectionTestUtils.setField(reportService, "findingBulkWriter", findingBulkWriter);
+        ReflectionTestUtils.setField(reportService, "reportFingerprintService", reportFingerprintService);
+        ReflectionTestUtils.setField(reportService, "findingDiffService", findingDiffService);
+        ReflectionTestUtils.setField(reportService, "eventPublisher", eventPublisher);
+        ReportRequest request = new ReportRequest();
+        request.setStatus("SUCCESS");
+        request.setTrivyData(trivyReport(2 * ParallelReportParser.CHUNK_SIZE));
+        request.setTrivySha256("a1".repeat(32));
+        request.setOwaspData(source("{\"dependencies\":[{\"fileName\":\"a.jar\",\"vulnerabilities\":[{]}]}"));
+        request.setOwaspSha256("b2".repeat(32));
+
+        IOException failure = assertTimeoutPreemptively(DEADLINE,
+                () -> assertThrows(IOException.class, () -> reportService.saveReport(request)));
+
+        // The transaction rolls back on it, taking the pipeline row and any findings already written
+        TransactionAttribute transaction = new AnnotationTransactionAttributeSource().getTransactionAttribute(
+                ReportService.class.getMethod("saveReport", ReportRequest.class), ReportService.class);
+        assertTrue(transaction.rollbackOn(failure));
+        // Nothing that would outlive the rollback
+        verify(reportFingerprintService, never()).remember(any(), anyString(), anyLong());
+        verify(findingDiffService, never()).record(any(), any(), anyBoolean(), anyBoolean());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void failingWorkerDoesNotBlockCallerOnFullQueue() throws Exception {
+        CountDownLatch owaspFailed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            owaspFailed.countDown();
+            throw new IllegalStateException("parser bug");
+        }).when(owaspParser).parse(any(), any());
+
+        assertTimeoutPreemptively(DEADLINE, () -> {
+            try (ParallelReportParser.Session session = parser.startFindings(
+                    trivyReport(20 * ParallelReportParser.CHUNK_SIZE), owaspReport(1))) {
+                IOException failure = assertThrows(IOException.class, () -> session.drain(chunk -> {
+                    // Slow first write: the Trivy worker fills the queue ahead of the OWASP error
+                    try {
+                        owaspFailed.await();
+                        TimeUnit.MILLISECONDS.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, chunk -> { }));
+                assertInstanceOf(IllegalStateException.class, failure.getCause());
+            }
+            awaitIdleWorkers();
+        });
+    }
+
+    @Test
+    void failingSinkDoesNotLeaveWorkersBlockedOnFullQueue() {
+        assertTimeoutPreemptively(DEADLINE, () -> {
+            try (ParallelReportParser.Session session = parser.startFindings(
+                    trivyReport(20 * ParallelReportParser.CHUNK_SIZE), owaspReport(20 * ParallelReportParser.CHUNK_SIZE))) {
+                assertThrows(IllegalStateException.class, () -> session.drain(chunk -> {
+                    throw new IllegalStateException("insert failed");
+                }, chunk -> { }));
+            }
+            awaitIdleWorkers();
+        });
+    }
+
+    /**
+     * Workers stopped by closing the session return their threads to the pool.
+     */
+    private void awaitIdleWorkers() throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(parser, "executor");
+        while (executor.getActiveCount() > 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private static InputStreamSource trivyReport(int findings) {
+        StringBuilder json = new StringBuilder("{\"SchemaVersion\":2,\"Results\":[{\"Target\":\"app\",\"Vulnerabilities\":[");
+        for (int i = 0; i < findings; i++) {
+            json.append(i > 0 ? "," : "").append("{\"VulnerabilityID\":\"CVE-2024-").append(i)
+                    .append("\",\"PkgName\":\"pkg-").append(i % 37)
+                    .append("\",\"Severity\":\"").append(i % 2 == 0 ? "HIGH" : "LOW").append("\"}");
+        }
+        return source(json.append("]}]}").toString());
+    }
+
+    private static InputStreamSource owaspReport(int findings) {
+        StringBuilder json = new StringBuilder("{\"dependencies\":[");
+        for (int i = 0; i < findings; i++) {
+            json.append(i > 0 ? "," : "").append("{\"fileName\":\"lib-").append(i).append(".jar\",\"vulnerabilities\":[")
+                    .append("{\"name\":\"CVE-2023-").append(i).append("\",\"cvssv3\":{\"baseScore\":")
+                    .append(i % 10).append(".5,\"baseSeverity\":\"MEDIUM\"}}]}");
+        }
+        return source(json.append("]}").toString());
+    }
+
+    private static InputStreamSource source(String json) {
+        return new ByteArrayResource(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
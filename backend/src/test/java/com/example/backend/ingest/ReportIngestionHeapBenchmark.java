@@ -0,0 +1,108 @@
+package com.example.backend.ingest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Peak heap while ingesting synthetic OWASP dependency-check reports of 10 MB, 100 MB and 500 MB,
+ * comparing the streaming {@link OwaspReportParser} with the former getBytes() + readTree() path.
+ * Peak heap is taken from the JVM heap pools, reset before each run; give the JVM a fixed heap, e.g.
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.backend.ingest.ReportIngestionHeapBenchmark}
+ * with {@code MAVEN_OPTS=-Xmx2g}. The tree path is skipped when it cannot fit in the heap.
+ */
+public class ReportIngestionHeapBenchmark {
+
+    private static final int[] SIZES_MB = {10, 100, 500};
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("ingest-bench");
+        System.out.printf("%-8s %12s %18s %28s%n", "size", "findings", "streaming peak", "tree peak");
+        for (int sizeMb : SIZES_MB) {
+            Path report = dir.resolve("owasp-" + sizeMb + "mb.json");
+            writeReport(report, sizeMb * 1024L * 1024L);
+            long baseline = settledHeap();
+
+            AtomicLong findings = new AtomicLong();
+            resetPeaks();
+            try (InputStream in = Files.newInputStream(report)) {
+                new OwaspReportParser().parse(in, vuln -> findings.incrementAndGet());
+            }
+            long streamingPeak = peakHeap() - baseline;
+
+            String treePeak;
+            settledHeap();
+            resetPeaks();
+            try {
+                byte[] bytes = Files.readAllBytes(report);
+                JsonNode tree = new ObjectMapper().readTree(bytes);
+                treePeak = mb(peakHeap() - baseline) + " (" + tree.path("dependencies").size() + " deps)";
+            } catch (OutOfMemoryError e) {
+                treePeak = "OOM";
+            }
+
+            System.out.printf("%-8s %12d %18s %28s%n", sizeMb + " MB", findings.get(), mb(streamingPeak), treePeak);
+            Files.delete(report);
+        }
+        Files.delete(dir);
+    }
+
+    private static void writeReport(Path path, long targetBytes) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("{\"reportSchema\":\"1.1\",\"dependencies\":[");
+            long written = 40;
+            for (int i = 0; written < targetBytes; i++) {
+                String dependency = (i > 0 ? "," : "")
+                        + "{\"fileName\":\"library-" + i + ".jar\",\"filePath\":\"/app/lib/library-" + i + ".jar\","
+                        + "\"md5\":\"d41d8cd98f00b204e9800998ecf8427e\",\"vulnerabilities\":["
+                        + "{\"source\":\"NVD\",\"name\":\"CVE-2024-" + i + "\",\"severity\":\"HIGH\","
+                        + "\"cvssv3\":{\"baseScore\":8.1,\"attackVector\":\"NETWORK\",\"baseSeverity\":\"HIGH\"},"
+                        + "\"description\":\"Synthetic vulnerability used to size the benchmark input.\"},"
+                        + "{\"source\":\"NVD\",\"name\":\"CVE-2023-" + i + "\",\"severity\":\"MEDIUM\","
+                        + "\"cvssv3\":{\"baseScore\":5.3,\"attackVector\":\"LOCAL\",\"baseSeverity\":\"MEDIUM\"}}]}";
+                out.write(dependency);
+                written += dependency.length();
+            }
+            out.write("]}");
+        }
+    }
+
+    private static long settledHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void resetPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static String mb(long bytes) {
+        return String.format("%.1f MB", Math.max(bytes, 0) / (1024.0 * 1024.0));
+    }
+}
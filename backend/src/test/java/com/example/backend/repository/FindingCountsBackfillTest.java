@@ -0,0 +1,116 @@
+package com.example.backend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FindingCountsBackfillTest {
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    void doesNothingUnlessEnabled() {
+        new FindingCountsBackfill(namedJdbcTemplate, false, 2).backfill();
+
+        verifyNoInteractions(namedJdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fillsCountersBatchByBatchFromGroupedCounts() throws Exception {
+        when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        // Pipeline 1 has trivy findings, pipeline 3 owasp findings, pipeline 2 none at all;
+        // pipeline 4 reuses the trivy findings of pipeline 1, stored under pipeline 1
+        when(namedJdbcTemplate.query(contains("FROM pipeline"), any(SqlParameterSource.class), any(RowMapper.class)))
+                .then(invocation -> batch(invocation.getArgument(2), new long[]{1, 1, 1}, new long[]{2, 2, 2}))
+                .then(invocation -> batch(invocation.getArgument(2), new long[]{3, 3, 3}, new long[]{4, 1, 4}))
+                .thenReturn(List.of());
+        List<List<Long>> trivyOwners = new ArrayList<>();
+        doAnswer(invocation -> {
+            SqlParameterSource params = invocation.getArgument(1);
+            trivyOwners.add((List<Long>) params.getValue("ids"));
+            if (((List<Long>) params.getValue("ids")).contains(1L)) {
+                invocation.<RowCallbackHandler>getArgument(2).processRow(counts(1L, 2, 1, 0, 0, 3, null));
+            }
+            return null;
+        }).when(namedJdbcTemplate).query(contains("FROM trivy_finding"), any(SqlParameterSource.class),
+                any(RowCallbackHandler.class));
+        doAnswer(invocation -> {
+            SqlParameterSource params = invocation.getArgument(1);
+            if (((List<Long>) params.getValue("ids")).contains(3L)) {
+                invocation.<RowCallbackHandler>getArgument(2).processRow(counts(3L, 0, 0, 4, 1, 0, 7.5));
+            }
+            return null;
+        }).when(namedJdbcTemplate).query(contains("FROM owasp_finding"), any(SqlParameterSource.class),
+                any(RowCallbackHandler.class));
+
+        new FindingCountsBackfill(namedJdbcTemplate, true, 2).backfill();
+
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        List<Object[]> first = batches.getAllValues().get(0);
+        assertArrayEquals(new Object[]{2L, 1L, 0L, 0L, 3L, 0L, 0L, 0L, 0L, 0L, null, 1L}, first.get(0));
+        assertArrayEquals(new Object[]{0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, null, 2L}, first.get(1));
+        List<Object[]> second = batches.getAllValues().get(1);
+        assertEquals(2, second.size());
+        assertArrayEquals(new Object[]{0L, 0L, 0L, 0L, 0L, 0L, 0L, 4L, 1L, 0L, 7.5, 3L}, second.get(0));
+        assertArrayEquals(new Object[]{2L, 1L, 0L, 0L, 3L, 0L, 0L, 0L, 0L, 0L, null, 4L}, second.get(1));
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 1L)), trivyOwners);
+        // The next batch starts after the last id of the previous one
+        verify(namedJdbcTemplate).query(anyString(),
+                argThat((SqlParameterSource params) -> Long.valueOf(2L).equals(params.getValue("after"))),
+                any(RowMapper.class));
+        verify(namedJdbcTemplate, never()).update(anyString(), any(SqlParameterSource.class));
+    }
+
+    /**
+     * Maps rows of (id, trivy_owner, owasp_owner) as read by the batch query.
+     */
+    private static List<Object> batch(RowMapper<?> mapper, long[]... rows) throws Exception {
+        List<Object> mapped = new ArrayList<>();
+        for (long[] row : rows) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("id")).thenReturn(row[0]);
+            when(rs.getLong("trivy_owner")).thenReturn(row[1]);
+            when(rs.getLong("owasp_owner")).thenReturn(row[2]);
+            mapped.add(mapper.mapRow(rs, mapped.size()));
+        }
+        return mapped;
+    }
+
+    private static ResultSet counts(long pipelineId, long critical, long high, long medium, long low, long info,
+                                    Double maxCvss) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("pipeline_id")).thenReturn(pipelineId);
+        when(rs.getLong("critical")).thenReturn(critical);
+        when(rs.getLong("high")).thenReturn(high);
+        when(rs.getLong("medium")).thenReturn(medium);
+        when(rs.getLong("low")).thenReturn(low);
+        when(rs.getLong("info")).thenReturn(info);
+        when(rs.getObject("max_cvss", Double.class)).thenReturn(maxCvss);
+        return rs;
+    }
+}
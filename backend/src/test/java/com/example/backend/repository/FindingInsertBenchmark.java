@@ -0,0 +1,87 @@
+package com.example.backend.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Ingestion throughput (findings/sec) for the row-per-round-trip inserts Hibernate issues with IDENTITY ids,
+ * versus the JDBC-batched path used by {@link FindingBulkWriter}. Needs a reachable MySQL schema; it works in
+ * a scratch table with the trivy_finding layout and drops it afterwards. Run with e.g.
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.backend.repository.FindingInsertBenchmark
+ * -Dbench.url=jdbc:mysql://localhost:3306/devsecops -Dbench.user=root -Dbench.password=secret}
+ */
+public class FindingInsertBenchmark {
+
+    private static final int FINDINGS = 4_000;
+    private static final int BATCH_SIZE = 500;
+    private static final int ROUNDS = 5;
+
+    private static final String TABLE = "bench_trivy_finding";
+    private static final String INSERT =
+            "INSERT INTO " + TABLE + " (cve, package_name, severity, pipeline_id) VALUES (?, ?, ?, ?)";
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("bench.url", System.getenv("DB_URL"));
+        String user = System.getProperty("bench.user", System.getenv("DB_USERNAME"));
+        String password = System.getProperty("bench.password", System.getenv("DB_PASSWORD"));
+
+        try (Connection single = DriverManager.getConnection(url, user, password);
+             Connection batched = DriverManager.getConnection(withRewrite(url), user, password)) {
+            createTable(single);
+            try {
+                for (int round = 1; round <= ROUNDS; round++) {
+                    double rowByRow = run(single, false);
+                    double bulk = run(batched, true);
+                    System.out.printf("round %d: row-by-row %,10.0f findings/s   batched %,10.0f findings/s   (x%.1f)%n",
+                            round, rowByRow, bulk, bulk / rowByRow);
+                }
+            } finally {
+                try (Statement statement = single.createStatement()) {
+                    statement.execute("DROP TABLE " + TABLE);
+                }
+            }
+        }
+    }
+
+    private static double run(Connection connection, boolean batched) throws SQLException {
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement ps = connection.prepareStatement(INSERT)) {
+            for (int i = 0; i < FINDINGS; i++) {
+                ps.setString(1, "CVE-2024-" + i);
+                ps.setString(2, "package-" + (i % 300));
+                ps.setInt(3, 1 + i % 5);
+                ps.setLong(4, 1L);
+                if (batched) {
+                    ps.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        ps.executeBatch();
+                    }
+                } else {
+                    ps.executeUpdate();
+                }
+            }
+            if (batched) {
+                ps.executeBatch();
+            }
+        }
+        connection.commit();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return FINDINGS / seconds;
+    }
+
+    private static void createTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "cve VARCHAR(255), package_name VARCHAR(255), severity INT, pipeline_id BIGINT)");
+        }
+    }
+
+    private static String withRewrite(String url) {
+        return url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+    }
+}
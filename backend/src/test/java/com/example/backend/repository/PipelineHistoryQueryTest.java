@@ -0,0 +1,131 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.HistoryPage;
+import com.example.backend.dto.PipelineSummaryDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Walks the history page by page over rows where some timestamps are NULL, as left by reports stored before
+ * the column was filled. The JDBC template is stubbed by an evaluator of the three keyset predicates the query
+ * uses, ordering NULL timestamps last the way MySQL does in a descending sort.
+ */
+class PipelineHistoryQueryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private record Row(long id, LocalDateTime timestamp) {
+    }
+
+    @Test
+    void paginationContinuesPastRowsWithoutTimestamp() throws Exception {
+        List<Row> rows = List.of(
+                new Row(1, T0), new Row(2, T0.plusHours(1)), new Row(3, T0.plusHours(1)),
+                new Row(4, null), new Row(5, T0.plusHours(2)), new Row(6, null), new Row(7, null));
+        PipelineHistoryQuery query = new PipelineHistoryQuery(database(rows));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            HistoryPage page = query.findPage(null, cursor, 2);
+            page.items().forEach(item -> seen.add(item.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        // Dated rows newest first (ties by id), then the undated ones by id
+        assertEquals(List.of(5L, 3L, 2L, 1L, 7L, 6L, 4L), seen);
+        assertEquals(4, pages);
+    }
+
+    @Test
+    void pageEndingOnUndatedRowStillHasCursor() throws Exception {
+        List<Row> rows = List.of(new Row(1, T0), new Row(2, null), new Row(3, null));
+        PipelineHistoryQuery query = new PipelineHistoryQuery(database(rows));
+
+        HistoryPage first = query.findPage(null, null, 2);
+        assertEquals(List.of(1L, 3L), first.items().stream().map(PipelineSummaryDTO::id).toList());
+        assertNull(first.items().get(1).timestamp());
+        assertNotNull(first.nextCursor());
+
+        HistoryPage last = query.findPage(null, first.nextCursor(), 2);
+        assertEquals(List.of(2L), last.items().stream().map(PipelineSummaryDTO::id).toList());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void rejectsForeignCursor() {
+        PipelineHistoryQuery query = new PipelineHistoryQuery(mock(NamedParameterJdbcTemplate.class));
+        assertThrows(IllegalArgumentException.class, () -> query.findPage(null, "not-a-cursor", 2));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NamedParameterJdbcTemplate database(List<Row> rows) throws Exception {
+        NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    String sql = invocation.getArgument(0);
+                    SqlParameterSource params = invocation.getArgument(1);
+                    RowMapper<PipelineSummaryDTO> mapper = invocation.getArgument(2);
+                    Stream<Row> matching = rows.stream();
+                    if (params.hasValue("cursorId")) {
+                        long cursorId = (Long) params.getValue("cursorId");
+                        if (params.hasValue("cursorTimestamp")) {
+                            LocalDateTime at = ((Timestamp) params.getValue("cursorTimestamp")).toLocalDateTime();
+                            assertContains(sql, "OR timestamp IS NULL");
+                            matching = matching.filter(row -> row.timestamp() == null
+                                    || row.timestamp().isBefore(at)
+                                    || (row.timestamp().equals(at) && row.id() < cursorId));
+                        } else {
+                            assertContains(sql, "timestamp IS NULL AND id < :cursorId");
+                            matching = matching.filter(row -> row.timestamp() == null && row.id() < cursorId);
+                        }
+                    }
+                    int limit = (Integer) params.getValue("limit");
+                    List<PipelineSummaryDTO> result = new ArrayList<>();
+                    for (Row row : matching.sorted(NEWEST_FIRST).limit(limit).toList()) {
+                        result.add(mapper.mapRow(resultSet(row), result.size()));
+                    }
+                    return result;
+                });
+        return jdbcTemplate;
+    }
+
+    private static final Comparator<Row> NEWEST_FIRST = Comparator
+            .comparing(Row::timestamp, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparingLong(Row::id)
+            .reversed();
+
+    private static ResultSet resultSet(Row row) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(row.id());
+        when(rs.getObject("timestamp", LocalDateTime.class)).thenReturn(row.timestamp());
+        return rs;
+    }
+
+    private static void assertContains(String sql, String fragment) {
+        if (!sql.contains(fragment)) {
+            throw new AssertionError("Expected <" + fragment + "> in " + sql);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class AiAnalysisCacheTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void keyIgnoresFieldOrderAndNumberFormat() throws Exception {
+        String a = AiAnalysisCache.key("history",
+                mapper.readTree("{\"runs\":[{\"id\":1,\"coverage\":80.50}],\"total\":2}"), "model", 1);
+        String b = AiAnalysisCache.key("history",
+                mapper.readTree("{\"total\":2.0,\"runs\":[{\"coverage\":80.5,\"id\":1}]}"), "model", 1);
+
+        assertEquals(a, b);
+    }
+
+    @Test
+    void keyChangesWithPageModelPromptVersionAndArrayOrder() throws Exception {
+        String base = AiAnalysisCache.key("history", mapper.readTree("[1,2]"), "model", 1);
+
+        assertNotEquals(base, AiAnalysisCache.key("security", mapper.readTree("[1,2]"), "model", 1));
+        assertNotEquals(base, AiAnalysisCache.key("history", mapper.readTree("[1,2]"), "other-model", 1));
+        assertNotEquals(base, AiAnalysisCache.key("history", mapper.readTree("[1,2]"), "model", 2));
+        assertNotEquals(base, AiAnalysisCache.key("history", mapper.readTree("[2,1]"), "model", 1));
+        assertNotEquals(base, AiAnalysisCache.key("history", mapper.readTree("[\"1\",\"2\"]"), "model", 1));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.FindingDiffStore.Key;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FindingDiffServiceTest {
+
+    @Test
+    void mergeSplitsIntroducedFixedAndUnchanged() {
+        List<Key> previous = List.of(key(1, 1), key(1, 2), key(3, 1), key(5, 5));
+        List<Key> current = List.of(key(1, 2), key(2, 1), key(3, 1), key(6, 0));
+
+        FindingDiffService.Merge merge = FindingDiffService.merge(previous, current);
+
+        assertEquals(List.of(key(2, 1), key(6, 0)), merge.introduced);
+        assertEquals(List.of(key(1, 1), key(5, 5)), merge.fixed);
+        assertEquals(2, merge.unchanged);
+    }
+
+    @Test
+    void mergeAgainstEmptySide() {
+        List<Key> keys = List.of(key(1, 1), key(2, 2));
+
+        assertEquals(keys, FindingDiffService.merge(List.of(), keys).introduced);
+        assertEquals(keys, FindingDiffService.merge(keys, List.of()).fixed);
+    }
+
+    @Test
+    void mergeIsLinearOnLargeReports() {
+        List<Key> previous = new ArrayList<>();
+        List<Key> current = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            previous.add(key(i, 1));
+            current.add(key(i + 1_000, 1));
+        }
+
+        FindingDiffService.Merge merge = FindingDiffService.merge(previous, current);
+
+        assertEquals(1_000, merge.fixed.size());
+        assertEquals(1_000, merge.introduced.size());
+        assertEquals(49_000, merge.unchanged);
+    }
+
+    private static Key key(long cveId, long packageId) {
+        return new Key(cveId, packageId, 3);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.backend.service;
+
+import com.example.backend.client.OutboundHttpClientFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streams completions from a local stub of the OpenAI-compatible chat endpoint.
+ */
+class GroqServiceStreamTest {
+
+    private HttpServer server;
+    private OutboundHttpClientFactory httpClientFactory;
+    private final AtomicReference<String> requestBody = new AtomicReference<>();
+    private volatile List<String> events = List.of();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", exchange -> {
+            requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (String event : events) {
+                    out.write(event.getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            }
+        });
+        server.start();
+        httpClientFactory = new OutboundHttpClientFactory(new MockEnvironment(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        httpClientFactory.close();
+    }
+
+    @Test
+    void forwardsEachDeltaAndReturnsTheWholeReply() {
+        events = List.of(
+                ": keep-alive\n\n",
+                chunk("{\"role\":\"assistant\"}"),
+                chunk("{\"content\":\"All \"}"),
+                chunk("{\"content\":\"systems\\ngreen\"}"),
+                chunk("{}"),
+                "data: [DONE]\n\n");
+        List<String> tokens = new ArrayList<>();
+
+        String reply = groqService().streamChatCompletion(List.of(), "system", tokens::add);
+
+        assertEquals(List.of("All ", "systems\ngreen"), tokens);
+        assertEquals("All systems\ngreen", reply);
+        assertTrue(requestBody.get().contains("\"stream\":true"), requestBody.get());
+    }
+
+    @Test
+    void streamCutBeforeDoneFails() {
+        events = List.of(chunk("{\"content\":\"partial\"}"));
+
+        assertThrows(RestClientException.class,
+                () -> groqService().streamChatCompletion(List.of(), "system", token -> { }));
+    }
+
+    private GroqService groqService() {
+        GroqService groqService = new GroqService(httpClientFactory, new ObjectMapper());
+        ReflectionTestUtils.setField(groqService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(groqService, "model", "test-model");
+        ReflectionTestUtils.setField(groqService, "apiUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        return groqService;
+    }
+
+    private static String chunk(String delta) {
+        return "data: {\"choices\":[{\"index\":0,\"delta\":" + delta + "}]}\n\n";
+    }
+}
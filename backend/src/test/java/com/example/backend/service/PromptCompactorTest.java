@@ -0,0 +1,57 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PromptCompactorTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void flatRecordsRenderAsTable() throws Exception {
+        JsonNode data = mapper.readTree(
+                "{\"trivyCount\":3,\"severityStats\":[{\"name\":\"Critical\",\"value\":1},{\"name\":\"High\",\"value\":2}]}");
+
+        assertEquals("{trivyCount:3,severityStats:[2]{name|value}:Critical|1;High|2}",
+                PromptCompactor.render(PromptCompactor.collapse(data, 20, 5)));
+    }
+
+    @Test
+    void largeArraysCollapseIntoHistogramAndTopItems() {
+        ArrayNode findings = mapper.createArrayNode();
+        for (int i = 0; i < 100; i++) {
+            findings.addObject().put("cve", "CVE-2024-" + i).put("severity", i % 10 == 0 ? "critical" : "LOW");
+        }
+
+        JsonNode collapsed = PromptCompactor.collapse(findings, 20, 3);
+
+        assertEquals(100, collapsed.get("count").asInt());
+        assertEquals(10, collapsed.get("bySeverity").get("CRITICAL").asInt());
+        assertEquals(90, collapsed.get("bySeverity").get("LOW").asInt());
+        assertEquals(3, collapsed.get("top").size());
+        assertEquals("CVE-2024-0", collapsed.get("top").get(0).get("cve").asText());
+        assertEquals("CVE-2024-10", collapsed.get("top").get(1).get("cve").asText());
+    }
+
+    @Test
+    void resultStaysWithinTokenBudget() {
+        PromptCompactor compactor = new PromptCompactor(new SimpleMeterRegistry(), 200, 20, 5);
+        ObjectNode data = mapper.createObjectNode();
+        ArrayNode findings = data.putArray("findings");
+        for (int i = 0; i < 5_000; i++) {
+            findings.addObject().put("cve", "CVE-2024-" + i).put("package", "package-" + i).put("severity", "HIGH");
+        }
+
+        PromptCompactor.Compacted compacted = compactor.compact(data);
+
+        assertTrue(compacted.tokens() <= 200, compacted.text());
+        assertTrue(compacted.saved() > 50_000);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ReportRequest;
+import com.example.backend.entity.Pipeline;
+import com.example.backend.ingest.IngestionJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportIngestionQueueTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private final ReportService reportService = mock(ReportService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ReportIngestionQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void jobMovesFromQueuedThroughProcessingToCompleted() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(reportService.saveReport(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return pipeline(42L);
+        });
+        queue = new ReportIngestionQueue(reportService, meterRegistry, 1, 4, spoolDir.toString());
+
+        IngestionJob running = queue.submit(request(), upload("trivy"), null, null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        IngestionJob waiting = queue.submit(request(), upload("trivy"), null, null);
+
+        assertEquals(IngestionJob.Status.PROCESSING, running.getStatus());
+        assertEquals(IngestionJob.Status.QUEUED, waiting.getStatus());
+        assertNull(running.getPipelineId());
+
+        release.countDown();
+        awaitFinished(waiting);
+        assertEquals(IngestionJob.Status.COMPLETED, running.getStatus());
+        assertEquals(42L, running.getPipelineId());
+        assertNotNull(running.getFinishedAt());
+        assertEquals(running, queue.getJob(running.getId()).orElseThrow());
+        assertNoSpoolFiles();
+    }
+
+    @Test
+    void failedIngestRecordsTheErrorAndDropsTheSpool() throws Exception {
+        when(reportService.saveReport(any())).thenThrow(new IOException("Malformed Trivy report"));
+        queue = new ReportIngestionQueue(reportService, meterRegistry, 1, 4, spoolDir.toString());
+
+        IngestionJob job = queue.submit(request(), null, upload("trivy"), upload("owasp"));
+        awaitFinished(job);
+
+        assertEquals(IngestionJob.Status.FAILED, job.getStatus());
+        assertEquals("Malformed Trivy report", job.getError());
+        assertNull(job.getPipelineId());
+        assertNoSpoolFiles();
+    }
+
+    @Test
+    void fullQueueRejectsAndKeepsNothing() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(reportService.saveReport(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return pipeline(1L);
+        });
+        queue = new ReportIngestionQueue(reportService, meterRegistry, 1, 1, spoolDir.toString());
+
+        queue.submit(request(), upload("sonar"), null, null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queue.submit(request(), upload("sonar"), null, null);
+        long spooled = countSpoolFiles();
+
+        assertThrows(RejectedExecutionException.class,
+                () -> queue.submit(request(), upload("sonar"), upload("trivy"), null));
+        assertEquals(spooled, countSpoolFiles());
+        assertEquals(1.0, meterRegistry.get("report.ingest.rejected").counter().count());
+    }
+
+    @Test
+    void startupSweepsUploadsSpooledByAPreviousRun() throws Exception {
+        Path orphan = Files.writeString(spoolDir.resolve("lost-job-trivy.json"), "{}");
+
+        queue = new ReportIngestionQueue(reportService, meterRegistry, 1, 1, spoolDir.toString());
+
+        assertFalse(Files.exists(orphan));
+    }
+
+    private static ReportRequest request() {
+        ReportRequest request = new ReportRequest();
+        request.setComponent("backend");
+        request.setStatus("SUCCESS");
+        return request;
+    }
+
+    private static MockMultipartFile upload(String kind) {
+        return new MockMultipartFile(kind, kind + ".json", "application/json",
+                "{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Pipeline pipeline(Long id) {
+        Pipeline pipeline = new Pipeline();
+        pipeline.setId(id);
+        return pipeline;
+    }
+
+    private static void awaitFinished(IngestionJob job) throws InterruptedException {
+        awaitTrue(job::isFinished);
+    }
+
+    private void assertNoSpoolFiles() throws Exception {
+        // Spool files are deleted right after the job is marked finished
+        awaitTrue(() -> countSpoolFiles() == 0);
+    }
+
+    private long countSpoolFiles() {
+        try (var files = Files.list(spoolDir)) {
+            return files.count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitTrue(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.get()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
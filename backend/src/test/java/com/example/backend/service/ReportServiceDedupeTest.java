@@ -0,0 +1,215 @@
+package com.example.backend.service;
+
+import com.example.backend.controller.ReportController;
+import com.example.backend.dto.FindingDiffDTO;
+import com.example.backend.dto.ReportRequest;
+import com.example.backend.entity.FindingDiff;
+import com.example.backend.entity.OwaspFinding;
+import com.example.backend.entity.Pipeline;
+import com.example.backend.entity.ReportFingerprint;
+import com.example.backend.entity.SeverityCounters;
+import com.example.backend.entity.TrivyFinding;
+import com.example.backend.ingest.OwaspReportParser;
+import com.example.backend.ingest.ParallelReportParser;
+import com.example.backend.ingest.SonarReportParser;
+import com.example.backend.ingest.TrivyReportParser;
+import com.example.backend.repository.FindingBulkWriter;
+import com.example.backend.repository.FindingDiffRepository;
+import com.example.backend.repository.FindingDiffStore;
+import com.example.backend.repository.FindingDiffStore.Key;
+import com.example.backend.repository.OwaspFindingRepository;
+import com.example.backend.repository.PipelineRepository;
+import com.example.backend.repository.TrivyFindingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Uploading a report identical to one already ingested stores no findings; the new pipeline reads those of
+ * the first one, so both serve the same findings and diff as unchanged.
+ */
+class ReportServiceDedupeTest {
+
+    private static final String TRIVY_SHA = "a1".repeat(32);
+    private static final String OWASP_SHA = "b2".repeat(32);
+
+    private final PipelineRepository pipelineRepository = mock(PipelineRepository.class);
+    private final TrivyFindingRepository trivyFindingRepository = mock(TrivyFindingRepository.class);
+    private final OwaspFindingRepository owaspFindingRepository = mock(OwaspFindingRepository.class);
+    private final FindingBulkWriter findingBulkWriter = mock(FindingBulkWriter.class);
+    private final ReportFingerprintService reportFingerprintService = mock(ReportFingerprintService.class);
+    private final FindingDiffStore findingDiffStore = mock(FindingDiffStore.class);
+    private final FindingDiffRepository findingDiffRepository = mock(FindingDiffRepository.class);
+    private final TrivyReportParser trivyParser = mock(TrivyReportParser.class);
+    private final OwaspReportParser owaspParser = mock(OwaspReportParser.class);
+
+    private ParallelReportParser parallelReportParser;
+    private FindingDiffService findingDiffService;
+    private ReportService reportService;
+    private ReportController controller;
+    private Pipeline first;
+
+    @BeforeEach
+    void setUp() {
+        parallelReportParser = new ParallelReportParser(mock(SonarReportParser.class), trivyParser, owaspParser,
+                new SimpleMeterRegistry(), 2);
+        findingDiffService = new FindingDiffService();
+        ReflectionTestUtils.setField(findingDiffService, "findingDiffStore", findingDiffStore);
+        ReflectionTestUtils.setField(findingDiffService, "findingDiffRepository", findingDiffRepository);
+
+        reportService = new ReportService();
+        ReflectionTestUtils.setField(reportService, "pipelineRepository", pipelineRepository);
+        ReflectionTestUtils.setField(reportService, "trivyFindingRepository", trivyFindingRepository);
+        ReflectionTestUtils.setField(reportService, "owaspFindingRepository", owaspFindingRepository);
+        ReflectionTestUtils.setField(reportService, "parallelReportParser", parallelReportParser);
+        ReflectionTestUtils.setField(reportService, "findingBulkWriter", findingBulkWriter);
+        ReflectionTestUtils.setField(reportService, "findingDiffService", findingDiffService);
+        ReflectionTestUtils.setField(reportService, "reportFingerprintService", reportFingerprintService);
+        ReflectionTestUtils.setField(reportService, "eventPublisher", mock(ApplicationEventPublisher.class));
+
+        controller = new ReportController();
+        ReflectionTestUtils.setField(controller, "reportService", reportService);
+        ReflectionTestUtils.setField(controller, "findingDiffService", findingDiffService);
+
+        // Pipeline 1 stored the findings of both reports when they were first uploaded
+        first = new Pipeline();
+        first.setId(1L);
+        first.setComponent("backend");
+        SeverityCounters trivyCounts = SeverityCounters.zero();
+        trivyCounts.record(5);
+        trivyCounts.record(3);
+        first.setTrivyCounts(trivyCounts);
+        SeverityCounters owaspCounts = SeverityCounters.zero();
+        owaspCounts.record(4);
+        first.setOwaspCounts(owaspCounts);
+        first.setMaxCvss(8.1);
+        when(pipelineRepository.findById(1L)).thenReturn(Optional.of(first));
+        when(pipelineRepository.existsById(1L)).thenReturn(true);
+        when(pipelineRepository.findTopByComponentWithLegacy("backend")).thenReturn(Optional.of(first));
+        when(reportFingerprintService.findIngested(ReportFingerprint.Kind.TRIVY, TRIVY_SHA)).thenReturn(Optional.of(1L));
+        when(reportFingerprintService.findIngested(ReportFingerprint.Kind.OWASP, OWASP_SHA)).thenReturn(Optional.of(1L));
+        when(pipelineRepository.save(any(Pipeline.class))).then(invocation -> {
+            Pipeline pipeline = invocation.getArgument(0);
+            pipeline.setId(2L);
+            when(pipelineRepository.findById(2L)).thenReturn(Optional.of(pipeline));
+            when(pipelineRepository.existsById(2L)).thenReturn(true);
+            return pipeline;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelReportParser.shutdown();
+    }
+
+    @Test
+    void identicalUploadStoresNoFindings() throws Exception {
+        Pipeline second = reportService.saveReport(reupload());
+
+        verifyNoInteractions(findingBulkWriter, trivyParser, owaspParser);
+        verify(reportFingerprintService, never()).remember(any(), anyString(), anyLong());
+        assertEquals(1L, second.getTrivySourcePipelineId());
+        assertEquals(1L, second.getOwaspSourcePipelineId());
+        assertEquals(first.getTrivyCounts().getTotal(), second.getTrivyCounts().getTotal());
+        assertEquals(1, second.getTrivyCounts().getCritical());
+        assertEquals(1, second.getOwaspCounts().getHigh());
+        assertEquals(8.1, second.getMaxCvss());
+        // Counters are copied, not shared with the source pipeline
+        assertNotSame(first.getTrivyCounts(), second.getTrivyCounts());
+    }
+
+    @Test
+    void identicalUploadServesFindingsOfSourcePipeline() throws Exception {
+        List<TrivyFinding> trivyFindings = List.of(new TrivyFinding());
+        List<OwaspFinding> owaspFindings = List.of(new OwaspFinding());
+        when(trivyFindingRepository.findWithCatalogByPipelineId(1L)).thenReturn(trivyFindings);
+        when(owaspFindingRepository.findWithCatalogByPipelineId(1L)).thenReturn(owaspFindings);
+
+        reportService.saveReport(reupload());
+
+        for (long id : new long[]{1L, 2L}) {
+            ResponseEntity<List<TrivyFinding>> trivy = controller.getTrivyFindings(id, request());
+            ResponseEntity<List<OwaspFinding>> owasp = controller.getOwaspFindings(id, request());
+            assertEquals(HttpStatus.OK, trivy.getStatusCode());
+            assertSame(trivyFindings, trivy.getBody());
+            assertSame(owaspFindings, owasp.getBody());
+        }
+        verify(trivyFindingRepository, never()).findWithCatalogByPipelineId(2L);
+        verify(owaspFindingRepository, never()).findWithCatalogByPipelineId(2L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void identicalUploadDiffsAsUnchanged() throws Exception {
+        when(findingDiffStore.loadTrivyKeys(1L)).thenReturn(List.of(new Key(1, 1, 5), new Key(2, 1, 3)));
+        when(findingDiffStore.loadOwaspKeys(1L)).thenReturn(List.of(new Key(3, 2, 4)));
+
+        reportService.saveReport(reupload());
+
+        // Both sides are the rows of pipeline 1, read once
+        verify(findingDiffStore, times(1)).loadTrivyKeys(1L);
+        verify(findingDiffStore, times(1)).loadOwaspKeys(1L);
+        verify(findingDiffStore, never()).loadTrivyKeys(2L);
+        ArgumentCaptor<List<Key>> entries = ArgumentCaptor.forClass(List.class);
+        verify(findingDiffStore, times(4)).insertEntries(eq(2L), anyString(), any(), entries.capture());
+        entries.getAllValues().forEach(keys -> assertTrue(keys.isEmpty()));
+
+        ArgumentCaptor<FindingDiff> saved = ArgumentCaptor.forClass(FindingDiff.class);
+        verify(findingDiffRepository).save(saved.capture());
+        when(findingDiffRepository.existsById(2L)).thenReturn(true);
+        when(findingDiffRepository.findById(2L)).thenReturn(Optional.of(saved.getValue()));
+
+        FindingDiffDTO diff = controller.getFindingDiff(2L, request()).getBody();
+        assertEquals(1L, diff.previousPipelineId());
+        assertEquals(0, diff.trivy().introducedCount());
+        assertEquals(0, diff.trivy().fixedCount());
+        assertEquals(2, diff.trivy().unchangedCount());
+        assertTrue(diff.trivy().introduced().isEmpty());
+        assertEquals(0, diff.owasp().introducedCount());
+        assertEquals(0, diff.owasp().fixedCount());
+        assertEquals(1, diff.owasp().unchangedCount());
+    }
+
+    private static ReportRequest reupload() {
+        ReportRequest request = new ReportRequest();
+        request.setStatus("SUCCESS");
+        request.setComponent("backend");
+        request.setTrivyData(new ByteArrayResource("{\"Results\":[]}".getBytes(StandardCharsets.UTF_8)));
+        request.setTrivySha256(TRIVY_SHA);
+        request.setOwaspData(new ByteArrayResource("{\"dependencies\":[]}".getBytes(StandardCharsets.UTF_8)));
+        request.setOwaspSha256(OWASP_SHA);
+        return request;
+    }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneComputation() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>();
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(callers.submit(() -> flight.execute("pipeline-1/security", () -> {
+                    computations.incrementAndGet();
+                    await(release);
+                    return new Object();
+                })));
+            }
+            while (flight.executed() + flight.coalesced() < 5) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            Object first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, computations.get());
+            assertEquals(4, flight.coalesced());
+            assertEquals(0, flight.inFlight());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureReachesWaitersAndIsNotRemembered() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = callers.submit(() -> flight.execute("k", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("LLM down");
+            }));
+            await(started);
+            Future<String> waiter = callers.submit(() -> flight.execute("k", () -> "unexpected"));
+            while (flight.coalesced() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception waiterError = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertTrue(leaderError.getCause() instanceof IllegalStateException);
+            assertTrue(waiterError.getCause() instanceof IllegalStateException);
+            assertEquals("again", flight.execute("k", () -> "again"));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
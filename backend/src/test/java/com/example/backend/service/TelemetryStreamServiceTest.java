@@ -0,0 +1,289 @@
+package com.example.backend.service;
+
+import com.example.backend.client.ClusterSnapshot;
+import com.example.backend.client.TelemetryCollector;
+import com.example.backend.client.TelemetrySnapshotEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reconnect semantics of the infrastructure stream: a known {@code Last-Event-ID} gets only the fields changed
+ * since that version, an unknown, evicted or pre-restart one a full snapshot. Every version changes
+ * {@code infrastructure.risks}. A client that stops reading neither delays the others nor stays connected.
+ */
+class TelemetryStreamServiceTest {
+
+    private final AtomicLong version = new AtomicLong(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TelemetryStreamService service;
+    private final List<RecordingEmitter> created = new ArrayList<>();
+    private boolean failNewEmitters;
+
+    @BeforeEach
+    void setUp() {
+        TelemetryCollector telemetryCollector = mock(TelemetryCollector.class);
+        when(telemetryCollector.getSnapshot()).thenAnswer(invocation -> snapshot(version.get()));
+        InfraService infraService = mock(InfraService.class);
+        when(infraService.getDashboardSummary(any())).thenReturn(Map.of("health", Map.of("status", "UP")));
+        InfrastructureService infrastructureService = mock(InfrastructureService.class);
+        when(infrastructureService.getRisks(any()))
+                .thenAnswer(invocation -> List.of("risk at v" + invocation.<ClusterSnapshot>getArgument(0).version()));
+
+        service = new TelemetryStreamService(telemetryCollector, infraService, infrastructureService,
+                new ObjectMapper(), meterRegistry, 2) {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitter.failing = failNewEmitters;
+                created.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void firstConnectGetsFullSnapshot() throws Exception {
+        RecordingEmitter emitter = subscribe(null);
+
+        assertEquals(1, emitter.events.size());
+        Event event = emitter.events.get(0);
+        assertEquals("snapshot", event.name());
+        assertEquals(tag(1), event.id());
+        assertTrue(event.fields().containsAll(Set.of("dashboard.health", "infrastructure.risks")));
+    }
+
+    @Test
+    void reconnectWithKnownVersionGetsOnlyTheChangedFields() throws Exception {
+        RecordingEmitter live = subscribe(null);
+        advanceTo(2);
+        assertEquals(new Event(tag(2), "delta", Set.of("infrastructure.risks")), live.events.get(1));
+
+        assertEquals(List.of(new Event(tag(2), "delta", Set.of("infrastructure.risks"))), subscribe(tag(1)).events);
+        // Already up to date: nothing to send until the next version
+        assertEquals(List.of(), subscribe(tag(2)).events);
+        assertEquals(3.0, connections());
+    }
+
+    @Test
+    void reconnectFromEvictedVersionGetsSnapshot() throws Exception {
+        subscribe(null);
+        for (long next = 2; next <= 40; next++) {
+            advanceTo(next);
+        }
+
+        // History keeps the 32 latest versions: 9..40
+        RecordingEmitter evicted = subscribe(tag(8));
+        assertEquals(1, evicted.events.size());
+        assertEquals("snapshot", evicted.events.get(0).name());
+        assertEquals(tag(40), evicted.events.get(0).id());
+
+        assertEquals(List.of(new Event(tag(40), "delta", Set.of("infrastructure.risks"))), subscribe(tag(9)).events);
+        // Not a version at all
+        assertEquals("snapshot", subscribe("not-a-version").events.get(0).name());
+    }
+
+    @Test
+    void reconnectWithIdFromBeforeRestartGetsSnapshot() throws Exception {
+        subscribe(null);
+        advanceTo(2);
+
+        // Versions restart at 1, so the previous process also issued version 2, under another boot id
+        RecordingEmitter restarted = subscribe("0-2");
+        assertEquals(1, restarted.events.size());
+        assertEquals(new Event(tag(2), "snapshot", restarted.events.get(0).fields()), restarted.events.get(0));
+        assertTrue(restarted.events.get(0).fields().contains("dashboard.health"));
+        // Ids from before boot ids were added
+        assertEquals("snapshot", subscribe("2").events.get(0).name());
+    }
+
+    @Test
+    void subscriberWhoseSendFailsIsDropped() throws Exception {
+        RecordingEmitter healthy = subscribe(null);
+        RecordingEmitter broken = subscribe(null);
+        assertEquals(2.0, connections());
+
+        broken.failing = true;
+        advanceTo(2);
+        assertEquals(1.0, connections());
+        assertEquals(2, healthy.events.size());
+
+        advanceTo(3);
+        assertEquals(3, healthy.events.size());
+        assertEquals(1, broken.events.size());
+        assertEquals(2, broken.attempts);
+    }
+
+    @Test
+    void slowSubscriberDoesNotDelayOthersAndIsDisconnectedWhenBehind() throws Exception {
+        RecordingEmitter healthy = subscribe(null);
+        RecordingEmitter slow = subscribe(null);
+        CountDownLatch release = new CountDownLatch(1);
+        slow.blockedUntil = release;
+
+        // v2 blocks the slow client's write; v3.. fill its queue and the next one overflows it
+        long last = 3 + TelemetryStreamService.MAX_PENDING_EVENTS;
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (long next = 2; next <= last; next++) {
+                publish(next);
+            }
+            while (healthy.events.size() < last) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        });
+        assertEquals(1.0, connections());
+        assertEquals(1.0, meterRegistry.get("stream.infrastructure.lagging").counter().count());
+        assertFalse(slow.completed);
+
+        // Once the blocked write returns the client is disconnected, to reconnect with its last event id
+        release.countDown();
+        awaitSends();
+        assertTrue(slow.completed);
+        assertEquals(tag(2), slow.events.get(slow.events.size() - 1).id());
+        advanceTo(last + 1);
+        assertEquals(2, slow.events.size());
+        assertEquals(last + 1, healthy.events.size());
+    }
+
+    @Test
+    void subscriberWhoseFirstSendFailsGetsNoUpdates() throws Exception {
+        RecordingEmitter healthy = subscribe(null);
+        failNewEmitters = true;
+        RecordingEmitter broken = subscribe(null);
+        assertEquals(1.0, connections());
+
+        advanceTo(2);
+        assertEquals(2, healthy.events.size());
+        assertEquals(1, broken.attempts);
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) throws Exception {
+        service.subscribe(lastEventId);
+        awaitStreamThread();
+        awaitSends();
+        return created.get(created.size() - 1);
+    }
+
+    private void advanceTo(long next) throws Exception {
+        publish(next);
+        awaitSends();
+    }
+
+    private void publish(long next) throws Exception {
+        version.set(next);
+        service.onSnapshot(new TelemetrySnapshotEvent(snapshot(next)));
+        awaitStreamThread();
+    }
+
+    private double connections() {
+        return meterRegistry.get("stream.infrastructure.connections").gauge().value();
+    }
+
+    // Events are queued on the single stream thread, so a task queued behind them marks the point they are queued
+    private void awaitStreamThread() throws Exception {
+        ExecutorService streamExecutor = (ExecutorService) ReflectionTestUtils.getField(service, "streamExecutor");
+        streamExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    // Every queued event is written or dropped once no subscriber is draining
+    private void awaitSends() {
+        AtomicInteger activeDrains = (AtomicInteger) ReflectionTestUtils.getField(service, "activeDrains");
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (activeDrains.get() > 0) {
+                TimeUnit.MILLISECONDS.sleep(5);
+            }
+        });
+    }
+
+    private static String tag(long version) {
+        return snapshot(version).tag();
+    }
+
+    private static ClusterSnapshot snapshot(long version) {
+        ClusterSnapshot empty = ClusterSnapshot.empty();
+        return new ClusterSnapshot(version, empty.capturedAt(), empty.nodeMetrics(), empty.containers(),
+                0, 0, List.of(), 0, true, true, null, null, empty.cicd(), Set.of());
+    }
+
+    private record Event(String id, String name, Set<String> fields) {
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<Event> events = new CopyOnWriteArrayList<>();
+        volatile boolean failing;
+        volatile CountDownLatch blockedUntil;
+        volatile boolean completed;
+        volatile int attempts;
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void send(SseEventBuilder builder) throws IOException {
+            attempts++;
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (blockedUntil != null) {
+                try {
+                    blockedUntil.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            String id = null;
+            String name = null;
+            Set<String> fields = Set.of();
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof Map<?, ?> data) {
+                    fields = ((Map<String, JsonNode>) data).keySet();
+                    continue;
+                }
+                for (String line : part.getData().toString().split("\n")) {
+                    if (line.startsWith("id:")) {
+                        id = line.substring(3);
+                    } else if (line.startsWith("event:")) {
+                        name = line.substring(6);
+                    }
+                }
+            }
+            events.add(new Event(id, name, Set.copyOf(fields)));
+        }
+    }
+}
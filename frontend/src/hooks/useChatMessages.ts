@@ -6,7 +6,7 @@
 
 import { useState, useCallback, useEffect } from 'react';
 import { Message, ChatState } from '../types/chat';
-import { sendChatMessage, getConversationHistory } from '../services/chatApi';
+import { streamChatMessage, getConversationHistory } from '../services/chatApi';
 import { useAuth } from './useAuth';
 
 /**
@@ -64,23 +64,32 @@ export function useChatMessages(conversationId: number | null) {
             // Get current page context
             const context = window.location.pathname;
 
-            // Call the chat API with the auth token and context
-            const response = await sendChatMessage(content, token || '', conversationId || undefined, context);
-
-            // Create bot message from response
-            const botMessage: Message = {
-                id: (Date.now() + 1).toString(),
-                content: response.reply,
-                sender: 'bot',
-                timestamp: new Date(),
+            // Stream the reply into a bot message that grows as tokens arrive
+            const botId = (Date.now() + 1).toString();
+            const appendToBot = (chunk: string) => {
+                setState((prev) => {
+                    const exists = prev.messages.some((m) => m.id === botId);
+                    const messages = exists
+                        ? prev.messages.map((m) => (m.id === botId ? { ...m, content: m.content + chunk } : m))
+                        : [...prev.messages, { id: botId, content: chunk, sender: 'bot' as const, timestamp: new Date() }];
+                    return { ...prev, messages, isLoading: false };
+                });
             };
 
-            // Add bot response and clear loading
-            setState((prev) => ({
-                ...prev,
-                messages: [...prev.messages, botMessage],
-                isLoading: false,
-            }));
+            const response = await streamChatMessage(content, appendToBot, conversationId || undefined, context);
+
+            // Replace the streamed text with the stored reply
+            setState((prev) => {
+                const exists = prev.messages.some((m) => m.id === botId);
+                const botMessage: Message = { id: botId, content: response.reply, sender: 'bot', timestamp: new Date() };
+                return {
+                    ...prev,
+                    messages: exists
+                        ? prev.messages.map((m) => (m.id === botId ? botMessage : m))
+                        : [...prev.messages, botMessage],
+                    isLoading: false,
+                };
+            });
 
             return response.conversationId;
         } catch (error: any) {
@@ -4,13 +4,15 @@ import Alert from '../components/ui/Alert';
 import ComponentSwitcher from '../components/reports/ComponentSwitcher';
 import TrendChart from '../components/reports/TrendChart';
 import AIInsightPanel from '../components/reports/AIInsightPanel';
-import { reportService, Pipeline } from '../services/reportService';
+import { reportService, PipelineSummary } from '../services/reportService';
 import { aiService, AiAnalysisResponse } from '../services/aiService';
 import { History as HistoryIcon, TrendingUp, ShieldCheck } from 'lucide-react';
 
 const History = () => {
-    const [history, setHistory] = useState<Pipeline[]>([]);
+    const [history, setHistory] = useState<PipelineSummary[]>([]);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState('');
     const [component, setComponent] = useState('backend');
 
@@ -22,22 +24,38 @@ const History = () => {
     const fetchData = async () => {
         setLoading(true);
         try {
-            const data = await reportService.getHistory(component);
-            const historyData = data || [];
+            const page = await reportService.getHistory(component);
+            const historyData = page?.items || [];
             setHistory(historyData);
+            setNextCursor(page?.nextCursor ?? null);
             setError('');
             if (historyData.length > 0) {
                 fetchAiInsights(historyData);
             }
         } catch (err) {
             setHistory([]);
+            setNextCursor(null);
             setError(`Failed to fetch historical data for ${component}.`);
         } finally {
             setLoading(false);
         }
     };
 
-    const fetchAiInsights = async (data: Pipeline[]) => {
+    const fetchOlder = async () => {
+        if (!nextCursor) return;
+        setLoadingMore(true);
+        try {
+            const page = await reportService.getHistory(component, nextCursor);
+            setHistory(prev => [...prev, ...(page?.items || [])]);
+            setNextCursor(page?.nextCursor ?? null);
+        } catch (err) {
+            setError(`Failed to fetch older runs for ${component}.`);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
+    const fetchAiInsights = async (data: PipelineSummary[]) => {
         if (data.length === 0) return;
         setAiLoading(true);
         setAiError(false);
@@ -45,7 +63,7 @@ const History = () => {
             const insights = await aiService.analyzePage('history', data[0].id, {
                 count: data.length,
                 successRate: (data.filter(p => p.status === 'SUCCESS').length / data.length * 100).toFixed(1),
-                vulnerabilityTrend: data.slice(0, 5).map(p => (p.trivyFindings?.length || 0) + (p.owaspFindings?.length || 0))
+                vulnerabilityTrend: data.slice(0, 5).map(p => p.vulnerabilityCount)
             });
             setAiInsights(insights);
         } catch (err) {
@@ -64,7 +82,7 @@ const History = () => {
     // Prepare data for charts
     const trendData = [...history].reverse().map(p => ({
         timestamp: p.timestamp,
-        vulnerabilities: (p.trivyFindings?.length || 0) + (p.owaspFindings?.length || 0),
+        vulnerabilities: p.vulnerabilityCount,
         status: p.status === 'SUCCESS' ? 1 : 0
     }));
 
@@ -139,8 +157,8 @@ const History = () => {
                             </tr>
                         </thead>
                         <tbody className="divide-y divide-slate-700/50">
-                            {history.map((p, i) => (
-                                <tr key={i} className="hover:bg-slate-700/20 transition-colors">
+                            {history.map(p => (
+                                <tr key={p.id} className="hover:bg-slate-700/20 transition-colors">
                                     <td className="px-6 py-4 text-sm text-slate-300">
                                         {new Date(p.timestamp).toLocaleString()}
                                     </td>
@@ -153,13 +171,24 @@ const History = () => {
                                         </span>
                                     </td>
                                     <td className="px-6 py-4 text-sm text-white font-bold">
-                                        {(p.trivyFindings?.length || 0) + (p.owaspFindings?.length || 0)}
+                                        {p.vulnerabilityCount}
                                     </td>
                                 </tr>
                             ))}
                         </tbody>
                     </table>
                 </div>
+                {nextCursor && (
+                    <div className="p-4 border-t border-slate-700 flex justify-center">
+                        <button
+                            onClick={fetchOlder}
+                            disabled={loadingMore}
+                            className="px-4 py-2 text-sm font-bold text-slate-300 bg-slate-900/50 rounded-lg hover:bg-slate-700/50 disabled:opacity-50"
+                        >
+                            {loadingMore ? 'Loading...' : 'Load older runs'}
+                        </button>
+                    </div>
+                )}
             </div>
         </div>
     );
@@ -4,10 +4,18 @@ import ComponentSwitcher from '../components/reports/ComponentSwitcher';
 import Loader from '../components/ui/Loader';
 import Alert from '../components/ui/Alert';
 import AIInsightPanel from '../components/reports/AIInsightPanel';
-import { reportService, Pipeline } from '../services/reportService';
+import { reportService, Pipeline, SeverityCounts } from '../services/reportService';
 import { aiService, AiAnalysisResponse } from '../services/aiService';
 import { Clock, Shield, CheckCircle, XCircle } from 'lucide-react';
 
+type Severity = keyof Omit<SeverityCounts, 'total'>;
+
+const countBySeverity = (pipeline: Pipeline, severity: Severity) =>
+    (pipeline.trivyCounts?.[severity] || 0) + (pipeline.owaspCounts?.[severity] || 0);
+
+const totalFindings = (pipeline: Pipeline) =>
+    (pipeline.trivyCounts?.total || 0) + (pipeline.owaspCounts?.total || 0);
+
 const PipelineOverview = () => {
     const [report, setReport] = useState<Pipeline | null>(null);
     const [loading, setLoading] = useState(true);
@@ -43,7 +51,7 @@ const PipelineOverview = () => {
             const insights = await aiService.analyzePage('pipeline', data.id, {
                 status: data.status,
                 duration: data.duration,
-                vulnerabilities: (data.trivyFindings?.length || 0) + (data.owaspFindings?.length || 0),
+                vulnerabilities: totalFindings(data),
                 bugs: data.sonarReport?.bugs,
                 smells: data.sonarReport?.codeSmells,
                 duplication: data.sonarReport?.duplication,
@@ -62,21 +70,9 @@ const PipelineOverview = () => {
     }, [component]);
 
     const calculateQualityScore = (pipeline: Pipeline) => {
-        let critical = 0;
-        let high = 0;
-        let medium = 0;
-
-        pipeline.trivyFindings?.forEach(f => {
-            if (f.severity === 5) critical++;
-            else if (f.severity === 4) high++;
-            else if (f.severity === 3) medium++;
-        });
-
-        pipeline.owaspFindings?.forEach(f => {
-            if (f.severity === 5) critical++;
-            else if (f.severity === 4) high++;
-            else if (f.severity === 3) medium++;
-        });
+        const critical = countBySeverity(pipeline, 'critical');
+        const high = countBySeverity(pipeline, 'high');
+        const medium = countBySeverity(pipeline, 'medium');
 
         const score = 100 - (critical * 10 + high * 5 + medium * 2);
         return Math.max(0, score);
@@ -147,7 +143,7 @@ const PipelineOverview = () => {
                         />
                         <SummaryCard
                             title="Total Vulnerabilities"
-                            value={(report.trivyFindings?.length || 0) + (report.owaspFindings?.length || 0)}
+                            value={totalFindings(report)}
                             color="purple"
                             icon={<Shield />}
                         />
@@ -178,22 +174,19 @@ const PipelineOverview = () => {
                                 <div className="flex justify-between items-center p-3 rounded-lg bg-slate-900/50">
                                     <span className="text-slate-400">Critical Risks</span>
                                     <span className="text-red-500 font-bold">
-                                        {(report.trivyFindings?.filter(f => f.severity === 5).length || 0) +
-                                            (report.owaspFindings?.filter(f => f.severity === 5).length || 0)}
+                                        {countBySeverity(report, 'critical')}
                                     </span>
                                 </div>
                                 <div className="flex justify-between items-center p-3 rounded-lg bg-slate-900/50">
                                     <span className="text-slate-400">High Risks</span>
                                     <span className="text-orange-500 font-bold">
-                                        {(report.trivyFindings?.filter(f => f.severity === 4).length || 0) +
-                                            (report.owaspFindings?.filter(f => f.severity === 4).length || 0)}
+                                        {countBySeverity(report, 'high')}
                                     </span>
                                 </div>
                                 <div className="flex justify-between items-center p-3 rounded-lg bg-slate-900/50">
                                     <span className="text-slate-400">Medium Risks</span>
                                     <span className="text-yellow-500 font-bold">
-                                        {(report.trivyFindings?.filter(f => f.severity === 3).length || 0) +
-                                            (report.owaspFindings?.filter(f => f.severity === 3).length || 0)}
+                                        {countBySeverity(report, 'medium')}
                                     </span>
                                 </div>
                             </div>
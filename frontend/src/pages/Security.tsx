@@ -4,14 +4,22 @@ import Alert from '../components/ui/Alert';
 import AIInsightPanel from '../components/reports/AIInsightPanel';
 import SeverityBadge from '../components/reports/SeverityBadge';
 import ComponentSwitcher from '../components/reports/ComponentSwitcher';
-import { reportService, TrivyFinding, OwaspFinding } from '../services/reportService';
+import { reportService, Pipeline, SeverityCounts, TrivyFinding, OwaspFinding } from '../services/reportService';
 import { aiService, AiAnalysisResponse } from '../services/aiService';
 import { BarChart, Bar, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer, Cell } from 'recharts';
 import { ShieldCheck, ShieldAlert, Lock } from 'lucide-react';
 
+const getSeverityCount = (...scanners: (SeverityCounts | undefined)[]) => {
+    const sum = (key: 'critical' | 'high' | 'medium' | 'low') =>
+        scanners.reduce((total, counts) => total + (counts?.[key] || 0), 0);
+    const counts: Record<string, number> = { Critical: sum('critical'), High: sum('high'), Medium: sum('medium'), Low: sum('low') };
+    return Object.entries(counts).map(([name, value]) => ({ name, value }));
+};
+
 const Security = () => {
     const [trivy, setTrivy] = useState<TrivyFinding[]>([]);
     const [owasp, setOwasp] = useState<OwaspFinding[]>([]);
+    const [latest, setLatest] = useState<Pipeline | null>(null);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState('');
     const [component, setComponent] = useState('backend');
@@ -34,9 +42,11 @@ const Security = () => {
                 const of = o || [];
                 setTrivy(tf);
                 setOwasp(of);
+                setLatest(latest);
                 setError('');
-                fetchAiInsights(latest.id, tf, of);
+                fetchAiInsights(latest);
             } else {
+                setLatest(null);
                 setTrivy([]);
                 setOwasp([]);
                 setError(`No ${component} report found.`);
@@ -48,14 +58,14 @@ const Security = () => {
         }
     };
 
-    const fetchAiInsights = async (pipelineId: number, tf: TrivyFinding[], of: OwaspFinding[]) => {
+    const fetchAiInsights = async (pipeline: Pipeline) => {
         setAiLoading(true);
         setAiError(false);
         try {
-            const insights = await aiService.analyzePage('security', pipelineId, {
-                trivyCount: tf.length,
-                owaspCount: of.length,
-                severityStats: getSeverityCount([...tf, ...of])
+            const insights = await aiService.analyzePage('security', pipeline.id, {
+                trivyCount: pipeline.trivyCounts?.total || 0,
+                owaspCount: pipeline.owaspCounts?.total || 0,
+                severityStats: getSeverityCount(pipeline.trivyCounts, pipeline.owaspCounts)
             });
             setAiInsights(insights);
         } catch (err) {
@@ -71,18 +81,7 @@ const Security = () => {
 
     if (loading) return <div className="flex justify-center items-center m-10"><Loader /></div>;
 
-    const getSeverityCount = (findings: any[]) => {
-        const counts: Record<string, number> = { Critical: 0, High: 0, Medium: 0, Low: 0 };
-        findings.forEach(f => {
-            if (f.severity === 5) counts.Critical++;
-            else if (f.severity === 4) counts.High++;
-            else if (f.severity === 3) counts.Medium++;
-            else if (f.severity === 2) counts.Low++;
-        });
-        return Object.entries(counts).map(([name, value]) => ({ name, value }));
-    };
-
-    const trivyStats = getSeverityCount(trivy);
+    const trivyStats = getSeverityCount(latest?.trivyCounts);
     const COLORS = ['#ef4444', '#f97316', '#eab308', '#3b82f6'];
 
     return (
@@ -105,9 +104,7 @@ const Security = () => {
                     summary={aiInsights?.summary}
                     recommendations={aiInsights?.recommendations}
                     onRefresh={() => {
-                        reportService.getLatestReport(component).then(latest => {
-                            if (latest && latest.id) fetchAiInsights(latest.id, trivy, owasp);
-                        });
+                        if (latest) fetchAiInsights(latest);
                     }}
                 />
             )}
@@ -1,7 +1,7 @@
 import axios from 'axios';
 import authService from './auth.service';
 
-const API_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api';
+export const API_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api';
 
 const api = axios.create({
     baseURL: API_URL,
@@ -20,16 +20,22 @@ api.interceptors.request.use(
     }
 );
 
+export const isAuthFailure = (status: number) => status === 401 || status === 403;
+
+// Clear auth state and redirect to login
+export const redirectToLogin = () => {
+    localStorage.removeItem('access_token');
+    localStorage.removeItem('refresh_token');
+    localStorage.removeItem('user');
+    window.location.href = '/login';
+};
+
 // Response interceptor: redirect to login on 401/403
 api.interceptors.response.use(
     (response) => response,
     (error) => {
-        if (error.response && (error.response.status === 401 || error.response.status === 403)) {
-            // Clear auth state and redirect to login
-            localStorage.removeItem('access_token');
-            localStorage.removeItem('refresh_token');
-            localStorage.removeItem('user');
-            window.location.href = '/login';
+        if (error.response && isAuthFailure(error.response.status)) {
+            redirectToLogin();
         }
         return Promise.reject(error);
     }
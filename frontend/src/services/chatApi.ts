@@ -4,7 +4,8 @@
  */
 
 import { ChatApiRequest, ChatApiResponse, Conversation, Message } from '../types/chat';
-import api from './api';
+import api, { API_URL, isAuthFailure, redirectToLogin } from './api';
+import authService from './auth.service';
 
 const USE_MOCK_API = false;
 
@@ -56,3 +57,75 @@ export const sendChatMessage = async (
     const response = await api.post('/chat', payload);
     return response.data;
 };
+
+/**
+ * Streams the reply of POST /api/chat/stream, calling onToken for every chunk as it arrives.
+ * Resolves with the whole reply once the server sends "done".
+ */
+export const streamChatMessage = async (
+    content: string,
+    onToken: (token: string) => void,
+    conversationId?: number,
+    context?: string
+): Promise<ChatApiResponse> => {
+    const payload: ChatApiRequest = {
+        message: content,
+        conversationId,
+        context
+    };
+    const token = authService.getAccessToken();
+    const response = await fetch(`${API_URL}/chat/stream`, {
+        method: 'POST',
+        headers: {
+            'Content-Type': 'application/json',
+            Accept: 'text/event-stream',
+            ...(token ? { Authorization: `Bearer ${token}` } : {})
+        },
+        body: JSON.stringify(payload)
+    });
+    // fetch bypasses the axios interceptor, so expired sessions are handled here the same way
+    if (isAuthFailure(response.status)) {
+        redirectToLogin();
+    }
+    if (!response.ok || !response.body) {
+        throw new Error(`Chat request failed (${response.status})`);
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    let result = null as ChatApiResponse | null;
+    let streamedConversationId = conversationId;
+
+    // Events are separated by a blank line; each has an "event:" name and JSON "data:"
+    const handleEvent = (raw: string) => {
+        let name = 'message';
+        const data: string[] = [];
+        for (const line of raw.split('\n')) {
+            if (line.startsWith('event:')) name = line.slice(6).trim();
+            else if (line.startsWith('data:')) data.push(line.slice(5));
+        }
+        if (data.length === 0) return;
+        const body = JSON.parse(data.join('\n'));
+        if (name === 'conversation') streamedConversationId = body.conversationId;
+        else if (name === 'token') onToken(body.content);
+        else if (name === 'done') result = { reply: body.reply, conversationId: body.conversationId };
+        else if (name === 'error') throw new Error(body.message);
+    };
+
+    while (true) {
+        const { done, value } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true }).replace(/\r\n/g, '\n');
+        let boundary;
+        while ((boundary = buffer.indexOf('\n\n')) !== -1) {
+            handleEvent(buffer.slice(0, boundary));
+            buffer = buffer.slice(boundary + 2);
+        }
+    }
+    if (buffer.trim()) handleEvent(buffer);
+    if (!result) {
+        throw new Error('Chat stream ended before the reply was complete');
+    }
+    return { ...result, conversationId: result.conversationId ?? streamedConversationId };
+};
@@ -19,6 +19,7 @@ export interface TrivyFinding {
 export interface OwaspFinding {
     id: number;
     dependency: string;
+    cve?: string;
     cvss: number;
     severity: number;
 }
@@ -32,8 +33,36 @@ export interface Pipeline {
     component: string;
     appVersion?: string;
     sonarReport?: SonarReport;
-    trivyFindings?: TrivyFinding[];
-    owaspFindings?: OwaspFinding[];
+    trivyCounts?: SeverityCounts;
+    owaspCounts?: SeverityCounts;
+    maxCvss?: number;
+}
+
+export interface SeverityCounts {
+    critical: number;
+    high: number;
+    medium: number;
+    low: number;
+    info: number;
+    total: number;
+}
+
+export interface PipelineSummary {
+    id: number;
+    timestamp: string;
+    status: string;
+    duration: number;
+    commitHash: string;
+    component: string;
+    appVersion?: string;
+    trivy: SeverityCounts;
+    owasp: SeverityCounts;
+    vulnerabilityCount: number;
+}
+
+export interface HistoryPage {
+    items: PipelineSummary[];
+    nextCursor: string | null;
 }
 
 export const reportService = {
@@ -55,9 +84,9 @@ export const reportService = {
         const response = await api.get<OwaspFinding[]>(`/reports/${id}/owasp`);
         return response.data;
     },
-    getHistory: async (component?: string) => {
-        const response = await api.get<Pipeline[]>('/reports/history', {
-            params: { component }
+    getHistory: async (component?: string, cursor?: string) => {
+        const response = await api.get<HistoryPage>('/reports/history', {
+            params: { component, cursor }
         });
         return response.data;
     }